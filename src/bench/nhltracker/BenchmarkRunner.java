@@ -0,0 +1,41 @@
+package bench.nhltracker;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the NHL Stat Tracker benchmarks and writes the results as JSON.
+ * <p>
+ * Usage: {@code BenchmarkRunner [include-regex] [result-file]}. The regex selects benchmarks by
+ * class or method name (all of them by default) and the results go to {@code jmh-result.json}
+ * unless another file is given. The JSON file is JMH's standard format, so runs from different
+ * releases can be compared with any JMH result viewer or diffed by script. The {@code gc} profiler
+ * is always on, adding allocation rates to each result.
+ * </p>
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args optional include regex and result file
+     * @throws RunnerException if JMH fails to run a benchmark
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "bench\\.nhltracker\\..*";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
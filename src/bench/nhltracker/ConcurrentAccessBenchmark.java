@@ -0,0 +1,92 @@
+package bench.nhltracker;
+
+import nhltracker.Player;
+import nhltracker.db.DatabaseHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link DatabaseHandler} throughput scales when several threads share one handler.
+ * <p>
+ * With {@code readerPoolSize = 0} every read and write goes through the single locked connection;
+ * with a pool, reads run in parallel on WAL readers while writes keep the writer connection.
+ * Run with {@code -t 1}, {@code -t 4}, ... to see scaling for the read-only benchmark.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentAccessBenchmark {
+    @Param({"0", "4"})
+    public int readerPoolSize;
+
+    @Param({"100000"})
+    public int size;
+
+    private Path dir;
+    private DatabaseHandler db;
+    private String[] names;
+
+    /**
+     * Creates a temporary database filled with a generated roster.
+     *
+     * @throws IOException if the database cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nhltracker-bench");
+        db = RosterGenerator.createDatabase(dir.resolve("bench.db"), size, readerPoolSize);
+        List<Player> players = RosterGenerator.players(size, RosterGenerator.SEED);
+        names = players.stream().map(Player::getName).toArray(String[]::new);
+    }
+
+    /**
+     * Closes the database and deletes its files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        RosterGenerator.deleteRecursively(dir);
+    }
+
+    /** Name lookups from four threads at once. */
+    @Benchmark
+    @Threads(4)
+    public Player parallelLookups() {
+        return db.findPlayerByName(randomName());
+    }
+
+    /** Three threads reading while one thread writes. */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Player mixedReads() {
+        return db.findPlayerByName(randomName());
+    }
+
+    /** The writer thread of the mixed group. */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedWrites() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return db.updatePlayer(new Player(randomName(), "Winnipeg Jets",
+                random.nextInt(70), random.nextInt(100), random.nextInt(81) - 40));
+    }
+
+    //Picks a random existing player name
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+}
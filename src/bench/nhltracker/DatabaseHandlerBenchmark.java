@@ -0,0 +1,122 @@
+package bench.nhltracker;
+
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.db.DatabaseHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DatabaseHandler} CRUD and query latency against tables of different sizes.
+ * <p>
+ * Lookups by name, indexed filters and keyset pages should stay flat as the table grows; a
+ * benchmark whose time rises with {@code size} points at a missing or unused index.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseHandlerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path dir;
+    private DatabaseHandler db;
+    private String[] names;
+    private Player pageCursor;
+
+    /**
+     * Creates a temporary database filled with a generated roster.
+     *
+     * @throws IOException if the database cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nhltracker-bench");
+        db = RosterGenerator.createDatabase(dir.resolve("bench.db"), size, 0);
+        List<Player> players = RosterGenerator.players(size, RosterGenerator.SEED);
+        names = players.stream().map(Player::getName).toArray(String[]::new);
+        pageCursor = db.getPlayersPage(null, size / 2, Stat.POINTS, true).get(size / 2 - 1);
+    }
+
+    /**
+     * Closes the database and deletes its files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        RosterGenerator.deleteRecursively(dir);
+    }
+
+    /** Looks up a random existing player by name, in upper case to exercise the NOCASE index. */
+    @Benchmark
+    public Player findPlayerByName() {
+        return db.findPlayerByName(names[ThreadLocalRandom.current().nextInt(names.length)].toUpperCase());
+    }
+
+    /** Looks up a name that does not exist. */
+    @Benchmark
+    public Player findMissingPlayer() {
+        return db.findPlayerByName("No Such Player");
+    }
+
+    /** Inserts a new player and removes it again, so the table size stays fixed. */
+    @Benchmark
+    public boolean insertAndRemovePlayer() {
+        Player player = new Player("Benchmark Skater", "Seattle Kraken", 1, 2, 3);
+        return db.insertPlayerIfAbsent(player) & db.removePlayer(player.getName());
+    }
+
+    /** Updates the stats of a random existing player. */
+    @Benchmark
+    public boolean updatePlayer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Player player = new Player(names[random.nextInt(names.length)], "Boston Bruins",
+                random.nextInt(70), random.nextInt(100), random.nextInt(81) - 40);
+        return db.updatePlayer(player);
+    }
+
+    /** Upserts a random existing player. */
+    @Benchmark
+    public boolean upsertPlayer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return db.upsertPlayer(new Player(names[random.nextInt(names.length)], "Dallas Stars",
+                random.nextInt(70), random.nextInt(100), 0));
+    }
+
+    /** Range filter that matches only the top of the goals index. */
+    @Benchmark
+    public List<Player> getPlayersWithMinGoals() {
+        return db.getPlayersWithMinGoals(68);
+    }
+
+    /** Top-25 leaderboard by points. */
+    @Benchmark
+    public List<Player> getTopPlayers() {
+        return db.getTopPlayers(Stat.POINTS, 25, true);
+    }
+
+    /** A keyset page from the middle of the points ordering. */
+    @Benchmark
+    public List<Player> getPlayersPageMidway() {
+        return db.getPlayersPage(pageCursor, 200, Stat.POINTS, true);
+    }
+
+    /** Streams the whole table without building a list. */
+    @Benchmark
+    public long forEachPlayer(Blackhole blackhole) {
+        return db.forEachPlayer(blackhole::consume);
+    }
+}
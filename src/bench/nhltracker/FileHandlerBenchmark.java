@@ -0,0 +1,78 @@
+package bench.nhltracker;
+
+import nhltracker.FileHandler;
+import nhltracker.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing {@code players.txt} files with {@link FileHandler}.
+ * <p>
+ * {@link #loadPlayers()} splits every line into strings, while {@link #forEachPlayer(Blackhole)}
+ * uses the streaming byte parser. Run with the {@code gc} profiler (the default in
+ * {@link BenchmarkRunner}) to compare their allocation rates as well as their speed.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileHandlerBenchmark {
+    @Param({"10000", "200000"})
+    public int size;
+
+    private Path dir;
+    private FileHandler source;
+    private FileHandler target;
+    private List<Player> players;
+
+    /**
+     * Writes a generated roster to a temporary players file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nhltracker-bench");
+        Path file = dir.resolve("players.txt");
+        players = RosterGenerator.writePlayersFile(file, size);
+        source = new FileHandler(file.toString());
+        target = new FileHandler(dir.resolve("saved.txt").toString());
+    }
+
+    /**
+     * Deletes the temporary files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        RosterGenerator.deleteRecursively(dir);
+    }
+
+    /** Reads the whole file into a list with the line-splitting parser. */
+    @Benchmark
+    public List<Player> loadPlayers() {
+        return source.loadPlayers();
+    }
+
+    /** Streams the file through the allocation-light byte parser. */
+    @Benchmark
+    public long forEachPlayer(Blackhole blackhole) {
+        return source.forEachPlayer(blackhole::consume);
+    }
+
+    /** Writes the whole roster to a file. */
+    @Benchmark
+    public boolean savePlayers() {
+        return target.savePlayers(players);
+    }
+}
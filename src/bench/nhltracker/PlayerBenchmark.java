@@ -0,0 +1,52 @@
+package bench.nhltracker;
+
+import nhltracker.FileHandler;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of formatting players for display and for the text file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private Player player;
+    private List<Player> roster;
+    private StatManager manager;
+
+    /** Generates the players to format. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = RosterGenerator.players(1000, RosterGenerator.SEED);
+        player = roster.get(0);
+        //formatPlayers does not touch the database
+        manager = new StatManager(null);
+    }
+
+    /** The padded console format used by the CLI. */
+    @Benchmark
+    public String playerToString() {
+        return player.toString();
+    }
+
+    /** The CSV record written to {@code players.txt}. */
+    @Benchmark
+    public String formatRecord() {
+        return FileHandler.formatRecord(player);
+    }
+
+    /** Formatting a 1,000-player list for the CLI in one string. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String formatThousandPlayers() {
+        return manager.formatPlayers(roster);
+    }
+}
@@ -0,0 +1,138 @@
+package bench.nhltracker;
+
+import nhltracker.FileHandler;
+import nhltracker.Player;
+import nhltracker.db.DatabaseHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * The {@code RosterGenerator} class builds synthetic rosters for the benchmarks.
+ * <p>
+ * Rosters are generated from a fixed seed, so every run of a benchmark sees the same players.
+ * Names are unique (case-insensitively), teams are drawn from the 32 NHL clubs, and stats fall in
+ * realistic single-season ranges.
+ * </p>
+ */
+public final class RosterGenerator {
+    /** Seed used by every benchmark so datasets are identical across runs. */
+    public static final long SEED = 20240419L;
+
+    private static final String[] FIRST_NAMES = {
+            "Connor", "Nathan", "Auston", "David", "Nikita", "Leon", "Cale", "Quinn", "Jack", "Mitch",
+            "Sidney", "Alex", "Artemi", "Kirill", "Matthew", "Brady", "Jason", "Mikko", "Elias", "Adam"
+    };
+    private static final String[] LAST_NAMES = {
+            "McDavid", "MacKinnon", "Matthews", "Pastrnak", "Kucherov", "Draisaitl", "Makar", "Hughes",
+            "Eichel", "Marner", "Crosby", "Ovechkin", "Panarin", "Kaprizov", "Tkachuk", "Robertson",
+            "Rantanen", "Pettersson", "Fox", "Barkov"
+    };
+    private static final String[] TEAMS = {
+            "Anaheim Ducks", "Boston Bruins", "Buffalo Sabres", "Calgary Flames", "Carolina Hurricanes",
+            "Chicago Blackhawks", "Colorado Avalanche", "Columbus Blue Jackets", "Dallas Stars",
+            "Detroit Red Wings", "Edmonton Oilers", "Florida Panthers", "Los Angeles Kings", "Minnesota Wild",
+            "Montreal Canadiens", "Nashville Predators", "New Jersey Devils", "New York Islanders",
+            "New York Rangers", "Ottawa Senators", "Philadelphia Flyers", "Pittsburgh Penguins",
+            "San Jose Sharks", "Seattle Kraken", "St. Louis Blues", "Tampa Bay Lightning",
+            "Toronto Maple Leafs", "Utah Hockey Club", "Vancouver Canucks", "Vegas Golden Knights",
+            "Washington Capitals", "Winnipeg Jets"
+    };
+    /** Players written per transaction when filling a database. */
+    private static final int BATCH_SIZE = 10_000;
+
+    private RosterGenerator() {
+    }
+
+    /**
+     * Generates a roster of the given size.
+     *
+     * @param count the number of players
+     * @param seed  the random seed
+     * @return the players, in generation order
+     */
+    public static List<Player> players(int count, long seed) {
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            //The sequence number keeps names unique however large the roster is
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            String team = TEAMS[random.nextInt(TEAMS.length)];
+            players.add(new Player(name, team, random.nextInt(70), random.nextInt(100), random.nextInt(81) - 40));
+        }
+        return players;
+    }
+
+    /**
+     * Returns the team names used by generated rosters.
+     *
+     * @return a copy of the team names
+     */
+    public static String[] teams() {
+        return TEAMS.clone();
+    }
+
+    /**
+     * Writes a generated roster to a file in the {@code players.txt} format.
+     *
+     * @param file  the file to write
+     * @param count the number of players
+     * @return the players that were written
+     * @throws IOException if the file cannot be written
+     */
+    public static List<Player> writePlayersFile(Path file, int count) throws IOException {
+        List<Player> players = players(count, SEED);
+        if (!new FileHandler(file.toString()).savePlayers(players)) {
+            throw new IOException("Could not write " + file);
+        }
+        return players;
+    }
+
+    /**
+     * Creates a database file holding a generated roster.
+     *
+     * @param file           the database file to create
+     * @param count          the number of players
+     * @param readerPoolSize the number of pooled read connections, or {@code 0} for a single connection
+     * @return an open handler on the new database; the caller must close it
+     * @throws IOException if the players cannot all be inserted
+     */
+    public static DatabaseHandler createDatabase(Path file, int count, int readerPoolSize) throws IOException {
+        DatabaseHandler db = readerPoolSize > 0
+                ? new DatabaseHandler(file.toString(), readerPoolSize)
+                : new DatabaseHandler(file.toString());
+        List<Player> players = players(count, SEED);
+        for (int from = 0; from < players.size(); from += BATCH_SIZE) {
+            List<Player> batch = players.subList(from, Math.min(players.size(), from + BATCH_SIZE));
+            if (db.insertPlayersBatch(batch) != batch.size()) {
+                db.close();
+                throw new IOException("Could not fill benchmark database " + file);
+            }
+        }
+        return db;
+    }
+
+    /**
+     * Deletes a temporary benchmark directory and everything in it.
+     *
+     * @param dir the directory to delete; ignored if {@code null}
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
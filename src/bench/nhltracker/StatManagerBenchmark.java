@@ -0,0 +1,123 @@
+package bench.nhltracker;
+
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StatManager} filters, sorts and leaderboards in each of its read modes.
+ * <p>
+ * {@code sql} answers every call with an indexed query, {@code columnStore} uses the in-memory
+ * column store, and {@code statIndex} adds the sorted per-stat indexes on top of it.
+ * {@link #comparatorSort()} is the list-and-comparator sort the GUI used before sorts moved into
+ * {@code StatManager}, kept as a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatManagerBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"sql", "columnStore", "statIndex"})
+    public String mode;
+
+    private Path dir;
+    private DatabaseHandler db;
+    private StatManager manager;
+    private List<Player> roster;
+
+    /**
+     * Creates a temporary database filled with a generated roster and enables the chosen read mode.
+     *
+     * @throws IOException if the database cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("nhltracker-bench");
+        db = RosterGenerator.createDatabase(dir.resolve("bench.db"), size, 0);
+        manager = new StatManager(db);
+        if (!mode.equals("sql")) {
+            manager.enableColumnStore();
+        }
+        if (mode.equals("statIndex")) {
+            manager.enableStatIndexes();
+        }
+        roster = RosterGenerator.players(size, RosterGenerator.SEED);
+    }
+
+    /**
+     * Closes the database and deletes its files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close();
+        RosterGenerator.deleteRecursively(dir);
+    }
+
+    /** Goals filter matching roughly the top 5% of players. */
+    @Benchmark
+    public List<Player> filterByGoals() {
+        return manager.filterByGoals(66);
+    }
+
+    /** Assists filter matching roughly the top 5% of players. */
+    @Benchmark
+    public List<Player> filterByAssists() {
+        return manager.filterByAssists(95);
+    }
+
+    /** Points filter matching the top of the points range. */
+    @Benchmark
+    public List<Player> filterByPoints() {
+        return manager.filterByPoints(150);
+    }
+
+    /** Team filter, typed in lower case as a user would. */
+    @Benchmark
+    public List<Player> filterByTeam() {
+        return manager.filterByTeam("toronto maple leafs");
+    }
+
+    /** The GUI's "Points ↓" sort over the whole roster. */
+    @Benchmark
+    public List<Player> sortByPointsDescending() {
+        return manager.getPlayersSortedBy(Stat.POINTS, true);
+    }
+
+    /** The GUI's "Goals ↑" sort over the whole roster. */
+    @Benchmark
+    public List<Player> sortByGoalsAscending() {
+        return manager.getPlayersSortedBy(Stat.GOALS, false);
+    }
+
+    /** A top-25 points leaderboard. */
+    @Benchmark
+    public List<Player> topTwentyFiveByPoints() {
+        return manager.topN(Stat.POINTS, 25, true);
+    }
+
+    /** Baseline: copy the roster and sort it with a comparator, as the GUI originally did. */
+    @Benchmark
+    public List<Player> comparatorSort() {
+        List<Player> sorted = new ArrayList<>(roster);
+        sorted.sort(Comparator.comparingInt(Player::getPoints).reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,86 @@
+package nhltracker;
+
+/**
+ * The {@code CaseFolding} class compares player and team names the way SQLite's {@code NOCASE}
+ * collation does.
+ * <p>
+ * {@code NOCASE} folds only the ASCII letters {@code A}-{@code Z}; every other character, accented
+ * letters included, must match exactly. The database's unique name index and team lookups use that
+ * collation, so every in-memory view uses these methods instead of {@link String#toLowerCase()} or
+ * {@link String#equalsIgnoreCase(String)}, which fold with Unicode rules and would merge names the
+ * database keeps apart, such as "Élan" and "élan".
+ * </p>
+ */
+public final class CaseFolding {
+    private CaseFolding() {
+    }
+
+    /**
+     * Returns the key under which a name is stored in case-insensitive maps.
+     *
+     * @param value the name
+     * @return the name with ASCII upper-case letters lowered; the same string if it has none
+     */
+    //Lowers ASCII letters only, like COLLATE NOCASE
+    public static String fold(String value) {
+        int i = 0;
+        while (i < value.length() && !isUpper(value.charAt(i))) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        char[] chars = value.toCharArray();
+        for (; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Tells whether two names are equal under {@code NOCASE}.
+     *
+     * @param a a name, may be {@code null}
+     * @param b another name, may be {@code null}
+     * @return {@code true} if both are {@code null} or they differ only in the case of ASCII letters
+     */
+    //Compares two names like COLLATE NOCASE
+    public static boolean equals(String a, String b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.length() == b.length() && regionEquals(a, b, b.length());
+    }
+
+    /**
+     * Tells whether a name starts with a prefix under {@code NOCASE}, like the SQL {@code LIKE 'prefix%'} filter.
+     *
+     * @param value  the name
+     * @param prefix the prefix
+     * @return {@code true} if the first characters of {@code value} equal {@code prefix} ignoring ASCII case
+     */
+    //Matches a name prefix like COLLATE NOCASE
+    public static boolean startsWith(String value, String prefix) {
+        return value.length() >= prefix.length() && regionEquals(value, prefix, prefix.length());
+    }
+
+    //Compares the first length characters of two strings, folding ASCII letters
+    private static boolean regionEquals(String a, String b, int length) {
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y && fold(x) != fold(y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static char fold(char c) {
+        return isUpper(c) ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -2,6 +2,9 @@ package nhltracker;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * The {@code FileHandler} class provides functionality to load and save {@link Player}
  * data from and to a text file. Each player's record is stored as a single line of
@@ -30,7 +33,7 @@ public class FileHandler {
      * <p>
      * If the file does not exist, an empty list is returned and a message is printed to the console.
      * Each valid line must contain exactly 5 comma-separated values corresponding to:
-     * name, team, goals, assists, and plusMinus.
+     * name, team, goals, assists, and plusMinus. Other lines are skipped.
      * </p>
      *
      * @return a list of players read from the file; empty if the file is missing or unreadable
@@ -54,10 +57,14 @@ public class FileHandler {
                 if (parts.length == 5) {
                     String name = parts[0].trim();
                     String team = parts[1].trim();
-                    int goals = Integer.parseInt(parts[2].trim());
-                    int assists = Integer.parseInt(parts[3].trim());
-                    int plusMinus = Integer.parseInt(parts[4].trim());
-                    players.add(new Player(name, team, goals, assists, plusMinus));
+                    try {
+                        int goals = Integer.parseInt(parts[2].trim());
+                        int assists = Integer.parseInt(parts[3].trim());
+                        int plusMinus = Integer.parseInt(parts[4].trim());
+                        players.add(new Player(name, team, goals, assists, plusMinus));
+                    } catch (NumberFormatException e) {
+                        //A line with a stat that is not a number is skipped like any other malformed line
+                    }
                 }
             }
             //Will display error message if file is unreadable
@@ -68,6 +75,85 @@ public class FileHandler {
         return players;
     }
 
+    /**
+     * Streams player records from the text file to the given consumer, one at a time.
+     * <p>
+     * Unlike {@link #loadPlayers()}, the file is never held in memory as a whole. Records are parsed
+     * straight from a read buffer by {@link PlayerRecordReader}, so this is suited to very large stat dumps.
+     * Malformed lines are skipped. If the file does not exist, nothing is passed to the consumer.
+     * </p>
+     *
+     * @param consumer receives each player in file order
+     * @return the number of players passed to the consumer
+     */
+    //Streams players from the file without building a list
+    public long forEachPlayer(Consumer<? super Player> consumer) {
+        File file = new File(fileName);
+        if (!file.exists()) {
+            System.out.println("No data file found. A new one will be created on save.");
+            return 0;
+        }
+        long count = 0;
+        try (PlayerRecordReader reader = new PlayerRecordReader(new FileInputStream(file))) {
+            Player player;
+            while ((player = reader.next()) != null) {
+                consumer.accept(player);
+                count++;
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Returns a lazily populated {@link Stream} over the player records in the text file.
+     * <p>
+     * The stream reads the file as it is consumed and must be closed to release the file,
+     * for example with try-with-resources. If the file does not exist, the stream is empty.
+     * Read errors are thrown as {@link UncheckedIOException}.
+     * </p>
+     *
+     * @return a sequential stream of players in file order
+     */
+    //Exposes the streaming parser as a Stream
+    public Stream<Player> streamPlayers() {
+        File file = new File(fileName);
+        if (!file.exists()) {
+            System.out.println("No data file found. A new one will be created on save.");
+            return Stream.empty();
+        }
+        PlayerRecordReader reader;
+        try {
+            reader = new PlayerRecordReader(new FileInputStream(file));
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+        Spliterator<Player> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Player> action) {
+                try {
+                    Player player = reader.next();
+                    if (player == null) {
+                        return false;
+                    }
+                    action.accept(player);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Saves a list of {@link Player} objects to the text file.
      * <p>
@@ -81,12 +167,22 @@ public class FileHandler {
     public boolean savePlayers(List<Player> players) {
         try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
             for (Player p : players) {
-                writer.printf("%s,%s,%d,%d,%d%n",
-                        p.getName(), p.getTeam(), p.getGoals(), p.getAssists(), p.getPlusMinus());
+                writer.println(formatRecord(p));
             }
             return true;
         } catch (IOException e) {
             return false;
         }
     }
+
+    /**
+     * Formats a player as one CSV record in the format read by {@link #loadPlayers()}, without a line separator.
+     *
+     * @param p the player to format
+     * @return the record text
+     */
+    //Formats one player line for the text file
+    public static String formatRecord(Player p) {
+        return p.getName() + "," + p.getTeam() + "," + p.getGoals() + "," + p.getAssists() + "," + p.getPlusMinus();
+    }
 }
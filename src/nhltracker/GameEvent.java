@@ -0,0 +1,109 @@
+package nhltracker;
+
+import java.time.LocalDate;
+
+/**
+ * One player's stat line from one game: the goals, assists and plus/minus to add to the player's totals.
+ * <p>
+ * Game events are stored in the append-only {@code game_events} log and applied to the player's totals
+ * as they are recorded. The log also holds adjustments, which record changes made to the totals
+ * directly (adding a player, editing their stats); those have no game id. Summing a player's
+ * events therefore always gives their current totals.
+ * </p>
+ */
+public class GameEvent {
+    /** The game the line belongs to, or {@code null} for an adjustment. */
+    private final String gameId;
+    /** The date the game was played, or {@code null} if unknown. */
+    private final LocalDate gameDate;
+    /** The player the line belongs to. */
+    private final String player;
+    /** Goals scored in the game. */
+    private final int goals;
+    /** Assists recorded in the game. */
+    private final int assists;
+    /** Plus/minus for the game. */
+    private final int plusMinus;
+
+    /**
+     * Constructs a stat line for one player in one game.
+     *
+     * @param gameId    the game identifier, unique per game; {@code null} for an adjustment
+     * @param gameDate  the date the game was played, or {@code null} if unknown
+     * @param player    the player's name (case-insensitive)
+     * @param goals     goals scored in the game
+     * @param assists   assists recorded in the game
+     * @param plusMinus plus/minus for the game
+     */
+    public GameEvent(String gameId, LocalDate gameDate, String player, int goals, int assists, int plusMinus) {
+        this.gameId = gameId;
+        this.gameDate = gameDate;
+        this.player = player;
+        this.goals = goals;
+        this.assists = assists;
+        this.plusMinus = plusMinus;
+    }
+
+    /**
+     * Returns the game the line belongs to.
+     *
+     * @return the game identifier, or {@code null} for an adjustment
+     */
+    public String getGameId() { return gameId; }
+    /**
+     * Returns the date the game was played.
+     *
+     * @return the game date, or {@code null} if unknown
+     */
+    public LocalDate getGameDate() { return gameDate; }
+    /**
+     * Returns the player the line belongs to.
+     *
+     * @return the player's name
+     */
+    public String getPlayer() { return player; }
+    /**
+     * Returns the goals scored in the game.
+     *
+     * @return the goals
+     */
+    public int getGoals() { return goals; }
+    /**
+     * Returns the assists recorded in the game.
+     *
+     * @return the assists
+     */
+    public int getAssists() { return assists; }
+    /**
+     * Returns the points (goals + assists) from the game.
+     *
+     * @return the points
+     */
+    public int getPoints() { return goals + assists; }
+    /**
+     * Returns the plus/minus for the game.
+     *
+     * @return the plus/minus
+     */
+    public int getPlusMinus() { return plusMinus; }
+    /**
+     * Tells whether this entry records a direct change to the totals rather than a game.
+     *
+     * @return {@code true} for an adjustment
+     */
+    public boolean isAdjustment() { return gameId == null; }
+
+    /**
+     * Returns a formatted line for the game log.
+     *
+     * @return the game (or "adjustment"), date, goals, assists, points and plus/minus
+     */
+    //Game log display format (Game, Date, Goals, Assists, Points, plusMinus)
+    @Override
+    public String toString() {
+        String game = gameId == null ? "adjustment" : gameId;
+        String date = gameDate == null ? "" : gameDate.toString();
+        return String.format("%-15s %-10s Goals: %-3d Assists: %-3d Points: %-3d +/-: %-3d",
+                game, date, goals, assists, getPoints(), plusMinus);
+    }
+}
@@ -1,6 +1,9 @@
 package nhltracker;
 
 import nhltracker.db.DatabaseHandler;
+import java.io.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 /**
  * The {@code Main} class serves as the entry point for the CLI
@@ -11,10 +14,13 @@ import java.util.*;
  * </p>
  */
 public class Main {
+    /** Command-line option that turns on the write-behind queue. */
+    public static final String WRITE_BEHIND_OPTION = "--write-behind";
+
     /**
      * The main method that initializes the database connection and launches the CLI menu loop.
      *
-     * @param args command-line arguments
+     * @param args command-line arguments; {@value #WRITE_BEHIND_OPTION} commits edits in the background
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
@@ -23,6 +29,18 @@ public class Main {
         String dbPath = scanner.nextLine();
         DatabaseHandler dbHandler = new DatabaseHandler(dbPath);
         StatManager manager = new StatManager(dbHandler);
+        //The roster is loaded from the binary snapshot next to the database
+        manager.enableSnapshot(RosterSnapshot.pathFor(dbPath));
+        //Repeated filters and leaderboards are answered from a bounded result cache
+        manager.enableQueryCache();
+        //Only when asked for, edits are applied in memory and committed in groups by a background writer
+        if (Arrays.asList(args).contains(WRITE_BEHIND_OPTION)) {
+            manager.enableWriteBehind();
+        }
+        //Checked against the database in the background once every view is enabled, so its reload covers them all
+        Thread snapshotCheck = new Thread(manager::verifySnapshot, "snapshot-check");
+        snapshotCheck.setDaemon(true);
+        snapshotCheck.start();
 
 
         //Boolean variable set to true so that the main loop starts running until user decides to exit
@@ -41,14 +59,32 @@ public class Main {
                 case "4" -> displayAllPlayers(manager);
                 case "5" -> filterPlayersUI(manager, scanner);
                 case "6" -> searchPlayerUI(manager, scanner);
+                case "7" -> importPlayersUI(manager, dbHandler, scanner);
+                case "8" -> leaderboardUI(manager, scanner);
+                case "9" -> exportPlayersUI(manager, scanner);
+                case "10" -> showMetricsUI(manager, dbHandler);
+                case "11" -> teamStandingsUI(manager);
+                case "12" -> recordGameUI(manager, scanner);
+                case "13" -> gameLogUI(manager, scanner);
                 case "0" -> {
                     System.out.println("Exiting program");
                     running = false;
                 }
                 default -> System.out.println("Invalid choice, please try again.");
             }
+            //Rewrites the snapshot only if the choice changed the roster
+            manager.saveSnapshot();
         }
 
+        try {
+            snapshotCheck.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        //Commits any queued edits before the connection is closed
+        if (!manager.close()) {
+            System.out.println("Warning: some edits could not be saved to the database and were lost.");
+        }
         scanner.close();
     }
 
@@ -64,6 +100,13 @@ public class Main {
         System.out.println("4. View All Players");
         System.out.println("5. Filter Players");
         System.out.println("6. Search Player");
+        System.out.println("7. Import Players from File");
+        System.out.println("8. Leaderboard");
+        System.out.println("9. Export Players to File");
+        System.out.println("10. Database Metrics");
+        System.out.println("11. Team Standings");
+        System.out.println("12. Record Game");
+        System.out.println("13. Game Log");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -165,9 +208,145 @@ public class Main {
      */
     //Displays all players in the system
     private static void displayAllPlayers(StatManager manager) {
-        List<Player> players = manager.getAllPlayers();
         System.out.println("\nViewing All Players");
-        System.out.println(manager.formatPlayers(players));
+        //Each row is printed as it is read, so nothing waits for the whole roster
+        long count = manager.forEachPlayer(System.out::println);
+        if (count == 0) {
+            System.out.println("No players found for your criteria.");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Prints every team's roster size and totals, highest points first.
+     *
+     * @param manager the {@link StatManager} to read the standings from
+     */
+    //Team standings list each team's totals from the rollup table
+    private static void teamStandingsUI(StatManager manager) {
+        List<TeamStats> standings = manager.getTeamStandings();
+        if (standings.isEmpty()) {
+            System.out.println("No teams found.");
+            return;
+        }
+        System.out.println("\nTeam Standings");
+        for (TeamStats team : standings) {
+            System.out.println(team);
+        }
+    }
+
+    /**
+     * Handles user input for recording one game's stat lines.
+     * <p>
+     * Each line is entered as {@code name, goals, assists, plus/minus}; a blank line ends the game.
+     * All lines are then added to the players' season totals together.
+     * </p>
+     *
+     * @param manager the {@link StatManager} used to record the game
+     * @param scanner the {@link Scanner} used for user input
+     */
+    //Records a game's stat lines entered one player per line
+    private static void recordGameUI(StatManager manager, Scanner scanner) {
+        System.out.print("Enter game id: ");
+        String gameId = scanner.nextLine().trim();
+        if (gameId.isEmpty()) {
+            System.out.println("Error: Game id cannot be empty.");
+            return;
+        }
+        System.out.print("Enter game date (YYYY-MM-DD, press Enter for today): ");
+        String dateInput = scanner.nextLine().trim();
+        LocalDate date;
+        try {
+            date = dateInput.isEmpty() ? LocalDate.now() : LocalDate.parse(dateInput);
+        } catch (DateTimeParseException e) {
+            System.out.println("Error: Date must be in the form YYYY-MM-DD.");
+            return;
+        }
+
+        System.out.println("Enter one line per player as: name, goals, assists, plus/minus (blank line to finish)");
+        List<GameEvent> events = new ArrayList<>();
+        String line;
+        while (!(line = scanner.nextLine().trim()).isEmpty()) {
+            String[] parts = line.split(",");
+            //At most nine digits, so every stat fits in an int
+            if (parts.length != 4 || !parts[1].trim().matches("-?\\d{1,9}") || !parts[2].trim().matches("-?\\d{1,9}")
+                    || !parts[3].trim().matches("-?\\d{1,9}")) {
+                System.out.println("Error: Skipping malformed line: " + line);
+                continue;
+            }
+            events.add(new GameEvent(gameId, date, parts[0].trim(), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim())));
+        }
+        if (events.isEmpty()) {
+            System.out.println("No stat lines entered.");
+            return;
+        }
+        int applied = manager.recordGames(events);
+        if (applied < 0) {
+            System.out.println("Error: Failed to record the game.");
+        } else {
+            //Lines for unknown players or players already recorded in this game are skipped
+            System.out.println("Recorded " + applied + " of " + events.size() + " stat lines.");
+        }
+    }
+
+    /**
+     * Prints a player's game log: every game line and direct adjustment to their totals, oldest first.
+     *
+     * @param manager the {@link StatManager} to read the log from
+     * @param scanner the {@link Scanner} used for user input
+     */
+    //Game log lists a player's stat lines game by game
+    private static void gameLogUI(StatManager manager, Scanner scanner) {
+        System.out.print("Enter player name: ");
+        String name = scanner.nextLine().trim();
+        List<GameEvent> log = manager.getGameLog(name);
+        if (log.isEmpty()) {
+            System.out.println("No games found for " + name + ".");
+            return;
+        }
+        System.out.println("\nGame Log: " + log.get(0).getPlayer());
+        for (GameEvent event : log) {
+            System.out.println(event);
+        }
+    }
+
+    /**
+     * Prints the call counts, error counts, rows and latency percentiles of every database operation used so far,
+     * followed by the query cache and write-behind statistics.
+     *
+     * @param manager   the {@link StatManager} whose query cache is described
+     * @param dbHandler the {@link DatabaseHandler} whose metrics are shown
+     */
+    //Dumps the database metrics to the console
+    private static void showMetricsUI(StatManager manager, DatabaseHandler dbHandler) {
+        System.out.println("\nDatabase Metrics");
+        System.out.println(dbHandler.getMetrics().report());
+        System.out.println(manager.describeQueryCache());
+        System.out.println(manager.describeWriteBehind());
+    }
+
+    /**
+     * Exports every player to a text file in the {@code players.txt} format.
+     * Players are streamed from the database to the file, so memory use does not depend on the roster size.
+     *
+     * @param manager the {@link StatManager} to read players from
+     * @param scanner the {@link Scanner} used for user input
+     */
+    //Writes all players to a players.txt style file
+    private static void exportPlayersUI(StatManager manager, Scanner scanner) {
+        System.out.print("Enter the path to export to (e.g., players.txt): ");
+        String path = scanner.nextLine().trim();
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(path)))) {
+            long count = manager.forEachPlayer(p -> writer.println(FileHandler.formatRecord(p)));
+            if (count < 0 || writer.checkError()) {
+                System.out.println("Error: Export did not complete.");
+            } else {
+                System.out.println("Exported " + count + " players to " + path);
+            }
+        } catch (IOException e) {
+            System.out.println("Error exporting players: " + e.getMessage());
+        }
     }
 
     /**
@@ -258,4 +437,90 @@ public class Main {
             System.out.println("No player found with that name.");
         }
     }
+
+    /**
+     * Shows the top players for a chosen stat.
+     * Prompts for the stat and how many players to list.
+     *
+     * @param manager the {@link StatManager} used to build the leaderboard
+     * @param scanner the {@link Scanner} used for user input
+     */
+    //Leaderboard lists the top N players by goals, assists, points, or plus/minus
+    private static void leaderboardUI(StatManager manager, Scanner scanner) {
+        System.out.println("\nLeaderboard Options:");
+        System.out.println("1. Goals");
+        System.out.println("2. Assists");
+        System.out.println("3. Points");
+        System.out.println("4. Plus/Minus");
+        System.out.print("Enter your choice: ");
+        Stat stat = switch (scanner.nextLine().trim()) {
+            case "1" -> Stat.GOALS;
+            case "2" -> Stat.ASSISTS;
+            case "3" -> Stat.POINTS;
+            case "4" -> Stat.PLUS_MINUS;
+            default -> null;
+        };
+        if (stat == null) {
+            System.out.println("Invalid leaderboard option.");
+            return;
+        }
+
+        System.out.print("How many players: ");
+        String input = scanner.nextLine().trim();
+        if (!input.matches("[1-9]\\d{0,8}")) {
+            System.out.println("Error: Number of players must be a positive integer.");
+            return;
+        }
+
+        System.out.println("\nTop " + input + " by " + stat.getLabel());
+        System.out.println(manager.formatPlayers(manager.topN(stat, Integer.parseInt(input), true)));
+    }
+
+    /**
+     * Imports players from a legacy {@code players.txt} style file into the database.
+     * <p>
+     * Prompts for the file path and an optional batch size, then reports progress,
+     * a summary of how many players were inserted or skipped, and any malformed lines.
+     * </p>
+     *
+     * @param manager   the {@link StatManager} whose in-memory views are refreshed afterwards
+     * @param dbHandler the {@link DatabaseHandler} that receives the imported players
+     * @param scanner   the {@link Scanner} used for user input
+     */
+    //Bulk imports a players.txt file using batched transactions
+    private static void importPlayersUI(StatManager manager, DatabaseHandler dbHandler, Scanner scanner) {
+        System.out.print("Enter the path to the player file (e.g., players.txt): ");
+        String path = scanner.nextLine().trim();
+        System.out.print("Batch size (press Enter for " + PlayerImporter.DEFAULT_BATCH_SIZE + "): ");
+        String batchInput = scanner.nextLine().trim();
+        int batchSize = PlayerImporter.DEFAULT_BATCH_SIZE;
+        if (!batchInput.isEmpty()) {
+            if (!batchInput.matches("[1-9]\\d{0,8}")) {
+                System.out.println("Error: Batch size must be a positive integer.");
+                return;
+            }
+            batchSize = Integer.parseInt(batchInput);
+        }
+
+        //Queued edits are committed first so the import sees them
+        manager.flushWrites();
+        ParallelPlayerImporter importer = new ParallelPlayerImporter(dbHandler, batchSize);
+        try {
+            ParallelPlayerImporter.Result result = importer.importFile(path);
+            manager.reload();
+            System.out.println(result.getSummary());
+            //Show the first few malformed lines so the file can be fixed
+            List<ParallelPlayerImporter.ParseError> errors = result.getErrors();
+            for (int i = 0; i < Math.min(errors.size(), 10); i++) {
+                System.out.println("  " + errors.get(i));
+            }
+            if (errors.size() > 10) {
+                System.out.println("  ... and " + (errors.size() - 10) + " more malformed lines");
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+            //Batches committed before the failure are still picked up by the in-memory views
+            manager.reload();
+        }
+    }
 }
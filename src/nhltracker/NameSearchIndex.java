@@ -0,0 +1,433 @@
+package nhltracker;
+
+import java.util.*;
+/**
+ * The {@code NameSearchIndex} class answers as-you-type player name searches from memory.
+ * <p>
+ * Names are case-folded and indexed three ways: a sorted map of full names, a sorted map of the
+ * individual words in each name, and a trigram index. A search returns names in four ranked tiers,
+ * stopping as soon as the requested number of names has been found:
+ * </p>
+ * <ol>
+ *     <li>names that start with the query, so an exact match always comes first;</li>
+ *     <li>names with a word that starts with the query, for example a last name;</li>
+ *     <li>names that contain the query anywhere, found through the rarest of its trigrams;</li>
+ *     <li>names within one or two typing mistakes of the query, found by counting shared trigrams
+ *     and confirmed with an edit distance that also accepts an unfinished last word.</li>
+ * </ol>
+ * <p>
+ * Each word is indexed with a leading {@code $}, so a trigram such as {@code $mc} marks the start
+ * of a word. Posting lists are plain {@code int} arrays of name ids, kept in name order, so the
+ * word and substring tiers read only as many entries as they return even for very common words.
+ * </p>
+ * <p>
+ * The index is kept in sync by {@link StatManager} through the {@link PlayerChangeListener} callbacks.
+ * All methods are synchronized, so one index can be shared by the CLI, GUI and background threads.
+ * </p>
+ */
+class NameSearchIndex implements PlayerChangeListener {
+    private static final int GRAM = 3;
+    /** Queries shorter than this skip the substring and typo tiers, which would match too much. */
+    private static final int MIN_FUZZY_LENGTH = 4;
+    /** Queries this long or longer tolerate two mistakes instead of one. */
+    private static final int TWO_EDIT_LENGTH = 7;
+    /** Most typo candidates whose edit distance is computed, taken in order of shared trigrams. */
+    private static final int MAX_FUZZY_CANDIDATES = 200;
+    /** Posting entries the typo search reads before it stops adding common trigrams. */
+    private static final int FUZZY_SCAN_BUDGET = 20_000;
+    private static final IntList EMPTY = new IntList();
+
+    /** Name id to stored spelling and to folded key; {@code null} marks a free id. */
+    private final List<String> names = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    /** Folded full name to id, in name order. */
+    private final TreeMap<String, Integer> idsByKey = new TreeMap<>();
+    /** Folded word to the ids of the names containing it, in word order. */
+    private final TreeMap<String, IntList> words = new TreeMap<>();
+    /** Trigram to the ids of the names containing it, in name order. */
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    /** Shared-trigram counters for typo search, indexed by id and reused between searches. */
+    private int[] counts = new int[0];
+
+    /**
+     * Constructs an index holding the names of the given players.
+     *
+     * @param players the initial roster
+     */
+    NameSearchIndex(List<Player> players) {
+        playersReloaded(players);
+    }
+
+    /**
+     * Returns the number of indexed names.
+     *
+     * @return the name count
+     */
+    synchronized int size() {
+        return idsByKey.size();
+    }
+
+    /**
+     * Checks whether a name is indexed, ignoring case.
+     *
+     * @param name the name to look up
+     * @return {@code true} if a player with that name exists
+     */
+    synchronized boolean contains(String name) {
+        return idsByKey.containsKey(CaseFolding.fold(name.trim()));
+    }
+
+    /**
+     * Returns up to {@code limit} names matching the query, best matches first.
+     *
+     * @param query the text typed so far; case and surrounding spaces are ignored
+     * @param limit the maximum number of names to return
+     * @return the matching names as stored, ranked by tier and then alphabetically
+     */
+    synchronized List<String> search(String query, int limit) {
+        String q = CaseFolding.fold(query.trim());
+        LinkedHashSet<Integer> found = new LinkedHashSet<>();
+        if (q.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        //Tier 1: full-name prefix, already in name order
+        for (int id : idsByKey.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            if (found.size() >= limit) break;
+            found.add(id);
+        }
+        //Tier 2: word prefix, in word order and then name order
+        for (IntList ids : words.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            if (found.size() >= limit) break;
+            for (int i = 0; i < ids.size && found.size() < limit; i++) {
+                found.add(ids.values[i]);
+            }
+        }
+        if (found.size() < limit && q.length() >= GRAM) {
+            addSubstringMatches(found, q, limit);
+        }
+        if (found.size() < limit && q.length() >= MIN_FUZZY_LENGTH) {
+            addFuzzyMatches(found, q, limit);
+        }
+        List<String> result = new ArrayList<>(found.size());
+        for (int id : found) {
+            result.add(names.get(id));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void playerAdded(Player player) {
+        add(player.getName(), false);
+    }
+
+    @Override
+    public synchronized void playerUpdated(Player before, Player after) {
+        if (!before.getName().equals(after.getName())) {
+            remove(before.getName());
+        }
+        add(after.getName(), false);
+    }
+
+    @Override
+    public synchronized void playerRemoved(Player player) {
+        remove(player.getName());
+    }
+
+    @Override
+    public synchronized void playersReloaded(List<Player> players) {
+        names.clear();
+        keys.clear();
+        freeIds.clear();
+        idsByKey.clear();
+        words.clear();
+        trigrams.clear();
+        //Ids handed out in name order make every posting list sorted as it is appended
+        List<Player> sorted = new ArrayList<>(players);
+        sorted.sort(Comparator.comparing(p -> CaseFolding.fold(p.getName())));
+        for (Player player : sorted) {
+            add(player.getName(), true);
+        }
+    }
+
+    /**
+     * Indexes a name unless it is already present in any capitalization.
+     *
+     * @param name    the name as stored
+     * @param inOrder {@code true} while reloading in name order, when ids can simply be appended
+     */
+    private void add(String name, boolean inOrder) {
+        String key = CaseFolding.fold(name);
+        if (idsByKey.containsKey(key)) {
+            return;
+        }
+        int id;
+        if (freeIds.isEmpty()) {
+            id = names.size();
+            names.add(name);
+            keys.add(key);
+        } else {
+            id = freeIds.pop();
+            names.set(id, name);
+            keys.set(id, key);
+        }
+        idsByKey.put(key, id);
+        for (String word : wordsOf(key)) {
+            addPosting(words, word, id, inOrder);
+        }
+        for (String gram : gramsOf(key)) {
+            addPosting(trigrams, gram, id, inOrder);
+        }
+    }
+
+    //Drops a name from every map and frees its id
+    private void remove(String name) {
+        String key = CaseFolding.fold(name);
+        Integer id = idsByKey.remove(key);
+        if (id == null) {
+            return;
+        }
+        for (String word : wordsOf(key)) {
+            removePosting(words, word, id);
+        }
+        for (String gram : gramsOf(key)) {
+            removePosting(trigrams, gram, id);
+        }
+        names.set(id, null);
+        keys.set(id, null);
+        freeIds.push(id);
+    }
+
+    //Adds an id to one posting list, keeping the list in name order
+    private void addPosting(Map<String, IntList> postings, String term, int id, boolean inOrder) {
+        IntList ids = postings.computeIfAbsent(term, t -> new IntList());
+        if (inOrder) {
+            ids.add(id);
+        } else {
+            ids.insert(id, keys);
+        }
+    }
+
+    //Removes an id from one posting list, dropping the list once it is empty
+    private void removePosting(Map<String, IntList> postings, String term, int id) {
+        IntList ids = postings.get(term);
+        if (ids != null && ids.remove(id, keys) && ids.size == 0) {
+            postings.remove(term);
+        }
+    }
+
+    //Adds the names containing the query, in name order, by checking the ids under its rarest trigram
+    private void addSubstringMatches(Set<Integer> found, String q, int limit) {
+        IntList rarest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            IntList ids = trigrams.get(q.substring(i, i + GRAM));
+            if (ids == null) {
+                return;
+            }
+            if (rarest == null || ids.size < rarest.size) {
+                rarest = ids;
+            }
+        }
+        for (int i = 0; i < rarest.size && found.size() < limit; i++) {
+            int id = rarest.values[i];
+            if (keys.get(id).contains(q)) {
+                found.add(id);
+            }
+        }
+    }
+
+    //Adds names within the allowed number of mistakes, closest first
+    private void addFuzzyMatches(Set<Integer> found, String q, int limit) {
+        int maxEdits = q.length() >= TWO_EDIT_LENGTH ? 2 : 1;
+        Set<String> queryGrams = gramsOf(q);
+        if (counts.length < names.size()) {
+            counts = new int[names.size()];
+        }
+        //Each mistake can spoil at most GRAM trigrams, so fewer shared ones rule a name out
+        int needed = Math.max(1, queryGrams.size() - GRAM * maxEdits);
+        //Rarest trigrams first; a match must share one of the first (size - needed + 1) of them
+        List<IntList> postings = new ArrayList<>();
+        for (String gram : queryGrams) {
+            postings.add(trigrams.getOrDefault(gram, EMPTY));
+        }
+        postings.sort(Comparator.comparingInt(ids -> ids.size));
+        int required = postings.size() - needed + 1;
+        IntList touched = new IntList();
+        long scanned = 0;
+        int used = 0;
+        for (IntList ids : postings) {
+            //Past the budget, common trigrams are skipped and the minimum is lowered to match
+            if (used >= required && scanned + ids.size > FUZZY_SCAN_BUDGET) {
+                break;
+            }
+            used++;
+            scanned += ids.size;
+            for (int i = 0; i < ids.size; i++) {
+                int id = ids.values[i];
+                if (counts[id]++ == 0) {
+                    touched.add(id);
+                }
+            }
+        }
+        needed = Math.max(1, needed - (postings.size() - used));
+        //Bucket the candidates by shared trigrams so the best ones are taken without sorting
+        IntList[] byCount = new IntList[queryGrams.size() + 1];
+        for (int i = 0; i < touched.size; i++) {
+            int id = touched.values[i];
+            int count = counts[id];
+            counts[id] = 0;
+            if (count >= needed) {
+                if (byCount[count] == null) {
+                    byCount[count] = new IntList();
+                }
+                byCount[count].add(id);
+            }
+        }
+        List<int[]> matches = new ArrayList<>();
+        int checked = 0;
+        for (int count = byCount.length - 1; count >= needed && checked < MAX_FUZZY_CANDIDATES; count--) {
+            IntList ids = byCount[count];
+            for (int i = 0; ids != null && i < ids.size && checked < MAX_FUZZY_CANDIDATES; i++, checked++) {
+                int id = ids.values[i];
+                if (found.contains(id)) continue;
+                int distance = distance(q, keys.get(id), maxEdits);
+                if (distance <= maxEdits) {
+                    matches.add(new int[]{id, distance});
+                }
+            }
+        }
+        matches.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : keys.get(a[0]).compareTo(keys.get(b[0])));
+        for (int[] match : matches) {
+            if (found.size() >= limit) break;
+            found.add(match[0]);
+        }
+    }
+
+    //Returns the smallest edit distance between the query and the start of the name or of any of its words
+    private static int distance(String q, String key, int maxEdits) {
+        int best = prefixDistance(q, key, maxEdits);
+        for (int i = key.indexOf(' '); i >= 0 && best > 0; i = key.indexOf(' ', i + 1)) {
+            best = Math.min(best, prefixDistance(q, key.substring(i + 1), maxEdits));
+        }
+        return best;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the query and the closest prefix of the target,
+     * so a query that is a misspelled beginning of the target still matches.
+     *
+     * @param q        the query
+     * @param target   the text to compare against
+     * @param maxEdits the largest distance of interest; the scan stops once it cannot be reached
+     * @return the distance, or {@code maxEdits + 1} if it is larger than {@code maxEdits}
+     */
+    private static int prefixDistance(String q, String target, int maxEdits) {
+        int m = q.length();
+        //column[i] is the distance between q's first i characters and the target read so far
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            column[i] = i;
+        }
+        int best = column[m];
+        int end = Math.min(target.length(), m + maxEdits);
+        for (int j = 1; j <= end; j++) {
+            char c = target.charAt(j - 1);
+            int diagonal = column[0];
+            column[0] = j;
+            int columnMin = column[0];
+            for (int i = 1; i <= m; i++) {
+                int above = column[i];
+                int cost = q.charAt(i - 1) == c ? 0 : 1;
+                column[i] = Math.min(Math.min(column[i - 1] + 1, above + 1), diagonal + cost);
+                diagonal = above;
+                columnMin = Math.min(columnMin, column[i]);
+            }
+            best = Math.min(best, column[m]);
+            if (columnMin > maxEdits) {
+                break;
+            }
+        }
+        return Math.min(best, maxEdits + 1);
+    }
+
+    //Splits a folded name into its words
+    private static List<String> wordsOf(String key) {
+        List<String> result = new ArrayList<>();
+        for (String word : key.split("[\\s-]+")) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    //Returns the distinct trigrams of a folded name, with each word also indexed from a leading $
+    private static Set<String> gramsOf(String key) {
+        Set<String> grams = new HashSet<>();
+        String whole = "$" + key;
+        for (int i = 0; i + GRAM <= whole.length(); i++) {
+            grams.add(whole.substring(i, i + GRAM));
+        }
+        for (String word : wordsOf(key)) {
+            String marked = "$" + word;
+            for (int i = 0; i + GRAM <= marked.length(); i++) {
+                grams.add(marked.substring(i, i + GRAM));
+            }
+        }
+        return grams;
+    }
+
+    /** A growable posting list of name ids, kept sorted by folded name. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        //Appends an id; used only where ids arrive in name order
+        void add(int id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = id;
+        }
+
+        //Inserts an id at its name position
+        void insert(int id, List<String> keys) {
+            int at = -(search(keys.get(id), keys) + 1);
+            if (at < 0) {
+                return;
+            }
+            add(id);
+            System.arraycopy(values, at, values, at + 1, size - 1 - at);
+            values[at] = id;
+        }
+
+        //Removes an id, found by its name
+        boolean remove(int id, List<String> keys) {
+            int at = search(keys.get(id), keys);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, size - 1 - at);
+            size--;
+            return true;
+        }
+
+        //Binary search by folded name, with the same result convention as Arrays.binarySearch
+        private int search(String key, List<String> keys) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys.get(values[mid]).compareTo(key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package nhltracker;
+
+import nhltracker.db.DatabaseHandler;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * The {@code ParallelPlayerImporter} class imports large {@code players.txt} style files by
+ * parsing them on several cores at once.
+ * <p>
+ * The file is split into line-aligned chunks, each chunk is memory-mapped through a
+ * {@link FileChannel} and parsed on a {@link ForkJoinPool}, and the parsed chunks are handed,
+ * in file order, to a single {@link PlayerImporter} that writes them to the database in batches.
+ * Only a bounded number of chunks are parsed ahead of the writer, so memory use does not grow
+ * with the file size. The order of inserted players is the same as a serial import.
+ * </p>
+ * <p>
+ * Malformed lines are skipped and reported as {@link ParseError}s carrying their byte offset in the file.
+ * </p>
+ */
+public class ParallelPlayerImporter {
+    /** Smallest chunk handed to a worker, in bytes. */
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    /** Largest chunk handed to a worker, in bytes. */
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+    /** Chunks per worker, so uneven chunks still keep every core busy. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final DatabaseHandler dbHandler;
+    private final int batchSize;
+    private final int parallelism;
+
+    /**
+     * Constructs an importer that parses with one worker per available processor.
+     *
+     * @param dbHandler the {@link DatabaseHandler} that receives the players
+     * @param batchSize the number of players written per transaction
+     */
+    public ParallelPlayerImporter(DatabaseHandler dbHandler, int batchSize) {
+        this(dbHandler, batchSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an importer with a fixed number of parser threads.
+     *
+     * @param dbHandler   the {@link DatabaseHandler} that receives the players
+     * @param batchSize   the number of players written per transaction; must be positive
+     * @param parallelism the number of parser threads; must be positive
+     * @throws IllegalArgumentException if {@code batchSize} or {@code parallelism} is less than 1
+     */
+    public ParallelPlayerImporter(DatabaseHandler dbHandler, int batchSize, int parallelism) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.dbHandler = dbHandler;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Imports every player record in the given file.
+     *
+     * @param fileName the path of the player file
+     * @return the {@link Result} of the import, including any parse errors
+     * @throws IOException if the file cannot be opened or read, a chunk cannot be parsed,
+     *                     or the import is interrupted
+     */
+    //Splits the file into chunks, parses them in parallel and writes them in order
+    public Result importFile(String fileName) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            OrderedChunkIterator players = new OrderedChunkIterator(channel, chunks, pool);
+            PlayerImporter.Summary summary = new PlayerImporter(dbHandler, batchSize).importPlayers(players);
+            return new Result(summary, players.errors);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (ChunkFailedException e) {
+            //Batches written before the failure stay committed, as with any other read error
+            throw new IOException(e.getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits the file into {@code [start, end)} byte ranges that each end just after a line feed
+     * (or at the end of the file).
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / ((long) parallelism * CHUNKS_PER_WORKER)));
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + target);
+            //Move the boundary forward to the end of the line it falls in
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                int newline = -1;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += read;
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line at byte offset " + start + " is too long to parse");
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses one memory-mapped chunk of the file.
+     */
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end) {
+        ChunkResult result = new ChunkResult();
+        Charset charset = Charset.defaultCharset();
+        MappedByteBuffer buf;
+        try {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int length = (int) (end - start);
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || buf.get(i) == '\n') {
+                if (lineStart < i || i < length) {
+                    Player player = PlayerRecordReader.parseRecord(buf, lineStart, i, charset);
+                    if (player != null) {
+                        result.players.add(player);
+                    } else if (!PlayerRecordReader.isBlank(buf, lineStart, i)) {
+                        result.errors.add(new ParseError(start + lineStart, "Malformed player record"));
+                    }
+                }
+                lineStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hands out the players of each chunk in file order, submitting parse tasks a bounded
+     * distance ahead of the chunk currently being consumed.
+     */
+    private class OrderedChunkIterator implements Iterator<Player> {
+        private final FileChannel channel;
+        private final List<long[]> chunks;
+        private final ForkJoinPool pool;
+        private final Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        private final List<ParseError> errors = new ArrayList<>();
+        private int nextToSubmit;
+        private Iterator<Player> current = Collections.emptyIterator();
+
+        OrderedChunkIterator(FileChannel channel, List<long[]> chunks, ForkJoinPool pool) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.pool = pool;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                while (nextToSubmit < chunks.size() && inFlight.size() < parallelism * 2) {
+                    long[] chunk = chunks.get(nextToSubmit++);
+                    inFlight.add(pool.submit(() -> parseChunk(channel, chunk[0], chunk[1])));
+                }
+                if (inFlight.isEmpty()) {
+                    return false;
+                }
+                ChunkResult result = await(inFlight.poll());
+                errors.addAll(result.errors);
+                current = result.players.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Player next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        //Waits for a parse task and unwraps its failure
+        private ChunkResult await(Future<ChunkResult> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChunkFailedException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io;
+                }
+                throw new ChunkFailedException("Error parsing player file: " + e.getCause(), e.getCause());
+            }
+        }
+    }
+
+    /** Carries a failed or interrupted parse task out of the iterator, to be rethrown as an {@link IOException}. */
+    private static class ChunkFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ChunkFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /** Players and errors parsed from one chunk. */
+    private static class ChunkResult {
+        private final List<Player> players = new ArrayList<>();
+        private final List<ParseError> errors = new ArrayList<>();
+    }
+
+    /**
+     * A malformed line found during a parallel import.
+     */
+    public static class ParseError {
+        private final long offset;
+        private final String message;
+
+        private ParseError(long offset, String message) {
+            this.offset = offset;
+            this.message = message;
+        }
+
+        /** @return the byte offset in the file where the malformed line starts */
+        public long getOffset() { return offset; }
+        /** @return a description of the problem */
+        public String getMessage() { return message; }
+
+        /**
+         * Returns the error formatted with its file offset.
+         *
+         * @return the formatted error
+         */
+        @Override
+        public String toString() {
+            return message + " at byte offset " + offset;
+        }
+    }
+
+    /**
+     * The outcome of a parallel import: the write {@link PlayerImporter.Summary} and the parse errors, in file order.
+     */
+    public static class Result {
+        private final PlayerImporter.Summary summary;
+        private final List<ParseError> errors;
+
+        private Result(PlayerImporter.Summary summary, List<ParseError> errors) {
+            this.summary = summary;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /** @return the counts and throughput of the database writes */
+        public PlayerImporter.Summary getSummary() { return summary; }
+        /** @return the malformed lines that were skipped, in file order */
+        public List<ParseError> getErrors() { return errors; }
+    }
+}
@@ -0,0 +1,40 @@
+package nhltracker;
+
+import java.util.List;
+/**
+ * Receives notifications from {@link StatManager} after a player change has been written to the database.
+ * <p>
+ * In-memory views of the roster (such as {@link PlayerColumnStore}) implement this interface to stay in sync
+ * with the database without re-reading it. The players passed in are private copies and may be kept.
+ * </p>
+ */
+interface PlayerChangeListener {
+    /**
+     * Called after a player has been added.
+     *
+     * @param player the player that was added
+     */
+    void playerAdded(Player player);
+
+    /**
+     * Called after a player's team or stats have been updated.
+     *
+     * @param before the player as it was before the update
+     * @param after  the player as it is now stored
+     */
+    void playerUpdated(Player before, Player after);
+
+    /**
+     * Called after a player has been removed.
+     *
+     * @param player the player as it was before removal
+     */
+    void playerRemoved(Player player);
+
+    /**
+     * Called when the whole roster has been re-read from the database, for example after a bulk import.
+     *
+     * @param players every player currently stored, ordered by name
+     */
+    void playersReloaded(List<Player> players);
+}
@@ -0,0 +1,541 @@
+package nhltracker;
+
+import java.util.*;
+/**
+ * The {@code PlayerColumnStore} class keeps an in-memory, column-oriented copy of the roster
+ * for fast analytic scans.
+ * <p>
+ * Each stat lives in its own {@code int[]} column, teams are dictionary-encoded as integer ids,
+ * and rows are kept in name order so results come back in the same order as the database queries.
+ * Filters, sorts and totals run as tight loops over the primitive columns and only allocate the
+ * {@link Player} objects in the final result.
+ * </p>
+ * <p>
+ * The store is kept in sync by {@link StatManager} through the {@link PlayerChangeListener} callbacks.
+ * All methods are synchronized, so one store can be shared by the CLI, GUI and background threads.
+ * </p>
+ */
+class PlayerColumnStore implements PlayerChangeListener {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] teamIds = new int[INITIAL_CAPACITY];
+    private int[] goals = new int[INITIAL_CAPACITY];
+    private int[] assists = new int[INITIAL_CAPACITY];
+    private int[] plusMinus = new int[INITIAL_CAPACITY];
+    private int[] points = new int[INITIAL_CAPACITY];
+
+    /** Team dictionary: id to team name, and team name to id. */
+    private final List<String> teamNames = new ArrayList<>();
+    private final Map<String, Integer> teamIdsByName = new HashMap<>();
+    /**
+     * Case-folded player name to the stored spelling, used to find a row from any capitalization.
+     * {@code null} until first needed when the store was restored from a snapshot.
+     */
+    private Map<String, String> namesByKey = new HashMap<>();
+
+    /**
+     * Constructs a store holding the given players.
+     *
+     * @param players the initial roster
+     */
+    PlayerColumnStore(List<Player> players) {
+        playersReloaded(players);
+    }
+
+    /**
+     * Constructs a store directly from saved columns, without building a {@link Player} per row.
+     *
+     * @param columns the rows in name order and the team dictionary they refer to
+     * @throws IllegalArgumentException if the names are not strictly in order, or a team id is out of range
+     */
+    PlayerColumnStore(Columns columns) {
+        int rows = columns.names().length;
+        ensureCapacity(rows);
+        for (String team : columns.teamNames()) {
+            teamId(team);
+        }
+        for (int row = 0; row < rows; row++) {
+            String name = columns.names()[row];
+            int team = columns.teamIds()[row];
+            if (row > 0 && name.compareTo(names[row - 1]) <= 0) {
+                throw new IllegalArgumentException("Players are not in name order at row " + row);
+            }
+            if (team < 0 || team >= teamNames.size()) {
+                throw new IllegalArgumentException("Unknown team id " + team + " at row " + row);
+            }
+            names[row] = name;
+        }
+        System.arraycopy(columns.teamIds(), 0, teamIds, 0, rows);
+        System.arraycopy(columns.goals(), 0, goals, 0, rows);
+        System.arraycopy(columns.assists(), 0, assists, 0, rows);
+        System.arraycopy(columns.plusMinus(), 0, plusMinus, 0, rows);
+        for (int row = 0; row < rows; row++) {
+            points[row] = goals[row] + assists[row];
+        }
+        size = rows;
+        //Case-folding every name is the slowest part of a restore, so it waits for the first lookup
+        namesByKey = null;
+    }
+
+    /**
+     * The raw contents of a store: one entry per row in name order, plus the team dictionary
+     * that {@code teamIds} index into. Used to save and restore a store as a {@link RosterSnapshot}.
+     *
+     * @param names     the player names
+     * @param teamNames the team dictionary
+     * @param teamIds   each row's index into {@code teamNames}
+     * @param goals     each row's goals
+     * @param assists   each row's assists
+     * @param plusMinus each row's plus/minus
+     */
+    record Columns(String[] names, List<String> teamNames, int[] teamIds, int[] goals, int[] assists, int[] plusMinus) {
+    }
+
+    /**
+     * Returns a copy of the store's columns, trimmed to the current row count.
+     *
+     * @return the rows and team dictionary
+     */
+    synchronized Columns columns() {
+        return new Columns(Arrays.copyOf(names, size), new ArrayList<>(teamNames), Arrays.copyOf(teamIds, size),
+                Arrays.copyOf(goals, size), Arrays.copyOf(assists, size), Arrays.copyOf(plusMinus, size));
+    }
+
+    /**
+     * Returns the number of players in the store.
+     *
+     * @return the row count
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns every player, ordered by name.
+     *
+     * @return a new list of all players
+     */
+    synchronized List<Player> getAll() {
+        List<Player> result = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            result.add(toPlayer(row));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the player that follows a name in the store's name order. Walking the store with this
+     * method builds one {@link Player} per call and does not hold the store's lock between calls.
+     *
+     * @param name the name of the previous player, or {@code null} to start from the first player
+     * @return a copy of the next player, or {@code null} after the last one
+     */
+    synchronized Player next(String name) {
+        int row = 0;
+        if (name != null) {
+            row = Arrays.binarySearch(names, 0, size, name);
+            row = row >= 0 ? row + 1 : -row - 1;
+        }
+        return row < size ? toPlayer(row) : null;
+    }
+
+    /**
+     * Finds a player by name (case-insensitive).
+     *
+     * @param name the name to look up
+     * @return a copy of the player, or {@code null} if not found
+     */
+    synchronized Player find(String name) {
+        int row = rowOf(name);
+        return row < 0 ? null : toPlayer(row);
+    }
+
+    /**
+     * Returns the players whose value for the given stat is at least {@code min}, ordered by name.
+     *
+     * @param stat the stat to compare
+     * @param min  the minimum value
+     * @return a new list of matching players
+     */
+    synchronized List<Player> filterAtLeast(Stat stat, int min) {
+        int[] column = column(stat);
+        List<Player> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (column[row] >= min) {
+                result.add(toPlayer(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the spelling the store holds for a team name (case-insensitive).
+     *
+     * @param team the team name
+     * @return the first spelling added for the team, or {@code null} if the store has not held it since it was loaded
+     */
+    synchronized String findTeamName(String team) {
+        for (String name : teamNames) {
+            if (CaseFolding.equals(name, team)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the players on the given team (case-insensitive), ordered by name.
+     *
+     * @param team the team name
+     * @return a new list of matching players
+     */
+    synchronized List<Player> filterByTeam(String team) {
+        //Resolve the name against the dictionary once, so the row loop only compares ids
+        boolean[] matches = new boolean[teamNames.size()];
+        boolean any = false;
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = CaseFolding.equals(teamNames.get(id), team);
+            any |= matches[id];
+        }
+        List<Player> result = new ArrayList<>();
+        if (!any) {
+            return result;
+        }
+        for (int row = 0; row < size; row++) {
+            if (matches[teamIds[row]]) {
+                result.add(toPlayer(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns every player sorted by a stat, with ties broken by name.
+     * <p>
+     * Each row is packed with its stat value into a single {@code long} key and the keys are
+     * sorted as primitives, so no comparator or boxed values are involved.
+     * </p>
+     *
+     * @param stat       the stat to sort by
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return a new sorted list of players
+     */
+    synchronized List<Player> sortedBy(Stat stat, boolean descending) {
+        int[] column = column(stat);
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            //~value reverses the order of ints without overflowing; the row keeps ties in name order
+            int value = descending ? ~column[row] : column[row];
+            keys[row] = ((long) value << 32) | row;
+        }
+        Arrays.sort(keys);
+        List<Player> result = new ArrayList<>(size);
+        for (long key : keys) {
+            result.add(toPlayer((int) key));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the top {@code n} players by a stat, with ties broken by name.
+     * <p>
+     * Uses a bounded max-heap of {@code n} packed keys, so the cost is O(size log n) and only the
+     * {@code n} selected rows are turned into {@link Player} objects.
+     * </p>
+     *
+     * @param stat       the stat to rank by
+     * @param n          the maximum number of players to return
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return up to {@code n} players in rank order
+     */
+    synchronized List<Player> topN(Stat stat, int n, boolean descending) {
+        int[] column = column(stat);
+        int k = Math.max(0, Math.min(n, size));
+        //heap[0] is the worst of the best k keys seen so far
+        long[] heap = new long[k];
+        int count = 0;
+        for (int row = 0; row < size && k > 0; row++) {
+            int value = descending ? ~column[row] : column[row];
+            long key = ((long) value << 32) | row;
+            if (count < k) {
+                heap[count] = key;
+                siftUp(heap, count++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, k);
+            }
+        }
+        Arrays.sort(heap);
+        List<Player> result = new ArrayList<>(k);
+        for (long key : heap) {
+            result.add(toPlayer((int) key));
+        }
+        return result;
+    }
+
+    /**
+     * Answers a multi-criteria query in a single pass over the rows.
+     * <p>
+     * The team is resolved against the dictionary once and the stat bounds are gathered into
+     * arrays, so each row is checked with integer comparisons only. Matching rows are then sorted
+     * as packed keys, as in {@link #sortedBy(Stat, boolean)}, and cut to the query's limit before
+     * any {@link Player} is built.
+     * </p>
+     *
+     * @param query the filters, sort order and limit
+     * @return a new list of the matching players in the query's order
+     */
+    synchronized List<Player> query(PlayerQuery query) {
+        boolean[] teamMatches = null;
+        if (query.getTeam() != null) {
+            teamMatches = new boolean[teamNames.size()];
+            for (int id = 0; id < teamMatches.length; id++) {
+                teamMatches[id] = CaseFolding.equals(teamNames.get(id), query.getTeam());
+            }
+        }
+        String prefix = query.getNamePrefix();
+        //Only the bounded stats are checked per row
+        List<int[]> columns = new ArrayList<>();
+        List<int[]> bounds = new ArrayList<>();
+        for (Stat stat : Stat.values()) {
+            Integer min = query.getMinimum(stat);
+            Integer max = query.getMaximum(stat);
+            if (min != null || max != null) {
+                columns.add(column(stat));
+                bounds.add(new int[]{min == null ? Integer.MIN_VALUE : min, max == null ? Integer.MAX_VALUE : max});
+            }
+        }
+        int[] matched = new int[Math.min(size, INITIAL_CAPACITY)];
+        int count = 0;
+        rows:
+        for (int row = 0; row < size; row++) {
+            if (teamMatches != null && !teamMatches[teamIds[row]]) {
+                continue;
+            }
+            if (prefix != null && !CaseFolding.startsWith(names[row], prefix)) {
+                continue;
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                int value = columns.get(i)[row];
+                int[] bound = bounds.get(i);
+                if (value < bound[0] || value > bound[1]) {
+                    continue rows;
+                }
+            }
+            if (count == matched.length) {
+                matched = Arrays.copyOf(matched, Math.max(INITIAL_CAPACITY, count * 2));
+            }
+            matched[count++] = row;
+        }
+        Stat sortKey = query.getSortKey();
+        if (sortKey != null) {
+            int[] column = column(sortKey);
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                int row = matched[i];
+                int value = query.isDescending() ? ~column[row] : column[row];
+                keys[i] = ((long) value << 32) | row;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < count; i++) {
+                matched[i] = (int) keys[i];
+            }
+        } else if (query.isDescending()) {
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int tmp = matched[i];
+                matched[i] = matched[j];
+                matched[j] = tmp;
+            }
+        }
+        int n = query.getLimit() > 0 ? Math.min(count, query.getLimit()) : count;
+        List<Player> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(toPlayer(matched[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sum of a stat over every player.
+     *
+     * @param stat the stat to total
+     * @return the league-wide total
+     */
+    synchronized long total(Stat stat) {
+        int[] column = column(stat);
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            total += column[row];
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized void playerAdded(Player player) {
+        String key = CaseFolding.fold(player.getName());
+        if (namesByKey().containsKey(key)) {
+            setRow(rowOf(player.getName()), player);
+            return;
+        }
+        int row = -(Arrays.binarySearch(names, 0, size, player.getName()) + 1);
+        ensureCapacity(size + 1);
+        int tail = size - row;
+        System.arraycopy(names, row, names, row + 1, tail);
+        System.arraycopy(teamIds, row, teamIds, row + 1, tail);
+        System.arraycopy(goals, row, goals, row + 1, tail);
+        System.arraycopy(assists, row, assists, row + 1, tail);
+        System.arraycopy(plusMinus, row, plusMinus, row + 1, tail);
+        System.arraycopy(points, row, points, row + 1, tail);
+        size++;
+        names[row] = player.getName();
+        namesByKey().put(key, player.getName());
+        setRow(row, player);
+    }
+
+    @Override
+    public synchronized void playerUpdated(Player before, Player after) {
+        int row = rowOf(after.getName());
+        if (row < 0) {
+            playerAdded(after);
+        } else {
+            setRow(row, after);
+        }
+    }
+
+    @Override
+    public synchronized void playerRemoved(Player player) {
+        int row = rowOf(player.getName());
+        if (row < 0) {
+            return;
+        }
+        namesByKey().remove(CaseFolding.fold(names[row]));
+        int tail = size - row - 1;
+        System.arraycopy(names, row + 1, names, row, tail);
+        System.arraycopy(teamIds, row + 1, teamIds, row, tail);
+        System.arraycopy(goals, row + 1, goals, row, tail);
+        System.arraycopy(assists, row + 1, assists, row, tail);
+        System.arraycopy(plusMinus, row + 1, plusMinus, row, tail);
+        System.arraycopy(points, row + 1, points, row, tail);
+        size--;
+        names[size] = null;
+    }
+
+    @Override
+    public synchronized void playersReloaded(List<Player> players) {
+        size = 0;
+        namesByKey = new HashMap<>();
+        Arrays.fill(names, null);
+        //Teams left without players are dropped; setRow() adds back every team still in use
+        teamNames.clear();
+        teamIdsByName.clear();
+        ensureCapacity(players.size());
+        List<Player> sorted = new ArrayList<>(players);
+        sorted.sort(Comparator.comparing(Player::getName));
+        for (Player player : sorted) {
+            if (namesByKey.putIfAbsent(CaseFolding.fold(player.getName()), player.getName()) == null) {
+                names[size] = player.getName();
+                setRow(size, player);
+                size++;
+            }
+        }
+    }
+
+    //Restores the max-heap order after adding a key at index i
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= heap[i]) {
+                return;
+            }
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    //Restores the max-heap order after replacing the root
+    private static void siftDown(long[] heap, int length) {
+        int i = 0;
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < length && heap[left] > heap[largest]) largest = left;
+            if (right < length && heap[right] > heap[largest]) largest = right;
+            if (largest == i) {
+                return;
+            }
+            long tmp = heap[largest];
+            heap[largest] = heap[i];
+            heap[i] = tmp;
+            i = largest;
+        }
+    }
+
+    //Writes a player's team and stats into an existing row
+    private void setRow(int row, Player player) {
+        teamIds[row] = teamId(player.getTeam());
+        goals[row] = player.getGoals();
+        assists[row] = player.getAssists();
+        plusMinus[row] = player.getPlusMinus();
+        points[row] = player.getPoints();
+    }
+
+    //Builds a Player from one row of the columns
+    private Player toPlayer(int row) {
+        return new Player(names[row], teamNames.get(teamIds[row]), goals[row], assists[row], plusMinus[row]);
+    }
+
+    //Finds the row holding a player, or -1
+    private int rowOf(String name) {
+        String stored = namesByKey().get(CaseFolding.fold(name));
+        return stored == null ? -1 : Arrays.binarySearch(names, 0, size, stored);
+    }
+
+    //Returns the case-folded name map, building it from the rows if the store was restored without it
+    private Map<String, String> namesByKey() {
+        if (namesByKey == null) {
+            Map<String, String> map = new HashMap<>(size * 4 / 3 + 1);
+            for (int row = 0; row < size; row++) {
+                map.put(CaseFolding.fold(names[row]), names[row]);
+            }
+            namesByKey = map;
+        }
+        return namesByKey;
+    }
+
+    //Looks up or assigns the dictionary id for a team name
+    private int teamId(String team) {
+        return teamIdsByName.computeIfAbsent(team, key -> {
+            teamNames.add(team);
+            return teamNames.size() - 1;
+        });
+    }
+
+    //Returns the int column backing a stat
+    private int[] column(Stat stat) {
+        return switch (stat) {
+            case GOALS -> goals;
+            case ASSISTS -> assists;
+            case POINTS -> points;
+            case PLUS_MINUS -> plusMinus;
+        };
+    }
+
+    //Grows every column so at least the given number of rows fit
+    private void ensureCapacity(int capacity) {
+        if (capacity <= names.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, names.length * 2);
+        names = Arrays.copyOf(names, newCapacity);
+        teamIds = Arrays.copyOf(teamIds, newCapacity);
+        goals = Arrays.copyOf(goals, newCapacity);
+        assists = Arrays.copyOf(assists, newCapacity);
+        plusMinus = Arrays.copyOf(plusMinus, newCapacity);
+        points = Arrays.copyOf(points, newCapacity);
+    }
+}
@@ -0,0 +1,137 @@
+package nhltracker;
+
+import nhltracker.db.DatabaseHandler;
+import java.util.*;
+import java.util.stream.Stream;
+/**
+ * The {@code PlayerImporter} class loads players from a legacy {@code players.txt} file
+ * into the SQLite database.
+ * <p>
+ * Records are read through a {@link FileHandler} and written to the {@link DatabaseHandler} in
+ * batches, with one transaction per batch instead of one per player. Progress and throughput
+ * (rows per second) are printed to the console while the import runs.
+ * </p>
+ */
+public class PlayerImporter {
+    /** Batch size used when none is given. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    /** Minimum time between progress messages, in nanoseconds. */
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final DatabaseHandler dbHandler;
+    private final int batchSize;
+
+    /**
+     * Constructs an importer that writes to the given database.
+     *
+     * @param dbHandler the {@link DatabaseHandler} that receives the players
+     * @param batchSize the number of players written per transaction; must be positive
+     * @throws IllegalArgumentException if {@code batchSize} is less than 1
+     */
+    public PlayerImporter(DatabaseHandler dbHandler, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.dbHandler = dbHandler;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every player record from the file behind the given {@link FileHandler}.
+     * <p>
+     * Records are streamed from the file, so only one batch is held in memory at a time.
+     * </p>
+     *
+     * @param fileHandler the handler for the player file to read
+     * @return a {@link Summary} of the import
+     */
+    //Imports players from a players.txt style file
+    public Summary importFile(FileHandler fileHandler) {
+        try (Stream<Player> players = fileHandler.streamPlayers()) {
+            return importPlayers(players.iterator());
+        }
+    }
+
+    /**
+     * Imports players from an iterator, writing them to the database in batches.
+     *
+     * @param players the players to import
+     * @return a {@link Summary} of the import
+     */
+    //Groups players into batches and writes each batch in one transaction
+    public Summary importPlayers(Iterator<Player> players) {
+        long start = System.nanoTime();
+        long lastReport = start;
+        long read = 0;
+        long inserted = 0;
+        long failed = 0;
+        List<Player> batch = new ArrayList<>(batchSize);
+
+        while (players.hasNext()) {
+            batch.add(players.next());
+            read++;
+            if (batch.size() == batchSize || !players.hasNext()) {
+                int count = dbHandler.insertPlayersBatch(batch);
+                if (count < 0) {
+                    failed += batch.size();
+                } else {
+                    inserted += count;
+                }
+                batch.clear();
+
+                long now = System.nanoTime();
+                if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                    System.out.printf("Imported %,d rows (%,.0f rows/sec)%n", read, rowsPerSecond(read, now - start));
+                    lastReport = now;
+                }
+            }
+        }
+        return new Summary(read, inserted, failed, System.nanoTime() - start);
+    }
+
+    //Converts a row count and elapsed time into a rate
+    private static double rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * The outcome of an import: how many records were read, inserted, skipped and failed.
+     */
+    public static class Summary {
+        private final long read;
+        private final long inserted;
+        private final long failed;
+        private final long elapsedNanos;
+
+        private Summary(long read, long inserted, long failed, long elapsedNanos) {
+            this.read = read;
+            this.inserted = inserted;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** @return the number of records read from the source */
+        public long getRead() { return read; }
+        /** @return the number of players inserted into the database */
+        public long getInserted() { return inserted; }
+        /** @return the number of records skipped because the player already existed */
+        public long getSkipped() { return read - inserted - failed; }
+        /** @return the number of records in batches that failed and were rolled back */
+        public long getFailed() { return failed; }
+        /** @return the elapsed time of the import in milliseconds */
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+        /** @return the overall throughput in rows per second */
+        public double getRowsPerSecond() { return rowsPerSecond(read, elapsedNanos); }
+
+        /**
+         * Returns a one-line description of the import for console display.
+         *
+         * @return the formatted summary
+         */
+        @Override
+        public String toString() {
+            return String.format("Read %,d, inserted %,d, skipped %,d duplicates, failed %,d in %,d ms (%,.0f rows/sec)",
+                    read, inserted, getSkipped(), failed, getElapsedMillis(), getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package nhltracker;
+
+import java.util.*;
+/**
+ * The {@code PlayerQuery} class describes a multi-criteria player query: minimum and maximum values
+ * for any {@link Stat}, a team, a name prefix, a sort order and a row limit.
+ * <p>
+ * Criteria are combined with AND. {@link StatManager#query(PlayerQuery)} answers the whole query in
+ * one step: the {@link nhltracker.db.DatabaseHandler} compiles it into a single parameterized
+ * {@code SELECT}, and the in-memory column store checks every criterion in one pass over its rows.
+ * </p>
+ * <p>
+ * Queries are immutable. Each builder method returns a new query, so a query can be kept, shared
+ * between threads and used as a cache key. For example:
+ * </p>
+ * <pre>
+ * new PlayerQuery().team("EDM").atLeast(Stat.POINTS, 50).sortBy(Stat.GOALS, true).limit(10)
+ * </pre>
+ */
+public final class PlayerQuery {
+    private static final int STATS = Stat.values().length;
+
+    private final int[] minimums;
+    private final int[] maximums;
+    private final String team;
+    private final String namePrefix;
+    private final Stat sortKey;
+    private final boolean descending;
+    private final int limit;
+
+    /**
+     * Constructs a query that matches every player, ordered by name, with no limit.
+     */
+    public PlayerQuery() {
+        minimums = new int[STATS];
+        maximums = new int[STATS];
+        Arrays.fill(minimums, Integer.MIN_VALUE);
+        Arrays.fill(maximums, Integer.MAX_VALUE);
+        team = null;
+        namePrefix = null;
+        sortKey = null;
+        descending = false;
+        limit = 0;
+    }
+
+    //Copy constructor used by the builder methods
+    private PlayerQuery(int[] minimums, int[] maximums, String team, String namePrefix,
+                        Stat sortKey, boolean descending, int limit) {
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.team = team;
+        this.namePrefix = namePrefix;
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns a query that also requires a stat to be at least {@code min}.
+     * Repeated minimums on the same stat keep the highest.
+     *
+     * @param stat the stat to compare
+     * @param min  the minimum value, inclusive
+     * @return the narrowed query
+     */
+    public PlayerQuery atLeast(Stat stat, int min) {
+        int[] mins = minimums.clone();
+        mins[stat.ordinal()] = Math.max(mins[stat.ordinal()], min);
+        return new PlayerQuery(mins, maximums, team, namePrefix, sortKey, descending, limit);
+    }
+
+    /**
+     * Returns a query that also requires a stat to be at most {@code max}.
+     * Repeated maximums on the same stat keep the lowest.
+     *
+     * @param stat the stat to compare
+     * @param max  the maximum value, inclusive
+     * @return the narrowed query
+     */
+    public PlayerQuery atMost(Stat stat, int max) {
+        int[] maxs = maximums.clone();
+        maxs[stat.ordinal()] = Math.min(maxs[stat.ordinal()], max);
+        return new PlayerQuery(minimums, maxs, team, namePrefix, sortKey, descending, limit);
+    }
+
+    /**
+     * Returns a query that only matches players on the given team (case-insensitive).
+     *
+     * @param team the team name, or {@code null} to match every team
+     * @return the changed query
+     */
+    public PlayerQuery team(String team) {
+        return new PlayerQuery(minimums, maximums, team, namePrefix, sortKey, descending, limit);
+    }
+
+    /**
+     * Returns a query that only matches players whose name starts with the given text (case-insensitive).
+     *
+     * @param prefix the start of the name, or {@code null} to match every name
+     * @return the changed query
+     */
+    public PlayerQuery namePrefix(String prefix) {
+        String value = prefix == null || prefix.isEmpty() ? null : prefix;
+        return new PlayerQuery(minimums, maximums, team, value, sortKey, descending, limit);
+    }
+
+    /**
+     * Returns a query sorted by a stat, with ties ordered by name.
+     *
+     * @param stat       the stat to sort by, or {@code null} to sort by name
+     * @param descending {@code true} for highest (or Z to A) first, {@code false} for lowest (or A to Z) first
+     * @return the changed query
+     */
+    public PlayerQuery sortBy(Stat stat, boolean descending) {
+        return new PlayerQuery(minimums, maximums, team, namePrefix, stat, descending, limit);
+    }
+
+    /**
+     * Returns a query that stops after the first {@code n} matches in sort order.
+     *
+     * @param n the maximum number of players, or {@code 0} or less for no limit
+     * @return the changed query
+     */
+    public PlayerQuery limit(int n) {
+        return new PlayerQuery(minimums, maximums, team, namePrefix, sortKey, descending, Math.max(0, n));
+    }
+
+    /**
+     * Returns the minimum required for a stat.
+     *
+     * @param stat the stat
+     * @return the inclusive minimum, or {@code null} if the stat has none
+     */
+    public Integer getMinimum(Stat stat) {
+        int min = minimums[stat.ordinal()];
+        return min == Integer.MIN_VALUE ? null : min;
+    }
+
+    /**
+     * Returns the maximum allowed for a stat.
+     *
+     * @param stat the stat
+     * @return the inclusive maximum, or {@code null} if the stat has none
+     */
+    public Integer getMaximum(Stat stat) {
+        int max = maximums[stat.ordinal()];
+        return max == Integer.MAX_VALUE ? null : max;
+    }
+
+    /** @return the team to match, or {@code null} for every team */
+    public String getTeam() { return team; }
+    /** @return the name prefix to match, or {@code null} for every name */
+    public String getNamePrefix() { return namePrefix; }
+    /** @return the stat to sort by, or {@code null} when sorting by name */
+    public Stat getSortKey() { return sortKey; }
+    /** @return {@code true} if the sort is highest (or Z to A) first */
+    public boolean isDescending() { return descending; }
+    /** @return the maximum number of players, or {@code 0} for no limit */
+    public int getLimit() { return limit; }
+
+    /**
+     * Checks whether a player meets every criterion of this query. Sorting and the limit are ignored.
+     *
+     * @param player the player to check, may be {@code null}
+     * @return {@code true} if the player is not {@code null} and passes every filter
+     */
+    public boolean matches(Player player) {
+        if (player == null) {
+            return false;
+        }
+        if (team != null && !CaseFolding.equals(player.getTeam(), team)) {
+            return false;
+        }
+        if (namePrefix != null && !CaseFolding.startsWith(player.getName(), namePrefix)) {
+            return false;
+        }
+        for (Stat stat : Stat.values()) {
+            int value = stat.valueOf(player);
+            if (value < minimums[stat.ordinal()] || value > maximums[stat.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes the filters of this query for display, for example
+     * {@code team = EDM and Points >= 50}.
+     *
+     * @return the filters joined by "and", or "all players" if there are none
+     */
+    //Describes the filters for the GUI and CLI
+    public String describeFilters() {
+        List<String> parts = new ArrayList<>();
+        if (team != null) {
+            parts.add("team = " + team);
+        }
+        if (namePrefix != null) {
+            parts.add("name starts with \"" + namePrefix + "\"");
+        }
+        for (Stat stat : Stat.values()) {
+            Integer min = getMinimum(stat);
+            Integer max = getMaximum(stat);
+            if (min != null && min.equals(max)) {
+                parts.add(stat.getLabel() + " = " + min);
+                continue;
+            }
+            if (min != null) {
+                parts.add(stat.getLabel() + " >= " + min);
+            }
+            if (max != null) {
+                parts.add(stat.getLabel() + " <= " + max);
+            }
+        }
+        return parts.isEmpty() ? "all players" : String.join(" and ", parts);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlayerQuery other)) return false;
+        return descending == other.descending && limit == other.limit
+                && Arrays.equals(minimums, other.minimums) && Arrays.equals(maximums, other.maximums)
+                && Objects.equals(team, other.team) && Objects.equals(namePrefix, other.namePrefix)
+                && sortKey == other.sortKey;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(team, namePrefix, sortKey, descending, limit);
+        result = 31 * result + Arrays.hashCode(minimums);
+        return 31 * result + Arrays.hashCode(maximums);
+    }
+
+    @Override
+    public String toString() {
+        String order = sortKey == null ? "name" : sortKey.getLabel();
+        return describeFilters() + ", sorted by " + order + (descending ? " descending" : " ascending")
+                + (limit > 0 ? ", limit " + limit : "");
+    }
+}
@@ -0,0 +1,236 @@
+package nhltracker;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+/**
+ * The {@code PlayerRecordReader} class parses player records straight from a byte stream
+ * in the {@code players.txt} format used by {@link FileHandler}:
+ * <pre>
+ * name, team, goals, assists, plusMinus
+ * </pre>
+ * <p>
+ * Unlike {@link FileHandler#loadPlayers()}, it does not build a {@code String} per line or
+ * split it into an array. Field boundaries are found in a reusable byte buffer, the integer
+ * columns are parsed in place, and only the name and team become strings. Only one buffer of
+ * input is held in memory at a time, so files of any size can be processed.
+ * </p>
+ * <p>
+ * Lines that do not have exactly five fields, or whose numeric fields are not valid integers,
+ * are skipped and counted.
+ * </p>
+ */
+class PlayerRecordReader implements Closeable {
+    /** Initial read buffer size; grows only if a single line is longer than this. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final Charset charset;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private ByteBuffer view = ByteBuffer.wrap(buffer);
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private long skippedLines;
+
+    /**
+     * Constructs a reader over the given input stream, decoding names and teams with the
+     * platform default charset (the charset {@link FileHandler#savePlayers(java.util.List)} writes).
+     *
+     * @param in the stream to read records from
+     */
+    PlayerRecordReader(InputStream in) {
+        this.in = in;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Reads the next valid player record.
+     *
+     * @return the next {@link Player}, or {@code null} at the end of the stream
+     * @throws IOException if the underlying stream cannot be read
+     */
+    Player next() throws IOException {
+        while (true) {
+            int newline = indexOfNewline(pos, limit);
+            int start = pos;
+            int end;
+            if (newline >= 0) {
+                end = newline;
+                pos = newline + 1;
+            } else if (eof) {
+                if (pos == limit) {
+                    return null;
+                }
+                end = limit;
+                pos = limit;
+            } else {
+                fill();
+                continue;
+            }
+            Player player = parseRecord(view, start, end, charset);
+            if (player != null) {
+                return player;
+            }
+            if (!isBlank(view, start, end)) {
+                skippedLines++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of non-blank lines that were skipped because they were malformed.
+     *
+     * @return the count of skipped lines so far
+     */
+    long getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    //Moves any partial line to the front of the buffer and reads more bytes after it
+    private void fill() throws IOException {
+        int remaining = limit - pos;
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            //A single line fills the whole buffer, so make room for the rest of it
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, remaining);
+            buffer = larger;
+            view = ByteBuffer.wrap(buffer);
+        }
+        pos = 0;
+        limit = remaining;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    //Finds the next line feed in the buffer
+    private int indexOfNewline(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses one record from the bytes between {@code start} (inclusive) and {@code end} (exclusive).
+     * <p>
+     * Fields are trimmed the same way as {@link String#trim()}. The buffer's position and limit are
+     * not used or changed, so the same buffer can be shared by several parsers.
+     * </p>
+     *
+     * @param buf     the buffer holding the record
+     * @param start   index of the first byte of the record
+     * @param end     index just past the last byte of the record, excluding the line feed
+     * @param charset the charset used to decode the name and team
+     * @return the parsed {@link Player}, or {@code null} if the record is malformed
+     */
+    static Player parseRecord(ByteBuffer buf, int start, int end, Charset charset) {
+        int c1 = indexOfComma(buf, start, end);
+        int c2 = c1 < 0 ? -1 : indexOfComma(buf, c1 + 1, end);
+        int c3 = c2 < 0 ? -1 : indexOfComma(buf, c2 + 1, end);
+        int c4 = c3 < 0 ? -1 : indexOfComma(buf, c3 + 1, end);
+        if (c4 < 0 || indexOfComma(buf, c4 + 1, end) >= 0) {
+            return null;
+        }
+        long goals = parseInt(buf, c2 + 1, c3);
+        long assists = parseInt(buf, c3 + 1, c4);
+        long plusMinus = parseInt(buf, c4 + 1, end);
+        if (goals == Long.MIN_VALUE || assists == Long.MIN_VALUE || plusMinus == Long.MIN_VALUE) {
+            return null;
+        }
+        String name = decode(buf, start, c1, charset);
+        String team = decode(buf, c1 + 1, c2, charset);
+        return new Player(name, team, (int) goals, (int) assists, (int) plusMinus);
+    }
+
+    //Finds the next comma in a byte range
+    private static int indexOfComma(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a signed decimal integer from a byte range, ignoring surrounding whitespace and
+     * otherwise accepting the same input as {@link Integer#parseInt(String)}.
+     *
+     * @return the value, or {@link Long#MIN_VALUE} if the range is not a valid {@code int}
+     */
+    private static long parseInt(ByteBuffer buf, int start, int end) {
+        while (start < end && isWhitespace(buf.get(start))) start++;
+        while (end > start && isWhitespace(buf.get(end - 1))) end--;
+        if (start >= end) {
+            return Long.MIN_VALUE;
+        }
+        boolean negative = false;
+        byte first = buf.get(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+            if (start == end) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return Long.MIN_VALUE;
+            }
+        }
+        value = negative ? -value : value;
+        return value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    //Decodes a trimmed byte range into a string, copying only when the buffer has no backing array
+    private static String decode(ByteBuffer buf, int start, int end, Charset charset) {
+        while (start < end && isWhitespace(buf.get(start))) start++;
+        while (end > start && isWhitespace(buf.get(end - 1))) end--;
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + start, end - start, charset);
+        }
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    //Checks whether a byte range holds only whitespace
+    static boolean isBlank(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(buf.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Matches the characters String.trim() removes
+    private static boolean isWhitespace(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+}
@@ -0,0 +1,160 @@
+package nhltracker;
+
+import java.util.*;
+/**
+ * The {@code PlayerStatIndex} class keeps one ordered in-memory index per {@link Stat}.
+ * <p>
+ * Each index maps a stat value to the players holding it, ordered by name, in a
+ * {@link TreeMap}. Adds, updates and removes touch only the entries of the changed player,
+ * in O(log n) per stat, so sorted views and {@code >= min} threshold queries become index
+ * traversals instead of full sorts or table scans. Results use the same order as the
+ * database queries: by stat value, with ties broken by name.
+ * </p>
+ * <p>
+ * The index is kept in sync by {@link StatManager} through the {@link PlayerChangeListener} callbacks.
+ * All methods are synchronized, so one index can be shared by the CLI, GUI and background threads.
+ * </p>
+ */
+class PlayerStatIndex implements PlayerChangeListener {
+    /** Stat value to (name to player), one map per stat. */
+    private final Map<Stat, NavigableMap<Integer, NavigableMap<String, Player>>> indexes = new EnumMap<>(Stat.class);
+    /** Case-folded player name to the indexed player, used to find the old entries on update or remove. */
+    private final Map<String, Player> playersByKey = new HashMap<>();
+
+    /**
+     * Constructs an index holding the given players.
+     *
+     * @param players the initial roster
+     */
+    PlayerStatIndex(List<Player> players) {
+        for (Stat stat : Stat.values()) {
+            indexes.put(stat, new TreeMap<>());
+        }
+        playersReloaded(players);
+    }
+
+    /**
+     * Returns the number of players in the index.
+     *
+     * @return the player count
+     */
+    synchronized int size() {
+        return playersByKey.size();
+    }
+
+    /**
+     * Returns every player sorted by a stat, with ties broken by name.
+     *
+     * @param stat       the stat to sort by
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return a new sorted list of players
+     */
+    synchronized List<Player> sortedBy(Stat stat, boolean descending) {
+        return collect(view(stat, descending), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the top {@code n} players by a stat, with ties broken by name.
+     * Only the first {@code n} index entries are visited.
+     *
+     * @param stat       the stat to rank by
+     * @param n          the maximum number of players to return
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return up to {@code n} players in rank order
+     */
+    synchronized List<Player> topN(Stat stat, int n, boolean descending) {
+        return collect(view(stat, descending), n);
+    }
+
+    /**
+     * Returns the players whose value for the given stat is at least {@code min}, ordered by name.
+     * Only the index entries at or above {@code min} are visited.
+     *
+     * @param stat the stat to compare
+     * @param min  the minimum value
+     * @return a new list of matching players
+     */
+    synchronized List<Player> filterAtLeast(Stat stat, int min) {
+        List<Player> result = collect(indexes.get(stat).tailMap(min, true), Integer.MAX_VALUE);
+        result.sort(Comparator.comparing(Player::getName));
+        return result;
+    }
+
+    @Override
+    public synchronized void playerAdded(Player player) {
+        Player previous = playersByKey.put(CaseFolding.fold(player.getName()), player);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(player);
+    }
+
+    @Override
+    public synchronized void playerUpdated(Player before, Player after) {
+        playerAdded(after);
+    }
+
+    @Override
+    public synchronized void playerRemoved(Player player) {
+        Player previous = playersByKey.remove(CaseFolding.fold(player.getName()));
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    @Override
+    public synchronized void playersReloaded(List<Player> players) {
+        playersByKey.clear();
+        for (NavigableMap<Integer, NavigableMap<String, Player>> index : indexes.values()) {
+            index.clear();
+        }
+        for (Player player : players) {
+            if (playersByKey.putIfAbsent(CaseFolding.fold(player.getName()), player) == null) {
+                index(player);
+            }
+        }
+    }
+
+    //Orders the value buckets for a sort; names inside a bucket always stay ascending
+    private NavigableMap<Integer, NavigableMap<String, Player>> view(Stat stat, boolean descending) {
+        NavigableMap<Integer, NavigableMap<String, Player>> index = indexes.get(stat);
+        return descending ? index.descendingMap() : index;
+    }
+
+    //Copies up to limit players out of the value buckets, in iteration order
+    private static List<Player> collect(NavigableMap<Integer, NavigableMap<String, Player>> buckets, int limit) {
+        List<Player> result = new ArrayList<>();
+        for (NavigableMap<String, Player> bucket : buckets.values()) {
+            for (Player player : bucket.values()) {
+                if (result.size() >= limit) {
+                    return result;
+                }
+                result.add(new Player(player.getName(), player.getTeam(), player.getGoals(), player.getAssists(), player.getPlusMinus()));
+            }
+        }
+        return result;
+    }
+
+    //Adds a player to the bucket for each of its stat values
+    private void index(Player player) {
+        for (Map.Entry<Stat, NavigableMap<Integer, NavigableMap<String, Player>>> entry : indexes.entrySet()) {
+            entry.getValue()
+                    .computeIfAbsent(entry.getKey().valueOf(player), value -> new TreeMap<>())
+                    .put(player.getName(), player);
+        }
+    }
+
+    //Removes a player from each of its stat buckets, dropping buckets that become empty
+    private void unindex(Player player) {
+        for (Map.Entry<Stat, NavigableMap<Integer, NavigableMap<String, Player>>> entry : indexes.entrySet()) {
+            int value = entry.getKey().valueOf(player);
+            NavigableMap<String, Player> bucket = entry.getValue().get(value);
+            if (bucket != null) {
+                bucket.remove(player.getName());
+                if (bucket.isEmpty()) {
+                    entry.getValue().remove(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package nhltracker;
+
+import java.util.*;
+import java.util.function.Supplier;
+/**
+ * The {@code QueryResultCache} class remembers the results of {@link StatManager} read queries
+ * between writes.
+ * <p>
+ * Entries are keyed by the query type and its parameters and are kept in least-recently-used order.
+ * The cache holds at most a fixed number of entries and a fixed total number of cached players;
+ * the least recently used entries are evicted first when either limit is exceeded.
+ * </p>
+ * <p>
+ * The cache is a {@link PlayerChangeListener}, and each change only invalidates the entries it can
+ * affect. A team filter is dropped only when a player joins or leaves that team. A minimum-stat
+ * filter is dropped only when the old or new value reaches the minimum. A leaderboard is dropped
+ * only when the player was on it or now ranks high enough to join it. A multi-criteria query is
+ * dropped only when the old or new player matches its filters. Full lists are dropped on every change.
+ * </p>
+ * <p>
+ * Players are copied on the way in and out, so callers may modify the lists and players they get.
+ * All methods are synchronized; queries themselves run outside the lock.
+ * </p>
+ */
+class QueryResultCache implements PlayerChangeListener {
+    private final int maxEntries;
+    private final long maxRows;
+    private final LinkedHashMap<Key, List<Player>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedRows;
+    /** Incremented on every change, so a result computed across a change is not stored. */
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxEntries the maximum number of cached query results
+     * @param maxRows    the maximum total number of players held across all results
+     */
+    QueryResultCache(int maxEntries, long maxRows) {
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Returns the cached result for a query, running and caching the query on a miss.
+     *
+     * @param key   the query type and parameters
+     * @param query runs the query when the result is not cached
+     * @return a new list holding copies of the result's players
+     */
+    List<Player> get(Key key, Supplier<List<Player>> query) {
+        long seen;
+        synchronized (this) {
+            List<Player> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return copyOf(cached);
+            }
+            misses++;
+            seen = version;
+        }
+        List<Player> result = query.get();
+        List<Player> stored = copyOf(result);
+        synchronized (this) {
+            //A write landed while the query ran, so the result may already be stale
+            if (seen == version && stored.size() <= maxRows) {
+                List<Player> previous = entries.put(key, stored);
+                if (previous != null) {
+                    cachedRows -= previous.size();
+                }
+                cachedRows += stored.size();
+                evict();
+            }
+        }
+        return result;
+    }
+
+    /** @return the number of queries answered from the cache */
+    synchronized long getHits() { return hits; }
+    /** @return the number of queries that had to run */
+    synchronized long getMisses() { return misses; }
+    /** @return the number of entries dropped to stay within the size limits */
+    synchronized long getEvictions() { return evictions; }
+    /** @return the number of entries dropped because a write could have changed them */
+    synchronized long getInvalidations() { return invalidations; }
+    /** @return the number of cached query results */
+    synchronized int size() { return entries.size(); }
+
+    @Override
+    public synchronized void playerAdded(Player player) {
+        invalidate(null, player);
+    }
+
+    @Override
+    public synchronized void playerUpdated(Player before, Player after) {
+        invalidate(before, after);
+    }
+
+    @Override
+    public synchronized void playerRemoved(Player player) {
+        invalidate(player, null);
+    }
+
+    @Override
+    public synchronized void playersReloaded(List<Player> players) {
+        clear();
+    }
+
+    /**
+     * Drops every cached result, for example after writes that bypassed the {@link StatManager}.
+     */
+    synchronized void clear() {
+        version++;
+        invalidations += entries.size();
+        entries.clear();
+        cachedRows = 0;
+    }
+
+    //Drops every entry whose result the change from before to after could alter
+    private void invalidate(Player before, Player after) {
+        version++;
+        Iterator<Map.Entry<Key, List<Player>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, List<Player>> entry = it.next();
+            if (entry.getKey().isAffectedBy(before, after, entry.getValue())) {
+                cachedRows -= entry.getValue().size();
+                invalidations++;
+                it.remove();
+            }
+        }
+    }
+
+    //Evicts least recently used entries until both limits hold
+    private void evict() {
+        Iterator<List<Player>> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || cachedRows > maxRows) && it.hasNext()) {
+            cachedRows -= it.next().size();
+            evictions++;
+            it.remove();
+        }
+    }
+
+    //Copies a result so the cache never shares mutable players with callers
+    private static List<Player> copyOf(List<Player> players) {
+        List<Player> copy = new ArrayList<>(players.size());
+        for (Player p : players) {
+            copy.add(new Player(p.getName(), p.getTeam(), p.getGoals(), p.getAssists(), p.getPlusMinus()));
+        }
+        return copy;
+    }
+
+    /** The kinds of query the cache can hold. */
+    enum Kind { ALL, TEAM, AT_LEAST, SORTED, TOP, QUERY }
+
+    /**
+     * Identifies a cached query by its kind and parameters.
+     *
+     * @param kind       the query kind
+     * @param stat       the stat filtered, sorted or ranked by, or {@code null}
+     * @param value      the minimum for {@link Kind#AT_LEAST}, the count for {@link Kind#TOP}, otherwise 0
+     * @param descending the sort direction for {@link Kind#SORTED} and {@link Kind#TOP}
+     * @param team       the case-folded team for {@link Kind#TEAM}, otherwise {@code null}
+     * @param query      the query for {@link Kind#QUERY}, otherwise {@code null}
+     */
+    record Key(Kind kind, Stat stat, int value, boolean descending, String team, PlayerQuery query) {
+        /** @return the key for the full roster */
+        static Key all() {
+            return new Key(Kind.ALL, null, 0, false, null, null);
+        }
+
+        /** @return the key for a team filter, which ignores case */
+        static Key team(String team) {
+            return new Key(Kind.TEAM, null, 0, false, CaseFolding.fold(team), null);
+        }
+
+        /** @return the key for a minimum-stat filter */
+        static Key atLeast(Stat stat, int min) {
+            return new Key(Kind.AT_LEAST, stat, min, false, null, null);
+        }
+
+        /** @return the key for a full sort */
+        static Key sorted(Stat stat, boolean descending) {
+            return new Key(Kind.SORTED, stat, 0, descending, null, null);
+        }
+
+        /** @return the key for a top-N leaderboard */
+        static Key top(Stat stat, int n, boolean descending) {
+            return new Key(Kind.TOP, stat, n, descending, null, null);
+        }
+
+        /** @return the key for a multi-criteria query */
+        static Key query(PlayerQuery query) {
+            return new Key(Kind.QUERY, null, 0, false, null, query);
+        }
+
+        /**
+         * Decides whether a change can alter this query's cached result.
+         *
+         * @param before the player before the change, or {@code null} for an add
+         * @param after  the player after the change, or {@code null} for a remove
+         * @param cached the cached result
+         * @return {@code true} if the entry must be dropped
+         */
+        boolean isAffectedBy(Player before, Player after, List<Player> cached) {
+            return switch (kind) {
+                case ALL, SORTED -> true;
+                case TEAM -> onTeam(before) || onTeam(after);
+                case AT_LEAST -> reaches(before) || reaches(after);
+                case TOP -> contains(cached, before) || qualifies(after, cached);
+                //A player outside the filters before and after cannot change the result, even with a limit
+                case QUERY -> query.matches(before) || query.matches(after);
+            };
+        }
+
+        //Checks whether a player is on this key's team
+        private boolean onTeam(Player p) {
+            return p != null && CaseFolding.equals(p.getTeam(), team);
+        }
+
+        //Checks whether a player passes this key's minimum
+        private boolean reaches(Player p) {
+            return p != null && stat.valueOf(p) >= value;
+        }
+
+        //Checks whether a player now ranks high enough to appear on the cached leaderboard
+        private boolean qualifies(Player p, List<Player> cached) {
+            if (p == null) {
+                return false;
+            }
+            if (cached.size() < value) {
+                return true;
+            }
+            Player last = cached.get(cached.size() - 1);
+            int cmp = Integer.compare(stat.valueOf(p), stat.valueOf(last));
+            if (descending) {
+                cmp = -cmp;
+            }
+            return cmp < 0 || (cmp == 0 && p.getName().compareTo(last.getName()) <= 0);
+        }
+
+        //Checks whether a player appears in a cached result
+        private static boolean contains(List<Player> cached, Player p) {
+            if (p == null) {
+                return false;
+            }
+            for (Player c : cached) {
+                if (CaseFolding.equals(c.getName(), p.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package nhltracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+/**
+ * The {@code RosterSnapshot} class saves the roster to a compact binary file and loads it back
+ * without going through SQLite, so the application can start answering reads immediately.
+ * <p>
+ * The file is kept next to the database (see {@link #pathFor(String)}) and is little-endian:
+ * </p>
+ * <pre>
+ * header     magic "NHLS", format version, row count, team count, string bytes, CRC32 of the body
+ * columns    int[rows] team ids, int[rows] goals, int[rows] assists, int[rows] plus/minus
+ * offsets    int[rows + teams + 1] start of each string in the string data, plus its end
+ * strings    UTF-8 player names (one per row, in name order) followed by the team names
+ * </pre>
+ * <p>
+ * Loading maps the file with {@link FileChannel#map}, checks the header and checksum, and bulk-copies
+ * the fixed-width columns straight into a {@link PlayerColumnStore}, so no {@link Player} is built and
+ * no text is parsed. A missing, truncated, corrupt or older-format file is reported and ignored.
+ * Files are written to a temporary file first and moved into place, so a crash never leaves a
+ * half-written snapshot behind.
+ * </p>
+ */
+public class RosterSnapshot {
+    /** Suffix added to the database path to name its snapshot file. */
+    public static final String FILE_SUFFIX = ".snapshot";
+
+    //"NHLS" read as a little-endian int
+    private static final int MAGIC = 0x534C484E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int INT_COLUMNS = 4;
+
+    private RosterSnapshot() {
+    }
+
+    /**
+     * Returns the snapshot file kept next to a database file.
+     *
+     * @param dbPath the path of the SQLite database
+     * @return the path of its snapshot
+     */
+    public static Path pathFor(String dbPath) {
+        return Paths.get(dbPath + FILE_SUFFIX);
+    }
+
+    /**
+     * Loads a snapshot into a new column store.
+     *
+     * @param file the snapshot file
+     * @return the loaded store, or {@code null} if the file is missing or cannot be used
+     */
+    //Maps a snapshot file and restores the column store from it
+    static PlayerColumnStore load(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                System.out.println("Ignoring snapshot " + file + ": unexpected file size " + length);
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                System.out.println("Ignoring snapshot " + file + ": not a roster snapshot");
+                return null;
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                System.out.println("Ignoring snapshot " + file + ": unsupported format version " + buffer.getInt(4));
+                return null;
+            }
+            int rows = buffer.getInt(8);
+            int teams = buffer.getInt(12);
+            int stringBytes = buffer.getInt(16);
+            long expected = HEADER_SIZE + 4L * INT_COLUMNS * rows + 4L * (rows + teams + 1) + stringBytes;
+            if (rows < 0 || teams < 0 || stringBytes < 0 || expected != length) {
+                System.out.println("Ignoring snapshot " + file + ": file is truncated");
+                return null;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.slice(HEADER_SIZE, (int) length - HEADER_SIZE));
+            if ((int) checksum.getValue() != buffer.getInt(20)) {
+                System.out.println("Ignoring snapshot " + file + ": checksum mismatch");
+                return null;
+            }
+
+            IntBuffer ints = buffer.slice(HEADER_SIZE, (int) length - HEADER_SIZE - stringBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            int[] teamIds = new int[rows];
+            int[] goals = new int[rows];
+            int[] assists = new int[rows];
+            int[] plusMinus = new int[rows];
+            int[] offsets = new int[rows + teams + 1];
+            ints.get(teamIds).get(goals).get(assists).get(plusMinus).get(offsets);
+            byte[] strings = new byte[stringBytes];
+            buffer.get((int) length - stringBytes, strings);
+
+            String[] names = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                names[i] = decode(strings, offsets, i);
+            }
+            List<String> teamNames = new ArrayList<>(teams);
+            for (int i = 0; i < teams; i++) {
+                teamNames.add(decode(strings, offsets, rows + i));
+            }
+            return new PlayerColumnStore(new PlayerColumnStore.Columns(names, teamNames, teamIds, goals, assists, plusMinus));
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Error reading snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the contents of a column store to a snapshot file, replacing any earlier snapshot.
+     *
+     * @param file  the snapshot file
+     * @param store the store to save
+     * @return {@code true} if the snapshot was written
+     */
+    //Saves the column store as a snapshot file
+    static boolean save(Path file, PlayerColumnStore store) {
+        PlayerColumnStore.Columns columns = store.columns();
+        int rows = columns.names().length;
+        int teams = columns.teamNames().size();
+        byte[][] strings = new byte[rows + teams][];
+        int stringBytes = 0;
+        for (int i = 0; i < strings.length; i++) {
+            String value = i < rows ? columns.names()[i] : columns.teamNames().get(i - rows);
+            strings[i] = value.getBytes(StandardCharsets.UTF_8);
+            stringBytes += strings[i].length;
+        }
+
+        int bodySize = 4 * INT_COLUMNS * rows + 4 * (strings.length + 1) + stringBytes;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bodySize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(rows).putInt(teams).putInt(stringBytes).putInt(0);
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(columns.teamIds()).put(columns.goals()).put(columns.assists()).put(columns.plusMinus());
+        int offset = 0;
+        for (byte[] value : strings) {
+            ints.put(offset);
+            offset += value.length;
+        }
+        ints.put(offset);
+        buffer.position(buffer.position() + 4 * ints.position());
+        for (byte[] value : strings) {
+            buffer.put(value);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(HEADER_SIZE, bodySize));
+        buffer.putInt(20, (int) checksum.getValue());
+        buffer.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    //Decodes string i of the string table
+    private static String decode(byte[] strings, int[] offsets, int i) {
+        return new String(strings, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,44 @@
+package nhltracker;
+/**
+ * The statistics a {@link Player} can be filtered, sorted and aggregated by.
+ */
+public enum Stat {
+    /** Goals scored. */
+    GOALS("Goals"),
+    /** Assists recorded. */
+    ASSISTS("Assists"),
+    /** Total points (goals + assists). */
+    POINTS("Points"),
+    /** Plus/minus rating. */
+    PLUS_MINUS("+/-");
+
+    private final String label;
+
+    Stat(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns this stat's value for the given player.
+     *
+     * @param player the player to read from
+     * @return the player's value for this stat
+     */
+    public int valueOf(Player player) {
+        return switch (this) {
+            case GOALS -> player.getGoals();
+            case ASSISTS -> player.getAssists();
+            case POINTS -> player.getPoints();
+            case PLUS_MINUS -> player.getPlusMinus();
+        };
+    }
+
+    /**
+     * Returns the display label used for this stat in the CLI and GUI.
+     *
+     * @return the stat's label
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -1,17 +1,68 @@
 package nhltracker;
 
 import nhltracker.db.DatabaseHandler;
+import nhltracker.db.Durability;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 /**
  * The {@code StatManager} class acts as the business logic layer for the NHL Stat Tracker system.
  * <p>
  * It manages player statistics, interacting directly with the {@link DatabaseHandler} to perform CRUD operations.
  * This class is used by both the CLI and GUI components.
  * </p>
+ * <p>
+ * Optionally, an in-memory {@link PlayerColumnStore} can be enabled with {@link #enableColumnStore()}.
+ * Reads are then answered from memory and every successful write is applied to the store as well.
+ * </p>
+ * <p>
+ * Sorted views, leaderboards and minimum-stat filters can also be served from ordered per-stat
+ * indexes, enabled with {@link #enableStatIndexes()}, which are updated in O(log n) on every write.
+ * </p>
+ * <p>
+ * Repeated filters, sorts, leaderboards and full-list reads can be answered from a bounded LRU
+ * {@link QueryResultCache}, enabled with {@link #enableQueryCache(int, long)}. Each write invalidates
+ * only the cached results it can affect.
+ * </p>
+ * <p>
+ * Name lookups and as-you-type suggestions can be answered from an in-memory prefix, substring
+ * and typo-tolerant {@link NameSearchIndex}, enabled with {@link #enableNameSearch()}.
+ * </p>
+ * <p>
+ * With {@link #enableSnapshot(Path)}, the column store is loaded from a binary {@link RosterSnapshot}
+ * instead of the database at startup, and the snapshot is rewritten by {@link #saveSnapshot()} after changes.
+ * </p>
+ * <p>
+ * With {@link #enableWriteBehind(int, long, Durability)}, adds, updates and removes are applied in memory
+ * and committed by a background {@link WriteBehindQueue} in grouped transactions. {@link #close()} commits
+ * whatever is still queued.
+ * </p>
  */
 public class StatManager {
+    /** Query results cached by {@link #enableQueryCache()}. */
+    public static final int DEFAULT_CACHE_ENTRIES = 64;
+    /** Players cached across all results by {@link #enableQueryCache()}. */
+    public static final long DEFAULT_CACHE_ROWS = 100_000;
+    /** Players committed per transaction by {@link #enableWriteBehind()}. */
+    public static final int DEFAULT_WRITE_BATCH = 500;
+    /** Longest a write waits before it is committed, with {@link #enableWriteBehind()}. */
+    public static final long DEFAULT_WRITE_DELAY_MILLIS = 200;
+
     private final DatabaseHandler dbHandler;
+    /** In-memory views notified after each successful write. */
+    private final List<PlayerChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile PlayerColumnStore columnStore;
+    private volatile PlayerStatIndex statIndex;
+    private volatile QueryResultCache queryCache;
+    private volatile NameSearchIndex nameIndex;
+    private volatile Path snapshotFile;
+    private volatile WriteBehindQueue writeQueue;
+    //Set by any change to the roster since the snapshot was last written
+    private volatile boolean snapshotDirty;
+    //Held while the views are rebuilt, and by direct database writes while they notify the views
+    private final Object viewLock = new Object();
 
     /**
      * Constructor connects to the SQLite handler.
@@ -23,19 +74,407 @@ public class StatManager {
         this.dbHandler = dbHandler;
     }
 
+    /**
+     * Loads the roster into an in-memory columnar store and answers reads from it from now on.
+     * <p>
+     * The store is kept in sync with every add, update and remove made through this manager.
+     * Writes made directly through the {@link DatabaseHandler}, such as bulk imports, require a
+     * call to {@link #reload()}. Calling this method again has no effect.
+     * </p>
+     */
+    //Turns on the in-memory column store
+    public synchronized void enableColumnStore() {
+        if (columnStore == null) {
+            PlayerColumnStore store = new PlayerColumnStore(dbHandler.getAllPlayers());
+            listeners.add(store);
+            columnStore = store;
+        }
+    }
+
+    /**
+     * Builds ordered in-memory indexes for every {@link Stat} and answers sorted views,
+     * leaderboards and minimum-stat filters from them from now on.
+     * <p>
+     * The indexes are kept in sync with every add, update and remove made through this manager.
+     * Writes made directly through the {@link DatabaseHandler}, such as bulk imports, require a
+     * call to {@link #reload()}. Calling this method again has no effect.
+     * </p>
+     */
+    //Turns on the sorted stat indexes
+    public synchronized void enableStatIndexes() {
+        if (statIndex == null) {
+            PlayerStatIndex index = new PlayerStatIndex(roster());
+            listeners.add(index);
+            statIndex = index;
+        }
+    }
+
+    /**
+     * Indexes every player name in memory for ranked prefix, substring and typo-tolerant search.
+     * <p>
+     * {@link #suggestNames(String, int)} and {@link #searchPlayers(String, int)} are then answered
+     * from the index, and {@link #searchByName(String)} skips the database for names that do not
+     * exist. The index is kept in sync with every add and remove made through this manager.
+     * Writes made directly through the {@link DatabaseHandler}, such as bulk imports, require a
+     * call to {@link #reload()}. Calling this method again has no effect.
+     * </p>
+     */
+    //Turns on the name search index
+    public synchronized void enableNameSearch() {
+        if (nameIndex == null) {
+            NameSearchIndex index = new NameSearchIndex(roster());
+            listeners.add(index);
+            nameIndex = index;
+        }
+    }
+
+    /**
+     * Loads the column store from a binary roster snapshot and keeps the snapshot up to date.
+     * <p>
+     * If the snapshot can be read, the roster is restored from it without querying the database,
+     * and views enabled afterwards are built from it too. Otherwise the roster is read from the database
+     * and a new snapshot is written. The snapshot may be older than the database if another program
+     * changed it, so callers should run {@link #verifySnapshot()} once in the background.
+     * Changes made through this manager mark the snapshot for rewriting by {@link #saveSnapshot()}.
+     * Calling this method again has no effect.
+     * </p>
+     *
+     * @param file the snapshot file, usually {@link RosterSnapshot#pathFor(String)} of the database
+     * @return {@code true} if the roster was loaded from the snapshot
+     */
+    //Turns on the column store, loading it from the snapshot file when possible
+    public synchronized boolean enableSnapshot(Path file) {
+        if (snapshotFile != null) {
+            return false;
+        }
+        boolean loaded = false;
+        if (columnStore == null) {
+            PlayerColumnStore store = RosterSnapshot.load(file);
+            if (store != null) {
+                listeners.add(store);
+                columnStore = store;
+                loaded = true;
+            } else {
+                enableColumnStore();
+            }
+        }
+        listeners.add(new SnapshotTracker());
+        snapshotFile = file;
+        if (!loaded) {
+            snapshotDirty = true;
+            saveSnapshot();
+        }
+        return loaded;
+    }
+
+    /**
+     * Checks the roster loaded from the snapshot against the database and reloads it if they differ.
+     * <p>
+     * Reads the whole roster from the database, so it is meant to run in the background after startup,
+     * once every view has been enabled. If a reload was needed, it is done with {@link #reload()}, so
+     * writes made meanwhile are kept, and the snapshot is rewritten.
+     * </p>
+     *
+     * @return {@code true} if the in-memory roster already matched the database
+     */
+    //Catches up a stale snapshot with the database
+    public boolean verifySnapshot() {
+        PlayerColumnStore store = columnStore;
+        if (store == null) {
+            return true;
+        }
+        flushWrites();
+        List<Player> stored = dbHandler.getAllPlayers();
+        List<Player> loaded = store.getAll();
+        boolean same = stored.size() == loaded.size();
+        for (int i = 0; same && i < stored.size(); i++) {
+            Player a = stored.get(i);
+            Player b = loaded.get(i);
+            same = a.getName().equals(b.getName()) && a.getTeam().equals(b.getTeam()) && a.getGoals() == b.getGoals()
+                    && a.getAssists() == b.getAssists() && a.getPlusMinus() == b.getPlusMinus();
+        }
+        if (!same) {
+            reload();
+            saveSnapshot();
+        }
+        return same;
+    }
+
+    /**
+     * Rewrites the snapshot file if the roster has changed since it was last written.
+     *
+     * @return {@code true} if the snapshot is up to date, {@code false} if writing it failed
+     */
+    //Writes the roster snapshot after changes
+    public synchronized boolean saveSnapshot() {
+        Path file = snapshotFile;
+        PlayerColumnStore store = columnStore;
+        if (file == null || store == null || !snapshotDirty) {
+            return true;
+        }
+        //Cleared first, so a change made while writing marks the snapshot dirty again
+        snapshotDirty = false;
+        if (!RosterSnapshot.save(file, store)) {
+            snapshotDirty = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queues writes with the default group size and delay, syncing every group commit to disk.
+     *
+     * @see #enableWriteBehind(int, long, Durability)
+     */
+    //Turns on write-behind with default settings
+    public void enableWriteBehind() {
+        enableWriteBehind(DEFAULT_WRITE_BATCH, DEFAULT_WRITE_DELAY_MILLIS, Durability.FULL);
+    }
+
+    /**
+     * Applies adds, updates and removes in memory at once and commits them to the database in the background.
+     * <p>
+     * The column store is enabled and answers the duplicate and existence checks the database would
+     * otherwise make, so each write returns the same result as before without waiting for the disk.
+     * A single writer thread commits queued writes in one transaction per group, when {@code maxBatch}
+     * players are pending or the oldest write has waited {@code maxDelayMillis}. Repeated writes to the
+     * same player are merged into one. Reads that go to the database, such as team standings, game logs
+     * and pages, first wait for queued writes to be committed. If a group fails, it is rolled back and
+     * the in-memory views are reloaded from the database. Calling this method again has no effect.
+     * </p>
+     *
+     * @param maxBatch       the most players pending at once and written per transaction
+     * @param maxDelayMillis the longest a write is held before its group is committed
+     * @param durability     whether each group commit is synced to disk, see {@link Durability}
+     * @throws IllegalArgumentException if {@code maxBatch} is not positive or {@code maxDelayMillis} is negative
+     */
+    //Turns on the write-behind queue
+    public synchronized void enableWriteBehind(int maxBatch, long maxDelayMillis, Durability durability) {
+        if (writeQueue == null) {
+            enableColumnStore();
+            dbHandler.setDurability(durability);
+            writeQueue = new WriteBehindQueue(dbHandler, maxBatch, maxDelayMillis, this::reloadViews);
+        }
+    }
+
+    /**
+     * Waits until every write queued so far has been committed. Returns at once without write-behind.
+     *
+     * @return {@code false} if a group failed to commit since the last flush, so some writes were lost
+     */
+    //Commits queued writes now
+    public boolean flushWrites() {
+        WriteBehindQueue queue = writeQueue;
+        return queue == null || queue.flush();
+    }
+
+    /**
+     * Returns a one-line summary of the write-behind queue for display.
+     *
+     * @return the queue's counts, or a note that write-behind is disabled
+     */
+    //Describes the write-behind queue
+    public String describeWriteBehind() {
+        WriteBehindQueue queue = writeQueue;
+        return queue == null ? "Write-behind: disabled" : queue.describe();
+    }
+
+    /**
+     * Commits any queued writes, stops the writer thread and closes the database connection.
+     *
+     * @return {@code false} if a group failed to commit since the last flush, so some writes were lost;
+     *         always {@code true} without write-behind
+     */
+    //Flushes pending writes and closes the database
+    public boolean close() {
+        WriteBehindQueue queue = writeQueue;
+        boolean flushed = queue == null || queue.close();
+        dbHandler.close();
+        return flushed;
+    }
+
+    /**
+     * Caches query results with the default size limits.
+     *
+     * @see #enableQueryCache(int, long)
+     */
+    //Turns on the query result cache with default limits
+    public void enableQueryCache() {
+        enableQueryCache(DEFAULT_CACHE_ENTRIES, DEFAULT_CACHE_ROWS);
+    }
+
+    /**
+     * Caches the results of {@link #getAllPlayers()}, the {@code filterBy*} methods,
+     * {@link #getPlayersSortedBy(Stat, boolean)}, {@link #topN(Stat, int, boolean)} and
+     * {@link #query(PlayerQuery)}.
+     * <p>
+     * Results are evicted least recently used first once more than {@code maxEntries} results or
+     * {@code maxRows} players in total are cached. Writes made through this manager invalidate only the
+     * affected results; writes made directly through the {@link DatabaseHandler} require a call to
+     * {@link #reload()}. Calling this method again has no effect.
+     * </p>
+     *
+     * @param maxEntries the maximum number of cached results
+     * @param maxRows    the maximum number of players held across all cached results
+     */
+    //Turns on the query result cache
+    public synchronized void enableQueryCache(int maxEntries, long maxRows) {
+        if (queryCache == null) {
+            QueryResultCache cache = new QueryResultCache(maxEntries, maxRows);
+            listeners.add(cache);
+            queryCache = cache;
+        }
+    }
+
+    /**
+     * Returns how many queries were answered from the query result cache.
+     *
+     * @return the number of cache hits, or {@code 0} if the cache is not enabled
+     */
+    public long getQueryCacheHits() {
+        QueryResultCache cache = queryCache;
+        return cache == null ? 0 : cache.getHits();
+    }
+
+    /**
+     * Returns how many queries missed the query result cache and ran against the data.
+     *
+     * @return the number of cache misses, or {@code 0} if the cache is not enabled
+     */
+    public long getQueryCacheMisses() {
+        QueryResultCache cache = queryCache;
+        return cache == null ? 0 : cache.getMisses();
+    }
+
+    /**
+     * Returns a one-line summary of the query result cache for console display.
+     *
+     * @return the hit, miss, eviction and invalidation counts, or a note that the cache is off
+     */
+    //Describes the query cache for the CLI
+    public String describeQueryCache() {
+        QueryResultCache cache = queryCache;
+        if (cache == null) {
+            return "Query cache: disabled";
+        }
+        return String.format("Query cache: %d entries, %,d hits, %,d misses, %,d evictions, %,d invalidations",
+                cache.size(), cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.getInvalidations());
+    }
+
+    /**
+     * Re-reads the roster from the database into every in-memory view and empties the query cache.
+     * The roster is only read if a view other than the query cache is enabled.
+     * <p>
+     * Safe to call while other threads write: with write-behind, queued writes are committed and the
+     * views are rebuilt while holding the queue's monitor, so no write can be queued between the commit
+     * and the read; without it, the rebuild excludes direct writes from notifying the views.
+     * </p>
+     */
+    //Refreshes in-memory views after writes that bypassed the StatManager
+    public void reload() {
+        whileNoWritesQueued(() -> {
+            reloadViews();
+            return null;
+        });
+    }
+
+    /**
+     * Runs work that reads or writes the database directly and then updates the views, so that no
+     * other write reaches the views or the database until it is done.
+     * <p>
+     * With write-behind, new writes are held back, queued writes are committed, and the work runs
+     * while holding the queue's monitor once the queue is idle. No write can be queued between the
+     * commit and the work, and the writer never commits values read before it. Without write-behind,
+     * it runs under the lock that direct writes hold while they notify the views.
+     * </p>
+     *
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return the work's result
+     */
+    //Runs database work with every write committed and no new write queued
+    private <T> T whileNoWritesQueued(Supplier<T> work) {
+        WriteBehindQueue queue = writeQueue;
+        if (queue == null) {
+            synchronized (viewLock) {
+                return work.get();
+            }
+        }
+        queue.hold();
+        try {
+            //The flush runs without the monitor, which the writer needs if a group fails
+            while (true) {
+                queue.flush();
+                synchronized (queue) {
+                    if (queue.isIdle()) {
+                        synchronized (viewLock) {
+                            return work.get();
+                        }
+                    }
+                }
+            }
+        } finally {
+            queue.release();
+        }
+    }
+
+    //Re-reads the roster into every view without waiting for queued writes
+    private void reloadViews() {
+        synchronized (viewLock) {
+            QueryResultCache cache = queryCache;
+            List<Player> players = null;
+            for (PlayerChangeListener listener : listeners) {
+                if (listener == cache) {
+                    //The cache only needs emptying, not the roster
+                    cache.clear();
+                    continue;
+                }
+                if (players == null) {
+                    players = dbHandler.getAllPlayers();
+                }
+                listener.playersReloaded(players);
+            }
+        }
+    }
+
     /**
      * Adds a player only if they don't already exist in the database.
+     * <p>
+     * The duplicate check is done by the database in the same statement as the insert, or against
+     * the column store when write-behind is enabled.
+     * </p>
      *
      * @param player the {@link Player} object to add
      * @return {@code true} if the player was added successfully; {@code false} if a duplicate exists
      */
     //Adds a player only if they don't already exist
     public boolean addPlayer(Player player) {
-        Player existing = dbHandler.findPlayerByName(player.getName());
-        if (existing != null) {
-            return false;
+        WriteBehindQueue queue = writeQueue;
+        if (queue != null) {
+            queue.awaitRoom();
+            synchronized (queue) {
+                //The column store stands in for the database's duplicate check
+                if (lookup(player.getName()) != null) {
+                    return false;
+                }
+                Player copy = storedCopy(player);
+                queue.insert(copy);
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerAdded(copy);
+                }
+                return true;
+            }
+        }
+        synchronized (viewLock) {
+            boolean added = dbHandler.insertPlayerIfAbsent(player);
+            if (added) {
+                Player copy = storedCopy(player);
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerAdded(copy);
+                }
+            }
+            return added;
         }
-        return dbHandler.addPlayer(player);
     }
 
     /**
@@ -45,7 +484,37 @@ public class StatManager {
      */
     //Returns all players from the database
     public List<Player> getAllPlayers() {
-        return dbHandler.getAllPlayers();
+        return cached(QueryResultCache.Key.all(), () -> {
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.getAll() : dbHandler.getAllPlayers();
+        });
+    }
+
+    /**
+     * Streams every player, ordered by name, to the given consumer.
+     * <p>
+     * Rows are read from the database one at a time, so listing or exporting a roster of any size
+     * runs in constant memory and the first player arrives before the query has finished.
+     * When the column store is enabled, its rows are walked in name order instead, and each player
+     * is built only when it is handed to the consumer. The store is not locked while the consumer
+     * runs, so writes made meanwhile are not held up; a player added ahead of the walk is included.
+     * </p>
+     *
+     * @param consumer receives each player in name order
+     * @return the number of players passed to the consumer, or {@code -1} if the query failed
+     */
+    //Streams all players without building a list
+    public long forEachPlayer(Consumer<? super Player> consumer) {
+        PlayerColumnStore store = columnStore;
+        if (store == null) {
+            return dbHandler.forEachPlayer(consumer);
+        }
+        long count = 0;
+        for (Player player = store.next(null); player != null; player = store.next(player.getName())) {
+            consumer.accept(player);
+            count++;
+        }
+        return count;
     }
 
     /**
@@ -57,8 +526,9 @@ public class StatManager {
      */
     //Updates a player by name (for CLI use)
     public boolean updatePlayer(String name, Scanner scanner) {
-        Player existing = dbHandler.findPlayerByName(name);
+        Player existing = lookup(name);
         if (existing == null) return false;
+        Player before = copyOf(existing);
 
         System.out.print("Enter new team: ");
         existing.setTeam(scanner.nextLine());
@@ -69,7 +539,7 @@ public class StatManager {
         System.out.print("Enter new plus/minus: ");
         existing.setPlusMinus(Integer.parseInt(scanner.nextLine()));
 
-        return dbHandler.updatePlayer(existing);
+        return applyUpdate(before, existing);
     }
 
     /**
@@ -84,15 +554,53 @@ public class StatManager {
      */
     //Updates player from GUI
     public boolean updatePlayerGUI(String name, String newTeam, int newGoals, int newAssists, int newPlusMinus) {
-        Player existing = dbHandler.findPlayerByName(name);
+        Player existing = lookup(name);
         if (existing == null) return false;
+        Player before = copyOf(existing);
 
         existing.setTeam(newTeam);
         existing.setGoals(newGoals);
         existing.setAssists(newAssists);
         existing.setPlusMinus(newPlusMinus);
 
-        return dbHandler.updatePlayer(existing);
+        return applyUpdate(before, existing);
+    }
+
+    /**
+     * Writes an updated player to the database and, if that succeeds, notifies the in-memory views.
+     *
+     * @param before the player as it was before the update
+     * @param after  the updated player
+     * @return {@code true} if the database update succeeded
+     */
+    //Saves an update and keeps in-memory views in sync
+    private boolean applyUpdate(Player before, Player after) {
+        WriteBehindQueue queue = writeQueue;
+        if (queue != null) {
+            queue.awaitRoom();
+            synchronized (queue) {
+                //The player may have been removed since it was looked up
+                if (lookup(after.getName()) == null) {
+                    return false;
+                }
+                Player copy = storedCopy(after);
+                queue.update(copy);
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerUpdated(before, copy);
+                }
+                return true;
+            }
+        }
+        synchronized (viewLock) {
+            boolean updated = dbHandler.updatePlayer(after);
+            if (updated) {
+                Player copy = storedCopy(after);
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerUpdated(before, copy);
+                }
+            }
+            return updated;
+        }
     }
 
     /**
@@ -103,7 +611,120 @@ public class StatManager {
      */
     //Removes player by name
     public boolean removePlayer(String name) {
-        return dbHandler.removePlayer(name);
+        WriteBehindQueue queue = writeQueue;
+        if (queue != null) {
+            queue.awaitRoom();
+            synchronized (queue) {
+                Player before = lookup(name);
+                if (before == null) {
+                    return false;
+                }
+                queue.remove(before.getName());
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerRemoved(before);
+                }
+                return true;
+            }
+        }
+        if (listeners.isEmpty()) {
+            return dbHandler.removePlayer(name);
+        }
+        synchronized (viewLock) {
+            Player before = lookup(name);
+            boolean removed = dbHandler.removePlayer(name);
+            if (removed && before != null) {
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerRemoved(before);
+                }
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Records a night of game stat lines and adds them to the players' season totals.
+     * <p>
+     * Lines are written in batches of {@link PlayerImporter#DEFAULT_BATCH_SIZE}, one transaction per
+     * batch, and each line is applied to its player's totals as an increment inside that transaction.
+     * Lines for unknown players and games already recorded for a player are skipped. The in-memory
+     * views are updated for every player whose totals changed.
+     * </p>
+     *
+     * @param events the stat lines to record; each must have a game id
+     * @return the number of lines applied, or {@code -1} if a batch failed (earlier batches stay recorded)
+     */
+    //Records game stat lines and updates the season totals
+    public int recordGames(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            if (event.isAdjustment()) {
+                throw new IllegalArgumentException("Game event for " + event.getPlayer() + " has no game id");
+            }
+        }
+        //A write queued meanwhile would be committed with totals read before the game, losing its increments,
+        //and a reload could run between the database writes and the view updates
+        return whileNoWritesQueued(() -> {
+            //Players are looked up once each, before and after, only when a view needs the change
+            Map<String, Player> before = new LinkedHashMap<>();
+            if (!listeners.isEmpty()) {
+                for (GameEvent event : events) {
+                    String key = CaseFolding.fold(event.getPlayer());
+                    if (!before.containsKey(key)) {
+                        Player p = lookup(event.getPlayer());
+                        before.put(key, p == null ? null : copyOf(p));
+                    }
+                }
+            }
+            int applied = 0;
+            boolean failed = false;
+            for (int from = 0; from < events.size(); from += PlayerImporter.DEFAULT_BATCH_SIZE) {
+                int to = Math.min(events.size(), from + PlayerImporter.DEFAULT_BATCH_SIZE);
+                int count = dbHandler.recordGameEvents(events.subList(from, to));
+                if (count < 0) {
+                    failed = true;
+                    break;
+                }
+                applied += count;
+            }
+            for (Player old : before.values()) {
+                if (old == null) continue;
+                Player after = dbHandler.findPlayerByName(old.getName());
+                if (after == null || (after.getGoals() == old.getGoals() && after.getAssists() == old.getAssists()
+                        && after.getPlusMinus() == old.getPlusMinus())) {
+                    continue;
+                }
+                for (PlayerChangeListener listener : listeners) {
+                    listener.playerUpdated(old, copyOf(after));
+                }
+            }
+            return failed ? -1 : applied;
+        });
+    }
+
+    /**
+     * Returns a player's game log, oldest entry first, including adjustments made to their totals directly.
+     *
+     * @param name the player's name (case-insensitive)
+     * @return the player's game lines and adjustments; empty if the player has none
+     */
+    //Returns a player's game-by-game log
+    public List<GameEvent> getGameLog(String name) {
+        flushWrites();
+        return dbHandler.getGameLog(name);
+    }
+
+    /**
+     * Recomputes every player's totals from the game log and refreshes the in-memory views.
+     *
+     * @return the number of players whose totals were corrected, or {@code -1} if the rebuild failed
+     */
+    //Rebuilds season totals from the game log
+    public int rebuildTotals() {
+        flushWrites();
+        int corrected = dbHandler.rebuildTotalsFromEvents();
+        if (corrected > 0) {
+            reload();
+        }
+        return corrected;
     }
 
     /**
@@ -114,10 +735,68 @@ public class StatManager {
      */
     //Search for a player by name
     public Optional<Player> searchByName(String name) {
-        Player found = dbHandler.findPlayerByName(name);
+        NameSearchIndex index = nameIndex;
+        if (index != null && !index.contains(name)) {
+            return Optional.empty();
+        }
+        Player found = lookup(name);
         return Optional.ofNullable(found);
     }
 
+    /**
+     * Suggests player names for the text typed so far, best matches first.
+     * <p>
+     * With {@link #enableNameSearch()}, names starting with the text come first, then names with a
+     * word starting with it, then names containing it, then names within one or two typing mistakes.
+     * Without the index, only names starting with the text are found, with one database query.
+     * </p>
+     *
+     * @param query the text typed so far (case-insensitive)
+     * @param limit the maximum number of names to return
+     * @return the matching names
+     */
+    //Suggests names as the user types
+    public List<String> suggestNames(String query, int limit) {
+        NameSearchIndex index = nameIndex;
+        if (index != null) {
+            return index.search(query, limit);
+        }
+        List<String> names = new ArrayList<>();
+        for (Player p : searchPlayers(query, limit)) {
+            names.add(p.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the players whose names best match the query, in the order of
+     * {@link #suggestNames(String, int)}.
+     *
+     * @param query the name or part of a name to search for (case-insensitive)
+     * @param limit the maximum number of players to return
+     * @return the matching players, best matches first
+     */
+    //Searches players by partial or misspelled name
+    public List<Player> searchPlayers(String query, int limit) {
+        String text = query.trim();
+        if (text.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        NameSearchIndex index = nameIndex;
+        if (index == null) {
+            flushWrites();
+            return dbHandler.findPlayers(new PlayerQuery().namePrefix(text).limit(limit));
+        }
+        List<Player> players = new ArrayList<>();
+        for (String name : index.search(text, limit)) {
+            Player p = lookup(name);
+            if (p != null) {
+                players.add(p);
+            }
+        }
+        return players;
+    }
+
     /**
      * Filters players with goals greater than or equal to the specified minimum.
      *
@@ -126,9 +805,14 @@ public class StatManager {
      */
     //Filter players by minimum goals
     public List<Player> filterByGoals(int minGoals) {
-        return dbHandler.getAllPlayers().stream()
-                .filter(p -> p.getGoals() >= minGoals)
-                .collect(Collectors.toList());
+        return cached(QueryResultCache.Key.atLeast(Stat.GOALS, minGoals), () -> {
+            PlayerStatIndex index = statIndex;
+            if (index != null) {
+                return index.filterAtLeast(Stat.GOALS, minGoals);
+            }
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.filterAtLeast(Stat.GOALS, minGoals) : dbHandler.getPlayersWithMinGoals(minGoals);
+        });
     }
 
     /**
@@ -139,9 +823,14 @@ public class StatManager {
      */
     //Filter players by minimum assists
     public List<Player> filterByAssists(int minAssists) {
-        return dbHandler.getAllPlayers().stream()
-                .filter(p -> p.getAssists() >= minAssists)
-                .collect(Collectors.toList());
+        return cached(QueryResultCache.Key.atLeast(Stat.ASSISTS, minAssists), () -> {
+            PlayerStatIndex index = statIndex;
+            if (index != null) {
+                return index.filterAtLeast(Stat.ASSISTS, minAssists);
+            }
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.filterAtLeast(Stat.ASSISTS, minAssists) : dbHandler.getPlayersWithMinAssists(minAssists);
+        });
     }
 
     /**
@@ -152,9 +841,14 @@ public class StatManager {
      */
     //Filter players by total points
     public List<Player> filterByPoints(int minPoints) {
-        return dbHandler.getAllPlayers().stream()
-                .filter(p -> p.getPoints() >= minPoints)
-                .collect(Collectors.toList());
+        return cached(QueryResultCache.Key.atLeast(Stat.POINTS, minPoints), () -> {
+            PlayerStatIndex index = statIndex;
+            if (index != null) {
+                return index.filterAtLeast(Stat.POINTS, minPoints);
+            }
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.filterAtLeast(Stat.POINTS, minPoints) : dbHandler.getPlayersWithMinPoints(minPoints);
+        });
     }
 
     /**
@@ -165,9 +859,166 @@ public class StatManager {
      */
     //Filter players by team name
     public List<Player> filterByTeam(String teamName) {
-        return dbHandler.getAllPlayers().stream()
-                .filter(p -> p.getTeam().equalsIgnoreCase(teamName))
-                .collect(Collectors.toList());
+        return cached(QueryResultCache.Key.team(teamName), () -> {
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.filterByTeam(teamName) : dbHandler.getPlayersByTeam(teamName);
+        });
+    }
+
+    /**
+     * Returns every player sorted by the given stat, with ties ordered by name.
+     *
+     * @param stat       the stat to sort by
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return a sorted {@link List} of {@link Player} objects
+     */
+    //Sorts players by a stat in memory or in SQL
+    public List<Player> getPlayersSortedBy(Stat stat, boolean descending) {
+        return cached(QueryResultCache.Key.sorted(stat, descending), () -> {
+            PlayerStatIndex index = statIndex;
+            if (index != null) {
+                return index.sortedBy(stat, descending);
+            }
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.sortedBy(stat, descending) : dbHandler.getPlayersSortedBy(stat, descending);
+        });
+    }
+
+    /**
+     * Returns a leaderboard: the top {@code n} players by a stat, with ties ordered by name.
+     * <p>
+     * Only the requested rows are selected and built: the first {@code n} entries of the stat index,
+     * a bounded heap over the column store, or an indexed {@code ORDER BY ... LIMIT} query, depending
+     * on which in-memory views are enabled.
+     * </p>
+     *
+     * @param stat       the stat to rank by (goals, assists, points or plus/minus)
+     * @param n          the number of players to return; {@code 0} or less returns an empty list
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return up to {@code n} players in rank order
+     */
+    //Returns the top N players for a stat
+    public List<Player> topN(Stat stat, int n, boolean descending) {
+        if (n <= 0) {
+            return new ArrayList<>();
+        }
+        return cached(QueryResultCache.Key.top(stat, n, descending), () -> {
+            PlayerStatIndex index = statIndex;
+            if (index != null) {
+                return index.topN(stat, n, descending);
+            }
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.topN(stat, n, descending) : dbHandler.getTopPlayers(stat, n, descending);
+        });
+    }
+
+    /**
+     * Runs a multi-criteria query: any combination of stat ranges, a team and a name prefix,
+     * with a sort order and an optional limit.
+     * <p>
+     * The whole query costs one pass at most. With the column store enabled, every criterion is
+     * checked in a single scan of its columns; otherwise the query is compiled into one
+     * parameterized {@code SELECT} that SQLite answers through the most selective index.
+     * {@link #explainQuery(PlayerQuery)} shows which path and indexes are used.
+     * </p>
+     *
+     * @param query the filters, sort order and limit
+     * @return the matching players in the query's order
+     */
+    //Runs a combined filter, sort and limit in one step
+    public List<Player> query(PlayerQuery query) {
+        return cached(QueryResultCache.Key.query(query), () -> {
+            PlayerColumnStore store = columnStore;
+            return store != null ? store.query(query) : dbHandler.findPlayers(query);
+        });
+    }
+
+    /**
+     * Describes how {@link #query(PlayerQuery)} would answer a query.
+     *
+     * @param query the query to explain
+     * @return SQLite's query plan, one step per line, or a note that the column store will scan its rows
+     */
+    //Shows which indexes a query would use
+    public List<String> explainQuery(PlayerQuery query) {
+        PlayerColumnStore store = columnStore;
+        if (store != null) {
+            return List.of("SCAN in-memory column store (" + store.size() + " rows, one pass)");
+        }
+        return dbHandler.explainQuery(query);
+    }
+
+    /**
+     * Returns one page of players, starting right after the given player.
+     * <p>
+     * Pages always come from the database with keyset pagination, so a view can be scrolled
+     * without ever holding the whole roster in memory.
+     * </p>
+     *
+     * @param after      the last player of the previous page, or {@code null} for the first page
+     * @param limit      the maximum number of players to return
+     * @param sortKey    the stat to order by (ties by name), or {@code null} to order by name
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return up to {@code limit} players; fewer means the last page was reached
+     */
+    //Returns a page of players for lazy loading
+    public List<Player> getPlayersPage(Player after, int limit, Stat sortKey, boolean descending) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        flushWrites();
+        return dbHandler.getPlayersPage(after, limit, sortKey, descending);
+    }
+
+    /**
+     * Returns the number of players stored in the database.
+     *
+     * @return the player count
+     */
+    //Counts all players
+    public long getPlayerCount() {
+        PlayerColumnStore store = columnStore;
+        return store != null ? store.size() : dbHandler.getPlayerCount();
+    }
+
+    /**
+     * Returns the league-wide total of a stat.
+     *
+     * @param stat the stat to total
+     * @return the sum of the stat over every player
+     */
+    //Totals a stat over all players
+    public long getTotal(Stat stat) {
+        PlayerColumnStore store = columnStore;
+        return store != null ? store.total(stat) : dbHandler.getStatTotal(stat);
+    }
+
+    /**
+     * Returns the team standings: each team's roster size, goals, assists, points and plus/minus,
+     * highest points first.
+     * <p>
+     * The totals are maintained by the database on every write, so this reads one row per team
+     * instead of summing every player.
+     * </p>
+     *
+     * @return one {@link TeamStats} per team
+     */
+    //Returns the team standings from the rollup table
+    public List<TeamStats> getTeamStandings() {
+        flushWrites();
+        return dbHandler.getTeamStats();
+    }
+
+    /**
+     * Returns the totals of a single team.
+     *
+     * @param team the team name (case-insensitive)
+     * @return an {@link Optional} containing the team's totals, or empty if the team has no players
+     */
+    //Returns one team's totals from the rollup table
+    public Optional<TeamStats> getTeamStats(String team) {
+        flushWrites();
+        return Optional.ofNullable(dbHandler.getTeamStats(team));
     }
 
     /**
@@ -187,4 +1038,74 @@ public class StatManager {
         }
         return sb.toString();
     }
+
+    //Answers a read from the query cache when enabled, otherwise runs it directly
+    private List<Player> cached(QueryResultCache.Key key, Supplier<List<Player>> query) {
+        QueryResultCache cache = queryCache;
+        return cache != null ? cache.get(key, query) : query.get();
+    }
+
+    //Reads the roster for a new view, from the column store when enabled, otherwise from the database
+    private List<Player> roster() {
+        PlayerColumnStore store = columnStore;
+        return store != null ? store.getAll() : dbHandler.getAllPlayers();
+    }
+
+    //Finds a player from the column store when enabled, otherwise from the database
+    private Player lookup(String name) {
+        PlayerColumnStore store = columnStore;
+        return store != null ? store.find(name) : dbHandler.findPlayerByName(name);
+    }
+
+    //Copies a player so listeners never share a mutable object with callers
+    private static Player copyOf(Player p) {
+        return new Player(p.getName(), p.getTeam(), p.getGoals(), p.getAssists(), p.getPlusMinus());
+    }
+
+    /**
+     * Copies a player with the team spelled the way the database stores it, so the in-memory views
+     * agree with the database when a team is typed in a different case. A team still waiting in the
+     * write-behind queue is matched against the column store instead.
+     *
+     * @param p the player being written
+     * @return a copy carrying the stored team spelling
+     */
+    //Copies a player with the team name as stored
+    private Player storedCopy(Player p) {
+        Player copy = copyOf(p);
+        String team = dbHandler.getTeamName(p.getTeam());
+        PlayerColumnStore store = columnStore;
+        if (team == null && store != null) {
+            team = store.findTeamName(p.getTeam());
+        }
+        if (team != null) {
+            copy.setTeam(team);
+        }
+        return copy;
+    }
+
+    /**
+     * Marks the snapshot for rewriting whenever the roster changes.
+     */
+    private class SnapshotTracker implements PlayerChangeListener {
+        @Override
+        public void playerAdded(Player player) {
+            snapshotDirty = true;
+        }
+
+        @Override
+        public void playerUpdated(Player before, Player after) {
+            snapshotDirty = true;
+        }
+
+        @Override
+        public void playerRemoved(Player player) {
+            snapshotDirty = true;
+        }
+
+        @Override
+        public void playersReloaded(List<Player> players) {
+            snapshotDirty = true;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package nhltracker;
+/**
+ * Team totals rolled up from the players on a team: roster size, goals, assists, points and plus/minus.
+ * <p>
+ * Instances are read from the {@code team_stats} table, which the database keeps up to date on every
+ * insert, update and delete of a player, so reading the standings never touches the player rows.
+ * </p>
+ */
+public class TeamStats {
+    /** The team's name. */
+    private final String team;
+    /** Number of players on the team. */
+    private final int players;
+    /** Total goals scored by the team's players. */
+    private final long goals;
+    /** Total assists recorded by the team's players. */
+    private final long assists;
+    /** Sum of the plus/minus ratings of the team's players. */
+    private final long plusMinus;
+
+    /**
+     * Constructs team totals.
+     *
+     * @param team      the team name
+     * @param players   the roster size
+     * @param goals     the total goals
+     * @param assists   the total assists
+     * @param plusMinus the sum of the players' plus/minus ratings
+     */
+    public TeamStats(String team, int players, long goals, long assists, long plusMinus) {
+        this.team = team;
+        this.players = players;
+        this.goals = goals;
+        this.assists = assists;
+        this.plusMinus = plusMinus;
+    }
+
+    /**
+     * Returns the team's name.
+     *
+     * @return the team name
+     */
+    public String getTeam() { return team; }
+    /**
+     * Returns the number of players on the team.
+     *
+     * @return the roster size
+     */
+    public int getPlayers() { return players; }
+    /**
+     * Returns the total goals scored by the team's players.
+     *
+     * @return the team's goals
+     */
+    public long getGoals() { return goals; }
+    /**
+     * Returns the total assists recorded by the team's players.
+     *
+     * @return the team's assists
+     */
+    public long getAssists() { return assists; }
+    /**
+     * Returns the team's total points (goals + assists).
+     *
+     * @return the team's points
+     */
+    public long getPoints() { return goals + assists; }
+    /**
+     * Returns the sum of the plus/minus ratings of the team's players.
+     *
+     * @return the team's total plus/minus
+     */
+    public long getPlusMinus() { return plusMinus; }
+    /**
+     * Returns the average plus/minus rating of the team's players.
+     *
+     * @return the average plus/minus, or {@code 0} for an empty roster
+     */
+    public double getAveragePlusMinus() { return players == 0 ? 0 : (double) plusMinus / players; }
+
+    /**
+     * Returns a formatted string representing the team's totals.
+     *
+     * @return the team name, roster size, goals, assists, points and average plus/minus
+     */
+    //Display format (Team name, Players, Goals, Assists, Points, average plusMinus)
+    @Override
+    public String toString() {
+        return String.format("%-15s Players: %-4d Goals: %-5d Assists: %-5d Points: %-5d Avg +/-: %.2f",
+                team, players, goals, assists, getPoints(), getAveragePlusMinus());
+    }
+}
@@ -0,0 +1,405 @@
+package nhltracker;
+
+import nhltracker.db.DatabaseHandler;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+/**
+ * The {@code WriteBehindQueue} class collects player writes in memory and commits them to the
+ * database from a single background thread, many per transaction.
+ * <p>
+ * Each queued write replaces or merges with the write already pending for the same player (by
+ * case-insensitive name), so a burst of edits to one player costs one row write: an update after
+ * an insert becomes the insert with the new values, a removal after an insert cancels both, and a
+ * removal followed by an insert becomes a replace. The queue holds about {@code maxBatch} players:
+ * {@link #awaitRoom()} wakes the writer when it is full and waits until the writer has taken the group.
+ * </p>
+ * <p>
+ * Callers that check the in-memory views before queuing a write hold this queue's monitor while they
+ * check, queue and update the views. If a group fails to commit, the writer takes the monitor, commits
+ * whatever was queued meanwhile and only then runs the failure callback, so views rebuilt by the
+ * callback never miss a queued write. Work that must see the database with nothing queued first calls
+ * {@link #hold()}, which keeps new writes waiting in {@link #awaitRoom()}, then flushes and runs while
+ * holding the monitor once {@link #isIdle()}.
+ * </p>
+ * <p>
+ * The writer commits a group with {@link DatabaseHandler#applyWrites} as soon as {@code maxBatch}
+ * players are pending, the oldest pending write has waited {@code maxDelayMillis}, or a flush is
+ * requested. {@link #close()} commits everything still pending before it returns, and is also run
+ * by a shutdown hook so queued writes are not lost when the JVM exits without calling it.
+ * </p>
+ */
+class WriteBehindQueue {
+    /** What the pending write does to the player's row. */
+    private enum Kind { INSERT, UPDATE, REMOVE, REPLACE }
+
+    /**
+     * The write pending for one player.
+     *
+     * @param kind   what the write does; {@code REPLACE} removes the stored row and inserts {@code player}
+     * @param name   the player's name
+     * @param player the values to write, or {@code null} for a removal
+     */
+    private record PendingWrite(Kind kind, String name, Player player) {
+    }
+
+    private final DatabaseHandler dbHandler;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final Runnable onFailure;
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when the writer may have something to do. */
+    private final Condition changed = lock.newCondition();
+    /** Signalled when the writer has taken or finished a group. */
+    private final Condition progress = lock.newCondition();
+    //Case-folded name to the write pending for that player, in the order players were first queued
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private long firstPendingAt;
+    //Writes queued so far, and how many of those the writer has finished with
+    private long queued;
+    private long done;
+    private long flushUpTo;
+    private long merged;
+    private long groups;
+    private long failedGroups;
+    //Set when a group fails, cleared by the next flush that reports it
+    private boolean failed;
+    private boolean closing;
+    //Callers between hold() and release(), during which no new write is let in
+    private int holds;
+
+    /**
+     * Starts the writer thread.
+     *
+     * @param dbHandler      the database the writes are committed to
+     * @param maxBatch       the most players held in the queue and written in one transaction
+     * @param maxDelayMillis the longest a write waits in the queue before its group is committed
+     * @param onFailure      run on the writer thread, holding this queue's monitor, after a group fails
+     *                       to commit and is rolled back
+     * @throws IllegalArgumentException if {@code maxBatch} is not positive or {@code maxDelayMillis} is negative
+     */
+    WriteBehindQueue(DatabaseHandler dbHandler, int maxBatch, long maxDelayMillis, Runnable onFailure) {
+        if (maxBatch <= 0 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and delay not negative");
+        }
+        this.dbHandler = dbHandler;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.onFailure = onFailure;
+        writer = new Thread(this::run, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(this::close, "write-behind-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Waits until the queue has room for another player and no caller is holding writes back.
+     * Call this before taking the queue's monitor.
+     */
+    void awaitRoom() {
+        lock.lock();
+        try {
+            while ((pending.size() >= maxBatch || holds > 0) && !closing) {
+                changed.signal();
+                progress.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the insert of a new player.
+     *
+     * @param player the player to add
+     */
+    void insert(Player player) {
+        enqueue(new PendingWrite(Kind.INSERT, player.getName(), player));
+    }
+
+    /**
+     * Queues an update of a player's team and stats.
+     *
+     * @param player the player's new values
+     */
+    void update(Player player) {
+        enqueue(new PendingWrite(Kind.UPDATE, player.getName(), player));
+    }
+
+    /**
+     * Queues the removal of a player.
+     *
+     * @param name the player's name
+     */
+    void remove(String name) {
+        enqueue(new PendingWrite(Kind.REMOVE, name, null));
+    }
+
+    /**
+     * Waits until every write queued before this call has been committed.
+     *
+     * @return {@code false} if a group failed since the last flush, so some writes were lost
+     */
+    boolean flush() {
+        lock.lock();
+        try {
+            long target = queued;
+            flushUpTo = Math.max(flushUpTo, target);
+            changed.signal();
+            while (done < target) {
+                progress.awaitUninterruptibly();
+            }
+            boolean ok = !failed;
+            failed = false;
+            return ok;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Holds new writes back in {@link #awaitRoom()} until {@link #release()}, so that a flush is not
+     * outrun by writers that keep queuing. Writers already past {@code awaitRoom()} may still queue
+     * one write each.
+     */
+    void hold() {
+        lock.lock();
+        try {
+            holds++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lets writes held back by {@link #hold()} be queued again.
+     */
+    void release() {
+        lock.lock();
+        try {
+            holds--;
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells whether every queued write has been committed. Hold the queue's monitor to keep it that way,
+     * since producers queue writes only while holding it.
+     *
+     * @return {@code true} if nothing is pending or being committed
+     */
+    boolean isIdle() {
+        lock.lock();
+        try {
+            return pending.isEmpty() && done == queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits everything still queued and stops the writer thread. Later writes are rejected.
+     *
+     * @return {@code false} if a group failed since the last flush
+     */
+    boolean close() {
+        lock.lock();
+        try {
+            closing = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            //Already running as the shutdown hook
+        }
+        lock.lock();
+        try {
+            return !failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the queue for display.
+     *
+     * @return the pending, queued, merged, committed-group and failed-group counts
+     */
+    String describe() {
+        lock.lock();
+        try {
+            return String.format("Write-behind: %,d pending, %,d writes queued, %,d merged, %,d groups committed, %,d failed",
+                    pending.size(), queued, merged, groups, failedGroups);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Adds a write to the queue, merging it with the player's pending write
+    private void enqueue(PendingWrite write) {
+        String key = CaseFolding.fold(write.name());
+        lock.lock();
+        try {
+            if (closing) {
+                throw new IllegalStateException("Write-behind queue is closed");
+            }
+            PendingWrite earlier = pending.get(key);
+            if (pending.isEmpty()) {
+                firstPendingAt = System.nanoTime();
+                changed.signal();
+            }
+            if (earlier == null) {
+                pending.put(key, write);
+            } else {
+                merged++;
+                PendingWrite combined = merge(earlier, write);
+                if (combined == null) {
+                    pending.remove(key);
+                } else {
+                    pending.put(key, combined);
+                }
+            }
+            queued++;
+            if (pending.size() >= maxBatch) {
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Combines two writes to the same player into the one that has the same effect, or null for none
+    private static PendingWrite merge(PendingWrite earlier, PendingWrite later) {
+        return switch (later.kind()) {
+            case INSERT, REPLACE -> earlier.kind() == Kind.INSERT || earlier.kind() == Kind.UPDATE
+                    ? later : new PendingWrite(Kind.REPLACE, later.name(), later.player());
+            case UPDATE -> earlier.kind() == Kind.INSERT || earlier.kind() == Kind.REPLACE
+                    ? new PendingWrite(earlier.kind(), later.name(), later.player()) : later;
+            case REMOVE -> earlier.kind() == Kind.INSERT ? null : later;
+        };
+    }
+
+    //Writer thread: waits for a full group, the delay or a flush, then commits the group
+    private void run() {
+        while (true) {
+            List<PendingWrite> group;
+            long taken;
+            lock.lock();
+            try {
+                //Writes that cancelled each other out leave nothing pending, but a flush still waits for them
+                while (pending.isEmpty() && flushUpTo <= done && !closing) {
+                    changed.awaitUninterruptibly();
+                }
+                if (pending.isEmpty() && closing) {
+                    done = queued;
+                    progress.signalAll();
+                    return;
+                }
+                long deadline = firstPendingAt + maxDelayNanos;
+                while (pending.size() < maxBatch && flushUpTo <= done && !closing) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        break;
+                    }
+                    try {
+                        changed.awaitNanos(left);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                group = takePending();
+                taken = queued;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean ok = commit(group);
+            if (!ok) {
+                //Producers are held off until the views have been rebuilt from the database
+                synchronized (this) {
+                    List<PendingWrite> later;
+                    lock.lock();
+                    try {
+                        later = takePending();
+                        taken = queued;
+                    } finally {
+                        lock.unlock();
+                    }
+                    commit(later);
+                    onFailure.run();
+                }
+            }
+            lock.lock();
+            try {
+                done = taken;
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    //Removes and returns every pending write and wakes producers waiting for room; the lock must be held
+    private List<PendingWrite> takePending() {
+        List<PendingWrite> group = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        progress.signalAll();
+        return group;
+    }
+
+    //Writes one group in a single transaction and counts the outcome
+    private boolean commit(List<PendingWrite> group) {
+        //Writes that cancelled each other out can leave nothing to commit
+        if (group.isEmpty()) {
+            return true;
+        }
+        List<String> removals = new ArrayList<>();
+        List<Player> inserts = new ArrayList<>();
+        List<Player> updates = new ArrayList<>();
+        for (PendingWrite write : group) {
+            switch (write.kind()) {
+                case INSERT -> inserts.add(write.player());
+                case UPDATE -> updates.add(write.player());
+                case REMOVE -> removals.add(write.name());
+                case REPLACE -> {
+                    removals.add(write.name());
+                    inserts.add(write.player());
+                }
+            }
+        }
+        boolean ok = dbHandler.applyWrites(removals, inserts, updates) >= 0;
+        lock.lock();
+        try {
+            if (ok) {
+                groups++;
+            } else {
+                failedGroups++;
+                failed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return ok;
+    }
+}
@@ -1,9 +1,23 @@
 package nhltracker.db;
 
+import nhltracker.CaseFolding;
+import nhltracker.GameEvent;
 import nhltracker.Player;
+import nhltracker.PlayerQuery;
+import nhltracker.Stat;
+import nhltracker.TeamStats;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 /**
  * The {@code DatabaseHandler} class manages all interactions with the SQLite database
  * used by the NHL Stat Tracker application.
@@ -11,19 +25,106 @@ import java.util.List;
  * This class handles connecting to the database, creating tables, and performing
  * CRUD operations for {@link Player} objects.
  * </p>
+ * <p>
+ * A handler is safe to share between threads. All writes go through a single connection
+ * and are serialized. By default reads share that connection too; a handler created with
+ * a reader pool switches SQLite to WAL mode and serves reads from a bounded pool of
+ * read-only connections, so readers never wait behind writers.
+ * </p>
+ * <p>
+ * Team names are stored once in the {@code teams} table and players refer to them by integer id.
+ * The handler keeps the name-to-id dictionary in memory, so team filters compare integers on the
+ * team index and callers keep passing team names.
+ * </p>
  */
 public class DatabaseHandler {
+    /** Column list shared by every query that builds {@link Player} objects. */
+    private static final String PLAYER_COLUMNS = "name, team, goals, assists, plus_minus";
+    /** Players joined to their team names; {@code players} is always the outer loop, so its indexes drive the plan. */
+    private static final String PLAYER_TABLES = "players CROSS JOIN teams ON teams.id = players.team_id";
+    /** Column list shared by every query that builds {@link TeamStats} objects. */
+    private static final String TEAM_STATS_COLUMNS = "team, players, goals, assists, plus_minus";
+    /** Team totals joined to their team names. */
+    private static final String TEAM_STATS_TABLES = "team_stats CROSS JOIN teams ON teams.id = team_stats.team_id";
+    /** Single-player writes, shared by the one-off methods and {@link #applyWrites}. */
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO players(name, team_id, goals, assists, plus_minus) VALUES(?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String UPDATE_PLAYER_SQL = """
+            UPDATE players
+            SET team_id = ?, goals = ?, assists = ?, plus_minus = ?
+            WHERE name = ? COLLATE NOCASE;
+            """;
+    private static final String REMOVE_PLAYER_SQL = "DELETE FROM players WHERE name = ? COLLATE NOCASE";
+    private static final String FIND_TEAM_SQL = "SELECT id, team FROM teams WHERE team = ?";
+    /** Team id bound for a team that is not in the dictionary; it matches no row. */
+    private static final int NO_TEAM = -1;
+    /** Schema version stored in {@code PRAGMA user_version} once all migrations have run. */
+    private static final int SCHEMA_VERSION = 4;
+
+    /** How long a connection waits on a locked database before failing, in milliseconds. */
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+    /** Rows the driver is asked to fetch at a time when streaming players. */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /** The single connection used for every write, guarded by {@link #writeLock}. */
     private Connection conn;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    /** Idle read-only connections; {@code null} when reads share the write connection. */
+    private BlockingQueue<Connection> readers;
+    private volatile boolean closed;
+    /** Compiled statements for the handler's fixed query set, keyed by connection and SQL text. */
+    private final Map<Connection, Map<String, PreparedStatement>> statementCache = new ConcurrentHashMap<>();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    /** Per-operation counters and latency histograms, also published over JMX. */
+    private final DatabaseMetrics metrics = new DatabaseMetrics();
+    /** Case-folded team name to its row in {@code teams}; ids never change, so entries stay valid. */
+    private final Map<String, TeamEntry> teamDictionary = new ConcurrentHashMap<>();
+
+    /**
+     * One row of the {@code teams} table.
+     *
+     * @param id   the team's id, stored in {@code players.team_id}
+     * @param name the team's name as first stored
+     */
+    private record TeamEntry(int id, String name) {
+    }
 
     /**
      * Constructor connects to the database file and ensures the player table exists.
+     * Reads and writes share one connection.
      *
      * @param dbPath the file path to the SQLite database
      */
     //Constructor connects to database file
     public DatabaseHandler(String dbPath) {
+        this(dbPath, 0);
+    }
+
+    /**
+     * Constructor connects to the database file, ensures the player table exists and, if
+     * {@code readerPoolSize} is positive, enables concurrent reads.
+     * <p>
+     * In concurrent mode the database is switched to WAL journaling and {@code readerPoolSize}
+     * read-only connections are opened for {@link #getAllPlayers()}, {@link #findPlayerByName(String)}
+     * and the filter queries. Writes still use one serialized connection.
+     * </p>
+     *
+     * @param dbPath         the file path to the SQLite database
+     * @param readerPoolSize the number of read-only connections to open, or {@code 0} to share the write connection
+     */
+    //Constructor that can also open a pool of reader connections
+    public DatabaseHandler(String dbPath, int readerPoolSize) {
         connect(dbPath);
         createTableIfNotExists();
+        createIndexes();
+        loadTeamDictionary();
+        if (readerPoolSize > 0) {
+            openReaders(dbPath, readerPoolSize);
+        }
+        metrics.registerMBeans(dbPath);
     }
 
     /**
@@ -36,6 +137,10 @@ public class DatabaseHandler {
         try {
             String url = "jdbc:sqlite:" + dbPath;
             conn = DriverManager.getConnection(url);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+                stmt.execute("PRAGMA foreign_keys = ON");
+            }
             System.out.println("Connected to database: " + dbPath);
         } catch (SQLException e) {
             System.out.println("Connection failed: " + e.getMessage());
@@ -43,7 +148,43 @@ public class DatabaseHandler {
     }
 
     /**
-     * Creates the {@code players} table if it does not already exist in the database.
+     * Switches the database to WAL mode and opens the pool of read-only connections.
+     * <p>
+     * If WAL cannot be enabled (for example on an in-memory database) the pool is not
+     * opened and reads keep sharing the write connection.
+     * </p>
+     *
+     * @param dbPath the file path of the database
+     * @param size   the number of reader connections to open
+     */
+    //Enables WAL and opens the reader connections
+    private void openReaders(String dbPath, int size) {
+        try {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA journal_mode = WAL")) {
+                if (!rs.next() || !"wal".equalsIgnoreCase(rs.getString(1))) {
+                    System.out.println("WAL mode is not available; reads will share the write connection.");
+                    return;
+                }
+            }
+            BlockingQueue<Connection> pool = new ArrayBlockingQueue<>(size);
+            for (int i = 0; i < size; i++) {
+                Connection reader = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+                try (Statement stmt = reader.createStatement()) {
+                    stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+                pool.add(reader);
+            }
+            readers = pool;
+        } catch (SQLException e) {
+            System.out.println("Error opening reader connections: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the {@code players} table if it does not already exist in the database,
+     * then brings older database files up to the current schema version.
      */
     //Creates the players table if it does not exist
     private void createTableIfNotExists() {
@@ -62,6 +203,325 @@ public class DatabaseHandler {
         } catch (SQLException e) {
             System.out.println("Error creating table: " + e.getMessage());
         }
+        migrateSchema();
+    }
+
+    /**
+     * Applies any schema migrations the database file has not seen yet.
+     * <p>
+     * The applied version is tracked in {@code PRAGMA user_version}. Version 1 adds a unique
+     * {@code COLLATE NOCASE} index on the player name, so name lookups, updates and removals
+     * become index searches instead of full table scans. Any case-insensitive duplicate names
+     * left by older versions are moved out of the way first: the earliest row for each name stays,
+     * and the later ones are copied to the {@code players_duplicates} table, with their original
+     * row ids, before they are deleted.
+     * </p>
+     * <p>
+     * Version 2 adds the {@code team_stats} rollup table, filled from the existing players. Triggers
+     * on {@code players} apply each insert, update and delete to it as a delta, inside the same
+     * transaction as the write, so the totals stay exact for every writer, bulk imports included.
+     * </p>
+     * <p>
+     * Version 3 adds the append-only {@code game_events} log, seeded with each player's current totals.
+     * </p>
+     * <p>
+     * Version 4 moves team names into the {@code teams} table and stores an integer {@code team_id}
+     * in {@code players} and {@code team_stats} instead of the name.
+     * </p>
+     */
+    //Upgrades older database files to the current schema
+    private void migrateSchema() {
+        try (Statement stmt = conn.createStatement()) {
+            int version;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (version >= SCHEMA_VERSION) {
+                return;
+            }
+            conn.setAutoCommit(false);
+            try {
+                if (version < 1) {
+                    String duplicates = "rowid NOT IN (SELECT MIN(rowid) FROM players GROUP BY name COLLATE NOCASE)";
+                    List<String> names = new ArrayList<>();
+                    try (ResultSet rs = stmt.executeQuery("SELECT name FROM players WHERE " + duplicates + " ORDER BY rowid")) {
+                        while (rs.next()) {
+                            names.add(rs.getString(1));
+                        }
+                    }
+                    if (!names.isEmpty()) {
+                        //The rows are kept in a backup table rather than lost
+                        stmt.execute("CREATE TABLE IF NOT EXISTS players_duplicates AS "
+                                + "SELECT rowid AS original_rowid, * FROM players WHERE 0");
+                        stmt.execute("INSERT INTO players_duplicates SELECT rowid, * FROM players WHERE " + duplicates);
+                        stmt.executeUpdate("DELETE FROM players WHERE " + duplicates);
+                        System.out.println("Moved " + names.size() + " player(s) whose names duplicate another player's "
+                                + "to the players_duplicates table: " + String.join(", ", names));
+                    }
+                    stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_players_name_key ON players(name COLLATE NOCASE)");
+                }
+                if (version < 2) {
+                    createTeamStats(stmt);
+                }
+                if (version < 3) {
+                    createGameEvents(stmt);
+                }
+                if (version < 4) {
+                    normalizeTeams(stmt);
+                }
+                stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error migrating database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the {@code team_stats} table, fills it from the current players and installs the
+     * triggers that keep it in step with {@code players}.
+     * <p>
+     * Teams are grouped case-insensitively, like the team filter, and keep the spelling of the
+     * first player seen. A team's row is deleted when its last player leaves.
+     * </p>
+     *
+     * @param stmt a statement on the write connection, inside the migration transaction
+     * @throws SQLException if the table or triggers cannot be created
+     */
+    //Creates the team rollup table and its triggers
+    private static void createTeamStats(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS team_stats (
+                    team TEXT PRIMARY KEY COLLATE NOCASE,
+                    players INTEGER NOT NULL,
+                    goals INTEGER NOT NULL,
+                    assists INTEGER NOT NULL,
+                    plus_minus INTEGER NOT NULL
+                )
+                """);
+        stmt.execute("DELETE FROM team_stats");
+        stmt.execute("""
+                INSERT INTO team_stats(team, players, goals, assists, plus_minus)
+                SELECT MIN(team), COUNT(*), TOTAL(goals), TOTAL(assists), TOTAL(plus_minus)
+                FROM players GROUP BY team COLLATE NOCASE
+                """);
+        String addNew = """
+                    INSERT INTO team_stats(team, players, goals, assists, plus_minus)
+                    VALUES (NEW.team, 1, IFNULL(NEW.goals, 0), IFNULL(NEW.assists, 0), IFNULL(NEW.plus_minus, 0))
+                    ON CONFLICT(team) DO UPDATE SET players = players + 1, goals = goals + excluded.goals,
+                        assists = assists + excluded.assists, plus_minus = plus_minus + excluded.plus_minus;
+                """;
+        String removeOld = """
+                    UPDATE team_stats SET players = players - 1, goals = goals - IFNULL(OLD.goals, 0),
+                        assists = assists - IFNULL(OLD.assists, 0), plus_minus = plus_minus - IFNULL(OLD.plus_minus, 0)
+                    WHERE team = OLD.team;
+                    DELETE FROM team_stats WHERE team = OLD.team AND players <= 0;
+                """;
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_team_stats_insert AFTER INSERT ON players BEGIN\n"
+                + addNew + "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_team_stats_update AFTER UPDATE OF team, goals, assists, plus_minus ON players BEGIN\n"
+                + removeOld + addNew + "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_team_stats_delete AFTER DELETE ON players BEGIN\n"
+                + removeOld + "END");
+    }
+
+    /**
+     * Creates the {@code game_events} log and the triggers that tie it to the player totals.
+     * <p>
+     * A row with a game id is a stat line from a game; inserting one adds it to the player's totals.
+     * A row without a game id is an adjustment: triggers on {@code players} log one for every
+     * inserted player and every direct change to a player's stats, so a player's events always sum
+     * to their totals. The {@code game_event_guard} row is present only while a trigger is applying
+     * events, so those updates are not logged a second time as adjustments. Deleting a player
+     * deletes their events. The log is seeded with one adjustment per existing player.
+     * </p>
+     *
+     * @param stmt a statement on the write connection, inside the migration transaction
+     * @throws SQLException if the tables or triggers cannot be created
+     */
+    //Creates the game event log and its triggers
+    private static void createGameEvents(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS game_events (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    game_id TEXT,
+                    game_date TEXT,
+                    player TEXT NOT NULL COLLATE NOCASE,
+                    goals INTEGER NOT NULL,
+                    assists INTEGER NOT NULL,
+                    plus_minus INTEGER NOT NULL
+                )
+                """);
+        stmt.execute("CREATE TABLE IF NOT EXISTS game_event_guard (active INTEGER)");
+        //A game can hold only one line per player, which makes re-recording a game a no-op
+        stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_game_events_game ON game_events(game_id, player) WHERE game_id IS NOT NULL");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_events_player ON game_events(player)");
+        stmt.execute("""
+                INSERT INTO game_events(player, goals, assists, plus_minus)
+                SELECT name, IFNULL(goals, 0), IFNULL(assists, 0), IFNULL(plus_minus, 0) FROM players
+                """);
+        createGameEventTriggers(stmt);
+    }
+
+    /**
+     * Installs the triggers that apply game lines to {@code players} and log direct changes as adjustments.
+     *
+     * @param stmt a statement on the write connection, inside the migration transaction
+     * @throws SQLException if a trigger cannot be created
+     */
+    //Creates the triggers between players and the game event log
+    private static void createGameEventTriggers(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_game_events_apply AFTER INSERT ON game_events
+                WHEN NEW.game_id IS NOT NULL BEGIN
+                    INSERT INTO game_event_guard VALUES (1);
+                    UPDATE players SET goals = IFNULL(goals, 0) + NEW.goals, assists = IFNULL(assists, 0) + NEW.assists,
+                        plus_minus = IFNULL(plus_minus, 0) + NEW.plus_minus
+                    WHERE name = NEW.player;
+                    DELETE FROM game_event_guard;
+                END
+                """);
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_players_log_insert AFTER INSERT ON players BEGIN
+                    INSERT INTO game_events(player, goals, assists, plus_minus)
+                    VALUES (NEW.name, IFNULL(NEW.goals, 0), IFNULL(NEW.assists, 0), IFNULL(NEW.plus_minus, 0));
+                END
+                """);
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_players_log_update AFTER UPDATE OF goals, assists, plus_minus ON players
+                WHEN NOT EXISTS (SELECT 1 FROM game_event_guard)
+                    AND (NEW.goals IS NOT OLD.goals OR NEW.assists IS NOT OLD.assists OR NEW.plus_minus IS NOT OLD.plus_minus)
+                BEGIN
+                    INSERT INTO game_events(player, goals, assists, plus_minus)
+                    VALUES (NEW.name, IFNULL(NEW.goals, 0) - IFNULL(OLD.goals, 0), IFNULL(NEW.assists, 0) - IFNULL(OLD.assists, 0),
+                        IFNULL(NEW.plus_minus, 0) - IFNULL(OLD.plus_minus, 0));
+                END
+                """);
+        stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_players_log_delete AFTER DELETE ON players BEGIN
+                    DELETE FROM game_events WHERE player = OLD.name;
+                END
+                """);
+    }
+
+    /**
+     * Moves team names into the {@code teams} dictionary table and rebuilds {@code players} and
+     * {@code team_stats} around an integer {@code team_id}.
+     * <p>
+     * Names that differ only in case become one team, spelled as the alphabetically first variant.
+     * SQLite cannot change a column's type in place, so {@code players} is copied into a new table
+     * with a foreign key to {@code teams}, keeping every row id, and the triggers that reference it
+     * are dropped first and recreated afterwards. The team totals are recomputed, keyed by team id.
+     * Teams stay in the dictionary after their last player leaves, so ids are never reused.
+     * </p>
+     *
+     * @param stmt a statement on the write connection, inside the migration transaction
+     * @throws SQLException if a table, index or trigger cannot be rebuilt
+     */
+    //Replaces team names with ids from a teams table
+    private static void normalizeTeams(Statement stmt) throws SQLException {
+        stmt.execute("""
+                CREATE TABLE IF NOT EXISTS teams (
+                    id INTEGER PRIMARY KEY,
+                    team TEXT NOT NULL UNIQUE COLLATE NOCASE
+                )
+                """);
+        stmt.execute("""
+                INSERT INTO teams(team)
+                SELECT MIN(team) FROM players GROUP BY team COLLATE NOCASE ORDER BY MIN(team)
+                """);
+        for (String trigger : List.of("trg_team_stats_insert", "trg_team_stats_update", "trg_team_stats_delete",
+                "trg_players_log_insert", "trg_players_log_update", "trg_players_log_delete", "trg_game_events_apply")) {
+            stmt.execute("DROP TRIGGER IF EXISTS " + trigger);
+        }
+        stmt.execute("""
+                CREATE TABLE players_new (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    team_id INTEGER NOT NULL REFERENCES teams(id),
+                    goals INTEGER,
+                    assists INTEGER,
+                    plus_minus INTEGER
+                )
+                """);
+        stmt.execute("""
+                INSERT INTO players_new(id, name, team_id, goals, assists, plus_minus)
+                SELECT players.rowid, players.name, teams.id, players.goals, players.assists, players.plus_minus
+                FROM players JOIN teams ON teams.team = players.team
+                """);
+        stmt.execute("DROP TABLE players");
+        stmt.execute("ALTER TABLE players_new RENAME TO players");
+        stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_players_name_key ON players(name COLLATE NOCASE)");
+
+        stmt.execute("DROP TABLE IF EXISTS team_stats");
+        stmt.execute("""
+                CREATE TABLE team_stats (
+                    team_id INTEGER PRIMARY KEY REFERENCES teams(id),
+                    players INTEGER NOT NULL,
+                    goals INTEGER NOT NULL,
+                    assists INTEGER NOT NULL,
+                    plus_minus INTEGER NOT NULL
+                )
+                """);
+        stmt.execute("""
+                INSERT INTO team_stats(team_id, players, goals, assists, plus_minus)
+                SELECT team_id, COUNT(*), TOTAL(goals), TOTAL(assists), TOTAL(plus_minus)
+                FROM players GROUP BY team_id
+                """);
+        String addNew = """
+                    INSERT INTO team_stats(team_id, players, goals, assists, plus_minus)
+                    VALUES (NEW.team_id, 1, IFNULL(NEW.goals, 0), IFNULL(NEW.assists, 0), IFNULL(NEW.plus_minus, 0))
+                    ON CONFLICT(team_id) DO UPDATE SET players = players + 1, goals = goals + excluded.goals,
+                        assists = assists + excluded.assists, plus_minus = plus_minus + excluded.plus_minus;
+                """;
+        String removeOld = """
+                    UPDATE team_stats SET players = players - 1, goals = goals - IFNULL(OLD.goals, 0),
+                        assists = assists - IFNULL(OLD.assists, 0), plus_minus = plus_minus - IFNULL(OLD.plus_minus, 0)
+                    WHERE team_id = OLD.team_id;
+                    DELETE FROM team_stats WHERE team_id = OLD.team_id AND players <= 0;
+                """;
+        stmt.execute("CREATE TRIGGER trg_team_stats_insert AFTER INSERT ON players BEGIN\n"
+                + addNew + "END");
+        stmt.execute("CREATE TRIGGER trg_team_stats_update AFTER UPDATE OF team_id, goals, assists, plus_minus ON players BEGIN\n"
+                + removeOld + addNew + "END");
+        stmt.execute("CREATE TRIGGER trg_team_stats_delete AFTER DELETE ON players BEGIN\n"
+                + removeOld + "END");
+        createGameEventTriggers(stmt);
+    }
+
+    /**
+     * Creates the secondary indexes used by the stat and team filters.
+     * <p>
+     * Each stat index carries the name as a second column so range scans come back in a
+     * stable order, and the points index is built on the {@code goals + assists} expression
+     * so the points filter can use it directly. The range queries order by {@code +name} so
+     * SQLite does not fall back to walking the whole table in name order to skip a sort.
+     * The plain name index lets name-ordered pages seek straight to their first row, and the team
+     * index carries the name too, so a team's players come back in name order without a sort.
+     * </p>
+     */
+    //Creates the indexes that back the filter queries
+    private void createIndexes() {
+        String[] indexes = {
+                "CREATE INDEX IF NOT EXISTS idx_players_goals ON players(goals, name)",
+                "CREATE INDEX IF NOT EXISTS idx_players_assists ON players(assists, name)",
+                "CREATE INDEX IF NOT EXISTS idx_players_points ON players(goals + assists, name)",
+                "CREATE INDEX IF NOT EXISTS idx_players_plus_minus ON players(plus_minus, name)",
+                "CREATE INDEX IF NOT EXISTS idx_players_team ON players(team_id, name)",
+                "CREATE INDEX IF NOT EXISTS idx_players_name ON players(name)"
+        };
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : indexes) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error creating indexes: " + e.getMessage());
+        }
     }
 
     /**
@@ -72,18 +532,127 @@ public class DatabaseHandler {
      */
     //Adds a new player to the database
     public boolean addPlayer(Player player) {
-        String sql = "INSERT INTO players(name, team, goals, assists, plus_minus) VALUES(?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, player.getName());
-            pstmt.setString(2, player.getTeam());
-            pstmt.setInt(3, player.getGoals());
-            pstmt.setInt(4, player.getAssists());
-            pstmt.setInt(5, player.getPlusMinus());
+        String sql = "INSERT INTO players(name, team_id, goals, assists, plus_minus) VALUES(?, ?, ?, ?, ?)";
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, sql);
+            bindPlayer(pstmt, player);
             pstmt.executeUpdate();
+            metrics.record(DatabaseOperation.ADD_PLAYER, start, 1);
             return true;
         } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.ADD_PLAYER, start);
+            System.out.println("Error adding player: " + e.getMessage());
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a new {@link Player} unless a player with the same name (case-insensitive) already exists.
+     * <p>
+     * The duplicate check and the insert happen in a single {@code INSERT ... ON CONFLICT DO NOTHING}
+     * statement backed by the unique name index, so two concurrent adds of the same name cannot both succeed.
+     * </p>
+     *
+     * @param player the player to add to the database
+     * @return {@code true} if the player was inserted, {@code false} if the name already exists or an error occurred
+     */
+    //Adds a player in one statement, ignoring duplicates
+    public boolean insertPlayerIfAbsent(Player player) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, INSERT_IF_ABSENT_SQL);
+            bindPlayer(pstmt, player);
+            int count = pstmt.executeUpdate();
+            metrics.record(DatabaseOperation.INSERT_PLAYER_IF_ABSENT, start, count);
+            return count > 0;
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.INSERT_PLAYER_IF_ABSENT, start);
             System.out.println("Error adding player: " + e.getMessage());
             return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a batch of players in a single transaction using {@link PreparedStatement#addBatch()}.
+     * <p>
+     * Players whose name already exists are skipped, the same as {@link #insertPlayerIfAbsent(Player)}.
+     * If any statement fails, the whole batch is rolled back.
+     * </p>
+     *
+     * @param players the players to insert
+     * @return the number of players inserted, or {@code -1} if the batch failed and was rolled back
+     */
+    //Inserts many players with one transaction
+    public int insertPlayersBatch(List<Player> players) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, INSERT_IF_ABSENT_SQL);
+            conn.setAutoCommit(false);
+            try {
+                for (Player player : players) {
+                    bindPlayer(pstmt, player);
+                    pstmt.addBatch();
+                }
+                int inserted = 0;
+                for (int count : pstmt.executeBatch()) {
+                    if (count > 0) inserted += count;
+                }
+                conn.commit();
+                metrics.record(DatabaseOperation.INSERT_PLAYERS_BATCH, start, inserted);
+                return inserted;
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback();
+                teamDictionary.clear();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.INSERT_PLAYERS_BATCH, start);
+            System.out.println("Error adding player batch: " + e.getMessage());
+            return -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a {@link Player}, or overwrites the stored team and stats if the name already exists.
+     *
+     * @param player the player to insert or update
+     * @return {@code true} if the player was written successfully, {@code false} otherwise
+     */
+    //Inserts or updates a player in one statement
+    public boolean upsertPlayer(Player player) {
+        String sql = """
+                INSERT INTO players(name, team_id, goals, assists, plus_minus) VALUES(?, ?, ?, ?, ?)
+                ON CONFLICT(name COLLATE NOCASE) DO UPDATE SET
+                    team_id = excluded.team_id, goals = excluded.goals,
+                    assists = excluded.assists, plus_minus = excluded.plus_minus
+                """;
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, sql);
+            bindPlayer(pstmt, player);
+            int count = pstmt.executeUpdate();
+            metrics.record(DatabaseOperation.UPSERT_PLAYER, start, count);
+            return count > 0;
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.UPSERT_PLAYER, start);
+            System.out.println("Error saving player: " + e.getMessage());
+            return false;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -94,23 +663,506 @@ public class DatabaseHandler {
      */
     //Retrieves all players from the database
     public List<Player> getAllPlayers() {
-        List<Player> players = new ArrayList<>();
-        String sql = "SELECT * FROM players ORDER BY name ASC";
+        return queryPlayers(DatabaseOperation.GET_ALL_PLAYERS, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " ORDER BY name ASC");
+    }
+
+    /**
+     * Streams every player, ordered by name, to the given consumer as rows are read.
+     * <p>
+     * Unlike {@link #getAllPlayers()}, no list is built: each row is turned into a {@link Player}
+     * and handed over before the next row is fetched, so memory use does not depend on the size of
+     * the table and the first rows are available immediately. The read connection is held until the
+     * last row has been consumed; without a reader pool, writes from other threads wait until then.
+     * </p>
+     *
+     * @param consumer receives each player in name order
+     * @return the number of players passed to the consumer, or {@code -1} if the query failed
+     */
+    //Streams all players from the database without building a list
+    public long forEachPlayer(Consumer<? super Player> consumer) {
+        long start = System.nanoTime();
+        try {
+            long count = forEachRow("SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " ORDER BY name ASC", consumer);
+            metrics.record(DatabaseOperation.FOR_EACH_PLAYER, start, count);
+            return count;
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.FOR_EACH_PLAYER, start);
+            System.out.println("Error retrieving players: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Retrieves all players with at least the given number of goals, ordered by name.
+     *
+     * @param minGoals the minimum number of goals
+     * @return a {@link List} of matching {@link Player} objects
+     */
+    //Retrieves players by minimum goals using the goals index
+    public List<Player> getPlayersWithMinGoals(int minGoals) {
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_WITH_MIN_GOALS, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " WHERE goals >= ? ORDER BY +name ASC",
+                minGoals);
+    }
+
+    /**
+     * Retrieves all players with at least the given number of assists, ordered by name.
+     *
+     * @param minAssists the minimum number of assists
+     * @return a {@link List} of matching {@link Player} objects
+     */
+    //Retrieves players by minimum assists using the assists index
+    public List<Player> getPlayersWithMinAssists(int minAssists) {
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_WITH_MIN_ASSISTS, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " WHERE assists >= ? ORDER BY +name ASC",
+                minAssists);
+    }
+
+    /**
+     * Retrieves all players whose points (goals + assists) are at least the given value, ordered by name.
+     *
+     * @param minPoints the minimum total points
+     * @return a {@link List} of matching {@link Player} objects
+     */
+    //Retrieves players by minimum points using the points expression index
+    public List<Player> getPlayersWithMinPoints(int minPoints) {
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_WITH_MIN_POINTS, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " WHERE goals + assists >= ? ORDER BY +name ASC",
+                minPoints);
+    }
+
+    /**
+     * Retrieves all players on the given team (case-insensitive), ordered by name.
+     *
+     * @param team the team name to match
+     * @return a {@link List} of matching {@link Player} objects
+     */
+    //Retrieves players on a team by team id using the team index
+    public List<Player> getPlayersByTeam(String team) {
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_BY_TEAM, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES
+                + " WHERE team_id = ? ORDER BY name ASC", teamIdOrNone(team));
+    }
+
+    /**
+     * Retrieves all players sorted by a stat, with ties ordered by name.
+     *
+     * @param stat       the stat to sort by
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return a sorted {@link List} of {@link Player} objects
+     */
+    //Retrieves players sorted by a stat using its index
+    public List<Player> getPlayersSortedBy(Stat stat, boolean descending) {
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_SORTED_BY, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " ORDER BY "
+                + statExpression(stat) + (descending ? " DESC" : " ASC") + ", name ASC");
+    }
+
+    /**
+     * Retrieves the top {@code n} players by a stat, with ties ordered by name.
+     * <p>
+     * The query uses {@code ORDER BY ... LIMIT} against the stat's index, so SQLite reads only
+     * the leading index entries instead of sorting the whole table.
+     * </p>
+     *
+     * @param stat       the stat to rank by
+     * @param n          the maximum number of players to return
+     * @param descending {@code true} for highest first, {@code false} for lowest first
+     * @return up to {@code n} players in rank order
+     */
+    //Retrieves a leaderboard with ORDER BY and LIMIT
+    public List<Player> getTopPlayers(Stat stat, int n, boolean descending) {
+        return queryPlayers(DatabaseOperation.GET_TOP_PLAYERS, "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " ORDER BY "
+                + statExpression(stat) + (descending ? " DESC" : " ASC") + ", name ASC LIMIT ?", n);
+    }
+
+    /**
+     * Retrieves one page of players using keyset pagination.
+     * <p>
+     * Pages are ordered by the sort stat with ties broken by name, or by name alone when
+     * {@code sortKey} is {@code null}. Instead of an {@code OFFSET}, each page starts right after
+     * the last player of the previous page, so SQLite seeks into the matching index and reads only
+     * {@code limit} rows however deep the page is. Rows added or removed between calls do not cause
+     * players to be skipped or repeated.
+     * </p>
+     *
+     * @param after      the last player of the previous page, or {@code null} for the first page
+     * @param limit      the maximum number of players to return
+     * @param sortKey    the stat to order by, or {@code null} to order by name
+     * @param descending {@code true} for highest (or Z to A) first, {@code false} for lowest (or A to Z) first
+     * @return up to {@code limit} players following {@code after}; fewer means the last page was reached
+     */
+    //Retrieves a page of players after a cursor row
+    public List<Player> getPlayersPage(Player after, int limit, Stat sortKey, boolean descending) {
+        String select = "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " ";
+        if (sortKey == null) {
+            String order = descending ? "ORDER BY name DESC LIMIT ?" : "ORDER BY name ASC LIMIT ?";
+            if (after == null) {
+                return queryPlayers(DatabaseOperation.GET_PLAYERS_PAGE, select + order, limit);
+            }
+            return queryPlayers(DatabaseOperation.GET_PLAYERS_PAGE, select + (descending ? "WHERE name < ? " : "WHERE name > ? ") + order,
+                    after.getName(), limit);
+        }
+        String expr = statExpression(sortKey);
+        String order = "ORDER BY " + expr + (descending ? " DESC" : " ASC") + ", name ASC LIMIT ?";
+        if (after == null) {
+            return queryPlayers(DatabaseOperation.GET_PLAYERS_PAGE, select + order, limit);
+        }
+        //The first comparison bounds the index range; the second skips the earlier names of the cursor's value
+        String where = descending
+                ? "WHERE " + expr + " <= ? AND (" + expr + " < ? OR name > ?) "
+                : "WHERE " + expr + " >= ? AND (" + expr + " > ? OR name > ?) ";
+        int value = sortKey.valueOf(after);
+        return queryPlayers(DatabaseOperation.GET_PLAYERS_PAGE, select + where + order, value, value, after.getName(), limit);
+    }
+
+    /**
+     * Runs a multi-criteria query as a single parameterized {@code SELECT}.
+     * <p>
+     * Every filter becomes a {@code WHERE} term, so SQLite can pick the most selective index
+     * (team, name prefix or a stat range) and check the remaining terms on the rows it visits.
+     * The name prefix is matched with {@code LIKE}, which SQLite turns into a range on the
+     * case-insensitive name index. Use {@link #explainQuery(PlayerQuery)} to see the plan.
+     * </p>
+     *
+     * @param query the filters, sort order and limit
+     * @return the matching players in the query's order
+     */
+    //Runs a multi-criteria query in one statement
+    public List<Player> findPlayers(PlayerQuery query) {
+        List<Object> params = new ArrayList<>();
+        String sql = compileQuery(query, params);
+        return queryPlayers(DatabaseOperation.FIND_PLAYERS, sql, params.toArray());
+    }
+
+    /**
+     * Returns SQLite's plan for a multi-criteria query, one line per step, for example
+     * {@code SEARCH players USING INDEX idx_players_team (team_id=?)}.
+     *
+     * @param query the query to explain
+     * @return the plan's detail lines; empty if the plan could not be read
+     */
+    //Shows which indexes a query would use
+    public List<String> explainQuery(PlayerQuery query) {
+        List<Object> params = new ArrayList<>();
+        String sql = "EXPLAIN QUERY PLAN " + compileQuery(query, params);
+        List<String> plan = new ArrayList<>();
+        try {
+            Connection reader = acquireReader();
+            try {
+                PreparedStatement pstmt = prepare(reader, sql);
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString("detail"));
+                    }
+                }
+            } finally {
+                releaseReader(reader);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error explaining query: " + e.getMessage());
+        }
+        return plan;
+    }
+
+    /**
+     * Builds the {@code SELECT} for a multi-criteria query. Values are never inlined, so queries
+     * with the same criteria share one cached statement.
+     *
+     * @param query  the query to compile
+     * @param params receives the values for the statement's placeholders, in order
+     * @return the SQL text
+     */
+    //Compiles a PlayerQuery into SQL
+    private String compileQuery(PlayerQuery query, List<Object> params) {
+        List<String> terms = new ArrayList<>();
+        if (query.getTeam() != null) {
+            terms.add("team_id = ?");
+            params.add(teamIdOrNone(query.getTeam()));
+        }
+        if (query.getNamePrefix() != null) {
+            terms.add("name LIKE ? ESCAPE '\\'");
+            params.add(query.getNamePrefix().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        boolean statFilter = false;
+        for (Stat stat : Stat.values()) {
+            Integer min = query.getMinimum(stat);
+            Integer max = query.getMaximum(stat);
+            if (min != null && min.equals(max)) {
+                terms.add(statExpression(stat) + " = ?");
+                params.add(min);
+            } else {
+                if (min != null) {
+                    terms.add(statExpression(stat) + " >= ?");
+                    params.add(min);
+                }
+                if (max != null) {
+                    terms.add(statExpression(stat) + " <= ?");
+                    params.add(max);
+                }
+            }
+            statFilter |= min != null || max != null;
+        }
+        StringBuilder sql = new StringBuilder("SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES);
+        if (!terms.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", terms));
+        }
+        String dir = query.isDescending() ? " DESC" : " ASC";
+        if (query.getSortKey() != null) {
+            sql.append(" ORDER BY ").append(statExpression(query.getSortKey())).append(dir).append(", name ASC");
+        } else {
+            //As with the single-stat filters, +name keeps a stat range from being traded for a walk of the name index
+            sql.append(statFilter ? " ORDER BY +name" : " ORDER BY name").append(dir);
+        }
+        if (query.getLimit() > 0) {
+            sql.append(" LIMIT ?");
+            params.add(query.getLimit());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Returns the number of players in the table.
+     *
+     * @return the player count, or {@code 0} if the query failed
+     */
+    //Counts the players in SQL
+    public long getPlayerCount() {
+        long start = System.nanoTime();
+        try {
+            Connection reader = acquireReader();
+            try {
+                try (ResultSet rs = prepare(reader, "SELECT COUNT(*) FROM players").executeQuery()) {
+                    long result = rs.next() ? rs.getLong(1) : 0;
+                    metrics.record(DatabaseOperation.GET_PLAYER_COUNT, start, 1);
+                    return result;
+                }
+            } finally {
+                releaseReader(reader);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.GET_PLAYER_COUNT, start);
+            System.out.println("Error counting players: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the totals of every team, highest points first, with ties ordered by team name.
+     * <p>
+     * The totals are read from the {@code team_stats} rollup table, so the cost depends on the
+     * number of teams, not the number of players.
+     * </p>
+     *
+     * @return one {@link TeamStats} per team; empty if the query failed
+     */
+    //Reads the team standings from the rollup table
+    public List<TeamStats> getTeamStats() {
+        return queryTeams("SELECT " + TEAM_STATS_COLUMNS + " FROM " + TEAM_STATS_TABLES + " ORDER BY goals + assists DESC, team ASC");
+    }
+
+    /**
+     * Returns the totals of one team (case-insensitive) from the {@code team_stats} rollup table.
+     *
+     * @param team the team name
+     * @return the team's totals, or {@code null} if the team has no players or the query failed
+     */
+    //Reads one team's totals from the rollup table
+    public TeamStats getTeamStats(String team) {
+        List<TeamStats> teams = queryTeams("SELECT " + TEAM_STATS_COLUMNS + " FROM " + TEAM_STATS_TABLES + " WHERE team_id = ?",
+                teamIdOrNone(team));
+        return teams.isEmpty() ? null : teams.get(0);
+    }
+
+    /**
+     * Runs a {@code team_stats} query and records it in the metrics.
+     *
+     * @param sql    the SELECT statement, which must return {@link #TEAM_STATS_COLUMNS}
+     * @param params the values bound to the statement's placeholders, in order
+     * @return the teams returned by the query; empty if the query failed
+     */
+    //Shared helper that runs a team_stats SELECT
+    private List<TeamStats> queryTeams(String sql, Object... params) {
+        long start = System.nanoTime();
+        List<TeamStats> teams = new ArrayList<>();
+        try {
+            Connection reader = acquireReader();
+            try {
+                PreparedStatement pstmt = prepare(reader, sql);
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        teams.add(new TeamStats(rs.getString("team"), rs.getInt("players"), rs.getLong("goals"),
+                                rs.getLong("assists"), rs.getLong("plus_minus")));
+                    }
+                }
+            } finally {
+                releaseReader(reader);
+            }
+            metrics.record(DatabaseOperation.GET_TEAM_STATS, start, teams.size());
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.GET_TEAM_STATS, start);
+            System.out.println("Error retrieving team stats: " + e.getMessage());
+        }
+        return teams;
+    }
+
+    /**
+     * Returns a team's name as stored in the {@code teams} dictionary.
+     * <p>
+     * Teams are matched case-insensitively and all of a team's players share one spelling, the one
+     * the team was first stored with. Writes store the team under that spelling whatever case the
+     * caller used.
+     * </p>
+     *
+     * @param team the team name (case-insensitive)
+     * @return the stored spelling, or {@code null} if the team has never been stored
+     */
+    //Looks up the stored spelling of a team name
+    public String getTeamName(String team) {
+        TeamEntry entry = lookupTeam(team);
+        return entry == null ? null : entry.name();
+    }
+
+    /**
+     * Fills the in-memory team dictionary from the {@code teams} table, so team filters and writes
+     * can turn names into ids without a query.
+     */
+    //Loads every team id into memory
+    private void loadTeamDictionary() {
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery("SELECT id, team FROM teams")) {
             while (rs.next()) {
-                players.add(new Player(
-                        rs.getString("name"),
-                        rs.getString("team"),
-                        rs.getInt("goals"),
-                        rs.getInt("assists"),
-                        rs.getInt("plus_minus")
-                ));
+                cacheTeam(rs.getInt("id"), rs.getString("team"));
             }
         } catch (SQLException e) {
-            System.out.println("Error retrieving players: " + e.getMessage());
+            System.out.println("Error loading teams: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the id to bind for a team filter.
+     *
+     * @param team the team name (case-insensitive)
+     * @return the team's id, or {@link #NO_TEAM} if the team is unknown or the lookup failed
+     */
+    //Resolves a team name to its id for a read
+    private int teamIdOrNone(String team) {
+        TeamEntry entry = lookupTeam(team);
+        return entry == null ? NO_TEAM : entry.id();
+    }
+
+    /**
+     * Returns a team's dictionary entry, reading it from the database if it is not cached yet,
+     * for example because another connection added it.
+     *
+     * @param team the team name (case-insensitive)
+     * @return the entry, or {@code null} if the team is unknown or the lookup failed
+     */
+    //Finds a team in the dictionary, falling back to the teams table
+    private TeamEntry lookupTeam(String team) {
+        if (team == null) {
+            return null;
+        }
+        TeamEntry entry = teamDictionary.get(CaseFolding.fold(team));
+        if (entry != null) {
+            return entry;
+        }
+        try {
+            Connection reader = acquireReader();
+            try {
+                return findTeam(reader, team);
+            } finally {
+                releaseReader(reader);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error looking up team: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the id to store for a player's team, adding the team to {@code teams} if it is new.
+     * <p>
+     * The write lock must be held. A team added inside a transaction that is rolled back is gone
+     * from the table again, so the caller clears the dictionary after a rollback.
+     * </p>
+     *
+     * @param team the team name (case-insensitive)
+     * @return the team's id
+     * @throws SQLException if the team is missing or cannot be added
+     */
+    //Resolves a team name to its id for a write
+    private int teamIdFor(String team) throws SQLException {
+        if (team == null) {
+            throw new SQLException("Player has no team");
+        }
+        TeamEntry entry = teamDictionary.get(CaseFolding.fold(team));
+        if (entry == null) {
+            entry = findTeam(conn, team);
+        }
+        if (entry == null) {
+            PreparedStatement insert = prepare(conn, "INSERT INTO teams(team) VALUES(?) ON CONFLICT DO NOTHING");
+            insert.setString(1, team);
+            insert.executeUpdate();
+            entry = findTeam(conn, team);
+            if (entry == null) {
+                throw new SQLException("Could not add team " + team);
+            }
+        }
+        return entry.id();
+    }
+
+    /**
+     * Reads one team from the {@code teams} table and adds it to the dictionary.
+     *
+     * @param connection the connection to read with, used exclusively by the caller
+     * @param team       the team name (case-insensitive)
+     * @return the team's entry, or {@code null} if it is not in the table
+     * @throws SQLException if the query fails
+     */
+    //Reads a team row into the dictionary
+    private TeamEntry findTeam(Connection connection, String team) throws SQLException {
+        PreparedStatement pstmt = prepare(connection, FIND_TEAM_SQL);
+        pstmt.setString(1, team);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? cacheTeam(rs.getInt("id"), rs.getString("team")) : null;
+        }
+    }
+
+    //Adds a team row to the dictionary
+    private TeamEntry cacheTeam(int id, String name) {
+        TeamEntry entry = new TeamEntry(id, name);
+        teamDictionary.put(CaseFolding.fold(name), entry);
+        return entry;
+    }
+
+    /**
+     * Returns the sum of a stat over every player.
+     *
+     * @param stat the stat to total
+     * @return the total, or {@code 0} if the table is empty or the query failed
+     */
+    //Totals a stat in SQL
+    public long getStatTotal(Stat stat) {
+        String sql = "SELECT COALESCE(SUM(" + statExpression(stat) + "), 0) FROM players";
+        long start = System.nanoTime();
+        try {
+            Connection reader = acquireReader();
+            try {
+                try (ResultSet rs = prepare(reader, sql).executeQuery()) {
+                    long result = rs.next() ? rs.getLong(1) : 0;
+                    metrics.record(DatabaseOperation.GET_STAT_TOTAL, start, 1);
+                    return result;
+                }
+            } finally {
+                releaseReader(reader);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.GET_STAT_TOTAL, start);
+            System.out.println("Error totalling players: " + e.getMessage());
+            return 0;
         }
-        return players;
     }
 
     /**
@@ -121,20 +1173,23 @@ public class DatabaseHandler {
      */
     //Finds a specific player by name
     public Player findPlayerByName(String name) {
-        String sql = "SELECT * FROM players WHERE LOWER(name) = LOWER(?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, name);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return new Player(
-                        rs.getString("name"),
-                        rs.getString("team"),
-                        rs.getInt("goals"),
-                        rs.getInt("assists"),
-                        rs.getInt("plus_minus")
-                );
+        String sql = "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYER_TABLES + " WHERE name = ? COLLATE NOCASE";
+        long start = System.nanoTime();
+        try {
+            Connection reader = acquireReader();
+            try {
+                PreparedStatement pstmt = prepare(reader, sql);
+                pstmt.setString(1, name);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    Player found = rs.next() ? readPlayer(rs) : null;
+                    metrics.record(DatabaseOperation.FIND_PLAYER_BY_NAME, start, found == null ? 0 : 1);
+                    return found;
+                }
+            } finally {
+                releaseReader(reader);
             }
         } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.FIND_PLAYER_BY_NAME, start);
             System.out.println("Error finding player: " + e.getMessage());
         }
         return null;
@@ -148,21 +1203,20 @@ public class DatabaseHandler {
      */
     //Updates a player's data
     public boolean updatePlayer(Player player) {
-        String sql = """
-                UPDATE players
-                SET team = ?, goals = ?, assists = ?, plus_minus = ?
-                WHERE LOWER(name) = LOWER(?);
-                """;
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, player.getTeam());
-            pstmt.setInt(2, player.getGoals());
-            pstmt.setInt(3, player.getAssists());
-            pstmt.setInt(4, player.getPlusMinus());
-            pstmt.setString(5, player.getName());
-            return pstmt.executeUpdate() > 0;
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, UPDATE_PLAYER_SQL);
+            bindUpdate(pstmt, player);
+            int count = pstmt.executeUpdate();
+            metrics.record(DatabaseOperation.UPDATE_PLAYER, start, count);
+            return count > 0;
         } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.UPDATE_PLAYER, start);
             System.out.println("Error updating player: " + e.getMessage());
             return false;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -174,23 +1228,531 @@ public class DatabaseHandler {
      */
     //Removes a player from the database
     public boolean removePlayer(String name) {
-        String sql = "DELETE FROM players WHERE LOWER(name) = LOWER(?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, REMOVE_PLAYER_SQL);
             pstmt.setString(1, name);
-            return pstmt.executeUpdate() > 0;
+            int count = pstmt.executeUpdate();
+            metrics.record(DatabaseOperation.REMOVE_PLAYER, start, count);
+            return count > 0;
         } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.REMOVE_PLAYER, start);
             System.out.println("Error removing player: " + e.getMessage());
             return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a group of removals, inserts and updates in a single transaction.
+     * <p>
+     * Removals run first, then inserts, then updates, each as one JDBC batch, so removing a player
+     * and adding them back in the same group works. Inserts skip names that already exist and
+     * updates skip names that do not, the same as {@link #insertPlayerIfAbsent(Player)} and
+     * {@link #updatePlayer(Player)}. If any statement fails, the whole group is rolled back.
+     * </p>
+     *
+     * @param removals the names of the players to remove
+     * @param inserts  the players to add
+     * @param updates  the players whose team and stats to overwrite
+     * @return the number of rows changed, or {@code -1} if the group failed and was rolled back
+     */
+    //Commits a group of player writes with one transaction
+    public int applyWrites(List<String> removals, List<Player> inserts, List<Player> updates) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement remove = prepare(conn, REMOVE_PLAYER_SQL);
+            PreparedStatement insert = prepare(conn, INSERT_IF_ABSENT_SQL);
+            PreparedStatement update = prepare(conn, UPDATE_PLAYER_SQL);
+            conn.setAutoCommit(false);
+            try {
+                for (String name : removals) {
+                    remove.setString(1, name);
+                    remove.addBatch();
+                }
+                for (Player player : inserts) {
+                    bindPlayer(insert, player);
+                    insert.addBatch();
+                }
+                for (Player player : updates) {
+                    bindUpdate(update, player);
+                    update.addBatch();
+                }
+                int changed = 0;
+                for (PreparedStatement pstmt : List.of(remove, insert, update)) {
+                    for (int count : pstmt.executeBatch()) {
+                        if (count > 0) changed += count;
+                    }
+                }
+                conn.commit();
+                metrics.record(DatabaseOperation.APPLY_WRITES, start, changed);
+                return changed;
+            } catch (SQLException e) {
+                remove.clearBatch();
+                insert.clearBatch();
+                update.clearBatch();
+                conn.rollback();
+                teamDictionary.clear();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.APPLY_WRITES, start);
+            System.out.println("Error applying player writes: " + e.getMessage());
+            return -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets how far each commit on the write connection is synced to disk before it returns.
+     * <p>
+     * {@link Durability#NORMAL} needs WAL journaling and switches the database file to it;
+     * if WAL is not available, the setting stays at {@link Durability#FULL}.
+     * </p>
+     *
+     * @param durability the sync level for every later commit
+     * @return {@code true} if the requested level is now in effect
+     */
+    //Chooses between syncing every commit and syncing at checkpoints
+    public boolean setDurability(Durability durability) {
+        writeLock.lock();
+        try (Statement stmt = conn.createStatement()) {
+            if (durability == Durability.NORMAL) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode = WAL")) {
+                    if (!rs.next() || !"wal".equalsIgnoreCase(rs.getString(1))) {
+                        System.out.println("WAL mode is not available; commits stay fully synced.");
+                        return false;
+                    }
+                }
+            }
+            stmt.execute("PRAGMA synchronous = " + durability.name());
+            return true;
+        } catch (SQLException e) {
+            System.out.println("Error setting durability: " + e.getMessage());
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records a batch of game stat lines in a single transaction and adds each one to the player's totals.
+     * <p>
+     * Each line is appended to the {@code game_events} log, and a trigger applies it to the player's
+     * goals, assists and plus/minus as an increment, so no player row is read back or rewritten
+     * from the client. Lines for unknown players are skipped. A game holds at most one line per player,
+     * so recording the same game again changes nothing. If any statement fails, the whole batch is
+     * rolled back.
+     * </p>
+     *
+     * @param events the stat lines to record; each must have a game id
+     * @return the number of lines applied, or {@code -1} if the batch failed and was rolled back
+     */
+    //Appends game stat lines and applies them to the totals in one transaction
+    public int recordGameEvents(List<GameEvent> events) {
+        //Stores the player's name as spelled in players, and only if the player exists
+        String sql = """
+                INSERT INTO game_events(game_id, game_date, player, goals, assists, plus_minus)
+                SELECT ?, ?, name, ?, ?, ? FROM players WHERE name = ? COLLATE NOCASE
+                ON CONFLICT DO NOTHING
+                """;
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            PreparedStatement pstmt = prepare(conn, sql);
+            conn.setAutoCommit(false);
+            try {
+                for (GameEvent event : events) {
+                    pstmt.setString(1, event.getGameId());
+                    pstmt.setString(2, event.getGameDate() == null ? null : event.getGameDate().toString());
+                    pstmt.setInt(3, event.getGoals());
+                    pstmt.setInt(4, event.getAssists());
+                    pstmt.setInt(5, event.getPlusMinus());
+                    pstmt.setString(6, event.getPlayer());
+                    pstmt.addBatch();
+                }
+                int applied = 0;
+                for (int count : pstmt.executeBatch()) {
+                    if (count > 0) applied += count;
+                }
+                conn.commit();
+                metrics.record(DatabaseOperation.RECORD_GAME_EVENTS, start, applied);
+                return applied;
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.RECORD_GAME_EVENTS, start);
+            System.out.println("Error recording game events: " + e.getMessage());
+            return -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a player's game log: every game line and adjustment in the order it was recorded.
+     *
+     * @param name the player's name (case-insensitive)
+     * @return the player's events, oldest first; empty if there are none or the query failed
+     */
+    //Reads a player's events from the log
+    public List<GameEvent> getGameLog(String name) {
+        long start = System.nanoTime();
+        List<GameEvent> log = new ArrayList<>();
+        try {
+            Connection reader = acquireReader();
+            try {
+                PreparedStatement pstmt = prepare(reader, """
+                        SELECT game_id, game_date, player, goals, assists, plus_minus FROM game_events
+                        WHERE player = ? ORDER BY id ASC
+                        """);
+                pstmt.setString(1, name);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String date = rs.getString("game_date");
+                        log.add(new GameEvent(rs.getString("game_id"), date == null ? null : LocalDate.parse(date),
+                                rs.getString("player"), rs.getInt("goals"), rs.getInt("assists"), rs.getInt("plus_minus")));
+                    }
+                }
+            } finally {
+                releaseReader(reader);
+            }
+            metrics.record(DatabaseOperation.GET_GAME_LOG, start, log.size());
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.GET_GAME_LOG, start);
+            System.out.println("Error retrieving game log: " + e.getMessage());
+        }
+        return log;
+    }
+
+    /**
+     * Recomputes every player's goals, assists and plus/minus as the sum of their {@code game_events}.
+     * <p>
+     * The triggers keep the totals equal to these sums, so this only changes rows whose totals were
+     * edited with the triggers bypassed, for example by another tool writing to the file.
+     * </p>
+     *
+     * @return the number of players whose totals were corrected, or {@code -1} if the rebuild failed
+     */
+    //Rebuilds the player totals from the event log
+    public int rebuildTotalsFromEvents() {
+        String sql = """
+                UPDATE players SET goals = t.goals, assists = t.assists, plus_minus = t.plus_minus
+                FROM (SELECT player, SUM(goals) AS goals, SUM(assists) AS assists, SUM(plus_minus) AS plus_minus
+                      FROM game_events GROUP BY player) AS t
+                WHERE t.player = players.name
+                    AND (players.goals IS NOT t.goals OR players.assists IS NOT t.assists OR players.plus_minus IS NOT t.plus_minus)
+                """;
+        long start = System.nanoTime();
+        writeLock.lock();
+        try (Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                //The rebuild itself must not be logged as adjustments
+                stmt.execute("INSERT INTO game_event_guard VALUES (1)");
+                stmt.executeUpdate(sql);
+                //The driver's update count includes rows written by triggers, changes() does not
+                int updated;
+                try (ResultSet rs = stmt.executeQuery("SELECT changes()")) {
+                    updated = rs.next() ? rs.getInt(1) : 0;
+                }
+                stmt.execute("DELETE FROM game_event_guard");
+                conn.commit();
+                metrics.record(DatabaseOperation.REBUILD_TOTALS_FROM_EVENTS, start, updated);
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(DatabaseOperation.REBUILD_TOTALS_FROM_EVENTS, start);
+            System.out.println("Error rebuilding totals: " + e.getMessage());
+            return -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a player query with the given parameters, collects every row and records the call in the metrics.
+     *
+     * @param operation the public operation the query belongs to
+     * @param sql       the SELECT statement, which must return {@link #PLAYER_COLUMNS}
+     * @param params    the values bound to the statement's placeholders, in order
+     * @return the players returned by the query; empty if the query failed
+     */
+    //Shared helper that runs a player SELECT and builds the list
+    private List<Player> queryPlayers(DatabaseOperation operation, String sql, Object... params) {
+        long start = System.nanoTime();
+        List<Player> players = new ArrayList<>();
+        try {
+            forEachRow(sql, players::add, params);
+            metrics.record(operation, start, players.size());
+        } catch (SQLException e) {
+            metrics.recordError(operation, start);
+            System.out.println("Error retrieving players: " + e.getMessage());
+        }
+        return players;
+    }
+
+    /**
+     * Runs a player query and hands each row to the consumer as it is read.
+     *
+     * @param sql      the SELECT statement, which must return {@link #PLAYER_COLUMNS}
+     * @param consumer receives each player in result order
+     * @param params   the values bound to the statement's placeholders, in order
+     * @return the number of players passed to the consumer
+     * @throws SQLException if the query fails
+     */
+    //Shared helper that runs a player SELECT row by row
+    private long forEachRow(String sql, Consumer<? super Player> consumer, Object... params) throws SQLException {
+        Connection reader = acquireReader();
+        try {
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            long count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(readPlayer(rs));
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            releaseReader(reader);
+        }
+    }
+
+    /**
+     * Takes a connection for a read, waiting for a pooled reader if all are busy.
+     * Without a reader pool, this locks and returns the write connection.
+     * Every call must be paired with {@link #releaseReader(Connection)}.
+     *
+     * @return a connection the caller may use exclusively until it is released
+     * @throws SQLException if the handler is closed or the wait is interrupted
+     */
+    //Borrows a connection for a read query
+    private Connection acquireReader() throws SQLException {
+        if (readers == null) {
+            writeLock.lock();
+            return conn;
+        }
+        if (closed) {
+            throw new SQLException("Database handler is closed");
+        }
+        try {
+            return readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
         }
     }
 
     /**
-     * Closes the active database connection if it is open.
+     * Returns a connection taken by {@link #acquireReader()}. Pooled readers handed back after
+     * {@link #close()} are closed instead of being returned to the pool.
+     *
+     * @param reader the connection to return
+     */
+    //Returns a borrowed read connection
+    private void releaseReader(Connection reader) {
+        if (readers == null) {
+            writeLock.unlock();
+            return;
+        }
+        if (closed) {
+            closeConnection(reader);
+        } else {
+            readers.add(reader);
+        }
+    }
+
+    /**
+     * Returns a compiled statement for the given SQL on the given connection, preparing it
+     * only the first time it is used there.
+     * <p>
+     * Cached statements stay open until {@link #close()}. Parameters left over from the previous
+     * call are cleared before the statement is handed out again. The caller must have exclusive
+     * use of the connection, which is what keeps the per-connection cache single-threaded.
+     * </p>
+     *
+     * @param connection the connection the statement belongs to
+     * @param sql        the SQL text of the statement
+     * @return a ready-to-bind {@link PreparedStatement}
+     * @throws SQLException if the statement cannot be prepared
      */
-    //Closes the database connection
+    //Reuses compiled statements instead of recompiling the same SQL
+    private PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        Map<String, PreparedStatement> cache = statementCache.computeIfAbsent(connection, c -> new HashMap<>());
+        PreparedStatement pstmt = cache.get(sql);
+        if (pstmt != null) {
+            statementCacheHits.incrementAndGet();
+            pstmt.clearParameters();
+            return pstmt;
+        }
+        statementCacheMisses.incrementAndGet();
+        pstmt = connection.prepareStatement(sql);
+        cache.put(sql, pstmt);
+        return pstmt;
+    }
+
+    /**
+     * Returns how many times a cached compiled statement was reused.
+     *
+     * @return the number of statement cache hits
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    /**
+     * Returns how many times a statement had to be compiled because it was not cached yet.
+     *
+     * @return the number of statement cache misses
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Returns the per-operation call counts, error counts, row counts and latency percentiles
+     * recorded by this handler. The same statistics are published as JMX MBeans.
+     *
+     * @return the live metrics
+     */
+    public DatabaseMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the SQL expression for a stat. The points expression matches the points index.
+     *
+     * @param stat the stat
+     * @return the column or expression holding that stat
+     */
+    //Maps a stat to its SQL column or expression
+    private static String statExpression(Stat stat) {
+        return switch (stat) {
+            case GOALS -> "goals";
+            case ASSISTS -> "assists";
+            case POINTS -> "goals + assists";
+            case PLUS_MINUS -> "plus_minus";
+        };
+    }
+
+    /**
+     * Binds a player's fields to the five placeholders of an insert statement. The team is bound as
+     * its id, adding it to {@code teams} first if it is new, so the write lock must be held.
+     *
+     * @param pstmt  a statement whose first five parameters are name, team id, goals, assists and plus/minus
+     * @param player the player whose values are bound
+     * @throws SQLException if a parameter cannot be set or the team cannot be added
+     */
+    //Sets the insert parameters for one player
+    private void bindPlayer(PreparedStatement pstmt, Player player) throws SQLException {
+        pstmt.setString(1, player.getName());
+        pstmt.setInt(2, teamIdFor(player.getTeam()));
+        pstmt.setInt(3, player.getGoals());
+        pstmt.setInt(4, player.getAssists());
+        pstmt.setInt(5, player.getPlusMinus());
+    }
+
+    /**
+     * Binds a player's fields to the placeholders of {@link #UPDATE_PLAYER_SQL}. As with
+     * {@link #bindPlayer}, the team is bound as its id and the write lock must be held.
+     *
+     * @param pstmt  a statement whose parameters are team id, goals, assists, plus/minus and then name
+     * @param player the player whose values are bound
+     * @throws SQLException if a parameter cannot be set or the team cannot be added
+     */
+    //Sets the update parameters for one player
+    private void bindUpdate(PreparedStatement pstmt, Player player) throws SQLException {
+        pstmt.setInt(1, teamIdFor(player.getTeam()));
+        pstmt.setInt(2, player.getGoals());
+        pstmt.setInt(3, player.getAssists());
+        pstmt.setInt(4, player.getPlusMinus());
+        pstmt.setString(5, player.getName());
+    }
+
+    /**
+     * Builds a {@link Player} from the current row of a result set.
+     *
+     * @param rs a result set positioned on a row containing {@link #PLAYER_COLUMNS}
+     * @return the player stored in that row
+     * @throws SQLException if a column cannot be read
+     */
+    //Maps one result row to a Player
+    private static Player readPlayer(ResultSet rs) throws SQLException {
+        return new Player(
+                rs.getString("name"),
+                rs.getString("team"),
+                rs.getInt("goals"),
+                rs.getInt("assists"),
+                rs.getInt("plus_minus")
+        );
+    }
+
+    /**
+     * Closes all cached statements and then the active database connections if they are open.
+     * Reader connections that are in use are closed as soon as they are handed back.
+     * The metrics MBeans are unregistered.
+     */
+    //Closes the cached statements and the database connections
     public void close() {
+        writeLock.lock();
+        try {
+            closed = true;
+            if (readers != null) {
+                Connection reader;
+                while ((reader = readers.poll()) != null) {
+                    closeConnection(reader);
+                }
+            }
+            closeConnection(conn);
+            metrics.unregisterMBeans();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Closes a connection together with the statements cached for it.
+     *
+     * @param connection the connection to close; ignored if {@code null}
+     */
+    //Closes one connection and its cached statements
+    private void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        Map<String, PreparedStatement> cache = statementCache.remove(connection);
+        if (cache != null) {
+            for (PreparedStatement pstmt : cache.values()) {
+                try {
+                    pstmt.close();
+                } catch (SQLException e) {
+                    System.out.println("Error closing statement: " + e.getMessage());
+                }
+            }
+        }
         try {
-            if (conn != null) conn.close();
+            connection.close();
         } catch (SQLException e) {
             System.out.println("Error closing database: " + e.getMessage());
         }
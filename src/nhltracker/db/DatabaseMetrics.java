@@ -0,0 +1,131 @@
+package nhltracker.db;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * The {@code DatabaseMetrics} class collects per-operation call counts, error counts, row counts and
+ * latency histograms for a {@link DatabaseHandler}.
+ * <p>
+ * Each {@link DatabaseOperation} has one {@link OperationStats}, which can be published on the
+ * platform MBean server under
+ * {@code nhltracker:type=DatabaseHandler,database=<path>,operation=<method>} for JConsole or any
+ * other JMX client, and {@link #report()} formats all of them as a table for the CLI.
+ * </p>
+ */
+public class DatabaseMetrics {
+    private final OperationStats[] stats;
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    /**
+     * Constructs empty statistics for every {@link DatabaseOperation}.
+     */
+    DatabaseMetrics() {
+        DatabaseOperation[] operations = DatabaseOperation.values();
+        stats = new OperationStats[operations.length];
+        for (DatabaseOperation operation : operations) {
+            stats[operation.ordinal()] = new OperationStats(operation);
+        }
+    }
+
+    /**
+     * Records a successful call that started at {@code startNanos}.
+     *
+     * @param operation  the operation that completed
+     * @param startNanos the {@link System#nanoTime()} value taken when the call started
+     * @param rows       the rows returned or affected
+     */
+    void record(DatabaseOperation operation, long startNanos, long rows) {
+        stats[operation.ordinal()].record(System.nanoTime() - startNanos, rows);
+    }
+
+    /**
+     * Records a call that started at {@code startNanos} and failed with a database error.
+     *
+     * @param operation  the operation that failed
+     * @param startNanos the {@link System#nanoTime()} value taken when the call started
+     */
+    void recordError(DatabaseOperation operation, long startNanos) {
+        stats[operation.ordinal()].recordError(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the statistics of one operation.
+     *
+     * @param operation the operation
+     * @return its live statistics
+     */
+    public OperationStats get(DatabaseOperation operation) {
+        return stats[operation.ordinal()];
+    }
+
+    /**
+     * Clears the statistics of every operation.
+     */
+    public void reset() {
+        for (OperationStats s : stats) {
+            s.reset();
+        }
+    }
+
+    /**
+     * Formats the statistics of every operation that has been called as a text table.
+     *
+     * @return the report, or a short message if nothing has been recorded yet
+     */
+    //Formats the metrics for the CLI
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-26s %10s %7s %12s %11s %11s %11s%n",
+                "Operation", "Calls", "Errors", "Rows", "p50 (ms)", "p99 (ms)", "max (ms)"));
+        boolean any = false;
+        for (OperationStats s : stats) {
+            if (s.getCalls() == 0) {
+                continue;
+            }
+            any = true;
+            sb.append(String.format("%-26s %,10d %,7d %,12d %11.3f %11.3f %11.3f%n",
+                    s.getOperation(), s.getCalls(), s.getErrors(), s.getRows(),
+                    s.getP50Micros() / 1000, s.getP99Micros() / 1000, s.getMaxMicros() / 1000));
+        }
+        return any ? sb.toString() : "No database operations recorded yet.";
+    }
+
+    /**
+     * Publishes every operation's statistics as an MBean on the platform MBean server.
+     * Failures are reported on the console and do not affect the database.
+     *
+     * @param dbPath the database file, used to tell handlers apart in the object names
+     */
+    //Registers the JMX MBeans
+    void registerMBeans(String dbPath) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (OperationStats s : stats) {
+                ObjectName name = new ObjectName("nhltracker:type=DatabaseHandler,database="
+                        + ObjectName.quote(dbPath) + ",operation=" + s.getOperation());
+                server.registerMBean(s, name);
+                registered.add(name);
+            }
+        } catch (JMException e) {
+            System.out.println("Error registering database metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the MBeans published by {@link #registerMBeans(String)}.
+     */
+    //Unregisters the JMX MBeans
+    void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                System.out.println("Error unregistering database metrics: " + e.getMessage());
+            }
+        }
+        registered.clear();
+    }
+}
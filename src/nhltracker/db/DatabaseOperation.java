@@ -0,0 +1,46 @@
+package nhltracker.db;
+/**
+ * The public {@link DatabaseHandler} operations that are timed and counted by {@link DatabaseMetrics}.
+ * Each operation is named after the handler method it measures.
+ */
+public enum DatabaseOperation {
+    ADD_PLAYER("addPlayer"),
+    INSERT_PLAYER_IF_ABSENT("insertPlayerIfAbsent"),
+    INSERT_PLAYERS_BATCH("insertPlayersBatch"),
+    UPSERT_PLAYER("upsertPlayer"),
+    UPDATE_PLAYER("updatePlayer"),
+    REMOVE_PLAYER("removePlayer"),
+    APPLY_WRITES("applyWrites"),
+    RECORD_GAME_EVENTS("recordGameEvents"),
+    REBUILD_TOTALS_FROM_EVENTS("rebuildTotalsFromEvents"),
+    FIND_PLAYER_BY_NAME("findPlayerByName"),
+    GET_GAME_LOG("getGameLog"),
+    GET_ALL_PLAYERS("getAllPlayers"),
+    FOR_EACH_PLAYER("forEachPlayer"),
+    GET_PLAYERS_WITH_MIN_GOALS("getPlayersWithMinGoals"),
+    GET_PLAYERS_WITH_MIN_ASSISTS("getPlayersWithMinAssists"),
+    GET_PLAYERS_WITH_MIN_POINTS("getPlayersWithMinPoints"),
+    GET_PLAYERS_BY_TEAM("getPlayersByTeam"),
+    GET_PLAYERS_SORTED_BY("getPlayersSortedBy"),
+    GET_TOP_PLAYERS("getTopPlayers"),
+    GET_PLAYERS_PAGE("getPlayersPage"),
+    FIND_PLAYERS("findPlayers"),
+    GET_STAT_TOTAL("getStatTotal"),
+    GET_TEAM_STATS("getTeamStats"),
+    GET_PLAYER_COUNT("getPlayerCount");
+
+    private final String methodName;
+
+    DatabaseOperation(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Returns the name of the {@link DatabaseHandler} method this operation measures.
+     *
+     * @return the method name, used in reports and JMX object names
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
@@ -0,0 +1,14 @@
+package nhltracker.db;
+/**
+ * How far a commit on the {@link DatabaseHandler} write connection is synced to disk before it returns.
+ * Each level is named after the SQLite {@code PRAGMA synchronous} setting it selects.
+ */
+public enum Durability {
+    /** Every commit is synced to disk; a committed write survives a power loss. */
+    FULL,
+    /**
+     * Commits are appended to the WAL without waiting for a sync, which happens at checkpoints.
+     * The database is never corrupted, but a power loss can undo the most recent commits.
+     */
+    NORMAL
+}
@@ -0,0 +1,175 @@
+package nhltracker.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+/**
+ * The {@code OperationStats} class keeps the counters and latency histogram for one {@link DatabaseOperation}.
+ * <p>
+ * Recording is lock-free and allocation-free: counts use {@link LongAdder}s and latencies go into a
+ * fixed log-linear histogram, with 8 linear sub-buckets per power of two of nanoseconds. That keeps
+ * every bucket within 12.5% of the values it holds while covering nanoseconds to hours in under
+ * 500 slots. Percentiles are computed from the histogram only when they are read.
+ * </p>
+ */
+public class OperationStats implements OperationStatsMBean {
+    /** Values below this are counted exactly, one bucket each. */
+    private static final int LINEAR_LIMIT = 16;
+    /** Sub-buckets per power of two above {@link #LINEAR_LIMIT}, as a bit count (2^3 = 8). */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Exponent of {@link #LINEAR_LIMIT}. */
+    private static final int FIRST_EXPONENT = 4;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final DatabaseOperation operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Constructs empty statistics for an operation.
+     *
+     * @param operation the measured operation
+     */
+    OperationStats(DatabaseOperation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param nanos the call's latency in nanoseconds
+     * @param count the rows returned or affected
+     */
+    void record(long nanos, long count) {
+        recordLatency(nanos);
+        rows.add(count);
+    }
+
+    /**
+     * Records a call that failed with a database error.
+     *
+     * @param nanos the call's latency in nanoseconds
+     */
+    void recordError(long nanos) {
+        recordLatency(nanos);
+        errors.increment();
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.getMethodName();
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long count = calls.sum();
+        return count == 0 ? 0 : totalNanos.sum() / 1000.0 / count;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentileNanos(0.50) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentileNanos(0.99) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        rows.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    //Counts a call and adds its latency to the histogram
+    private void recordLatency(long nanos) {
+        nanos = Math.max(0, nanos);
+        calls.increment();
+        totalNanos.add(nanos);
+        histogram.incrementAndGet(bucketOf(nanos));
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Returns an upper bound for the given percentile, capped at the largest recorded value.
+     *
+     * @param fraction the percentile as a fraction, for example {@code 0.99}
+     * @return the latency in nanoseconds, or {@code 0} if nothing has been recorded
+     */
+    private long percentileNanos(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    //Maps a latency to its histogram bucket
+    private static int bucketOf(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + sub;
+    }
+
+    //Returns the largest latency that falls into a bucket
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + FIRST_EXPONENT;
+        int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + sub + 1) * width - 1;
+    }
+}
@@ -0,0 +1,36 @@
+package nhltracker.db;
+/**
+ * JMX management interface for the statistics of one {@link DatabaseOperation}.
+ * <p>
+ * Latencies include any time spent waiting for a connection, so they match what callers see.
+ * Percentiles are read from a log-linear histogram and are accurate to within about 12.5%.
+ * </p>
+ */
+public interface OperationStatsMBean {
+    /** @return the name of the measured {@link DatabaseHandler} method */
+    String getOperation();
+
+    /** @return the number of completed calls, including failed ones */
+    long getCalls();
+
+    /** @return the number of calls that failed with a database error */
+    long getErrors();
+
+    /** @return the total rows returned (reads) or affected (writes) by successful calls */
+    long getRows();
+
+    /** @return the mean latency in microseconds */
+    double getMeanMicros();
+
+    /** @return the median latency in microseconds */
+    double getP50Micros();
+
+    /** @return the 99th percentile latency in microseconds */
+    double getP99Micros();
+
+    /** @return the slowest call in microseconds */
+    double getMaxMicros();
+
+    /** Clears all counters and the latency histogram. */
+    void reset();
+}
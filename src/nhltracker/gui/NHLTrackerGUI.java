@@ -4,13 +4,17 @@ import nhltracker.*;
 import nhltracker.db.DatabaseHandler;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /*
  Phase 4 GUI for the NHL Stat Tracker.
@@ -24,19 +28,67 @@ import java.util.stream.Collectors;
  * viewing, adding, updating, deleting, filtering, and sorting player data. Data is persisted in a connected
  * SQLite database managed by the {@link DatabaseHandler}.
  * </p>
+ * <p>
+ * All database work runs on background {@link SwingWorker}s so the window never freezes on a slow disk
+ * or a large roster. Results are applied back on the Event Dispatch Thread, a newer query supersedes
+ * any query still running, and a busy indicator is shown while work is pending.
+ * </p>
+ * <p>
+ * The full roster and full sorts are loaded a page at a time as the table is scrolled, so only the
+ * pages the user has reached are held in memory.
+ * </p>
+ * <p>
+ * Filters accumulate until they are cleared: each applied filter narrows the previous ones, and the
+ * selected sort and top limit are added to the same {@link PlayerQuery}, so any combination is
+ * answered by a single query.
+ * </p>
+ * <p>
+ * The name fields suggest matching player names as the user types, from an in-memory index that
+ * also finds names by a word, a fragment or a misspelling.
+ * </p>
  */
 public class NHLTrackerGUI extends JFrame {
+    //Number of players fetched per page while scrolling
+    private static final int PAGE_SIZE = 200;
+    //Number of ranked matches shown for a "Player Name" search
+    private static final int NAME_SEARCH_RESULTS = 50;
     //References to helper classes and UI components
     private StatManager manager;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PlayerTableModel tableModel;
     //Input fields for adding or updating player data
     private JTextField nameField, teamField, goalsField, assistsField, plusMinusField;
     //Combo boxes and text fields for filtering and sorting
-    private JComboBox<String> filterTypeBox, sortBox;
+    private JComboBox<String> filterTypeBox, sortBox, topBox;
     private JTextField filterValueField;
     //Summary label will show how many total players are in the table
     private JLabel summaryLabel;
+    //Busy indicator shown while background database work is running
+    private JProgressBar busyBar;
+    //Buttons that need the database, enabled once it has been opened
+    private final List<JButton> actionButtons = new ArrayList<>();
+    //The running table query, cancelled when a newer one starts
+    private SwingWorker<List<Player>, Void> currentQuery;
+    //Number of background tasks still running
+    private int pendingTasks;
+    //Fetches the page after a given player for the lazily loaded view, or null when a full list is shown
+    private Function<Player, List<Player>> pageSource;
+    private boolean pageLoading;
+    private boolean morePages;
+    //Filters applied so far, combined into one query, or null when no filter is active
+    private PlayerQuery activeFilter;
+    //Set once the window has started closing the database
+    private boolean closing;
+
+    /**
+     * Constructs the NHL Stat Tracker GUI window with every edit committed before it returns.
+     *
+     * @see #NHLTrackerGUI(boolean)
+     */
+    //Opens the window with write-behind turned off
+    public NHLTrackerGUI() {
+        this(false);
+    }
 
     /**
      * Constructs the NHL Stat Tracker GUI window.
@@ -44,9 +96,11 @@ public class NHLTrackerGUI extends JFrame {
      * This constructor prompts the user to select their database file, establishes a connection to
      * the SQLite database, initializes GUI components, and sets up event listeners for user actions.
      * </p>
+     *
+     * @param writeBehind whether edits are committed in groups by a background writer
      */
     //Contructor that sets up the GUI along with a file handler to read and write player data to players.txt
-    public NHLTrackerGUI() {
+    public NHLTrackerGUI(boolean writeBehind) {
         //Ask user for database location
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Please select your NHL Stats database file");
@@ -60,20 +114,31 @@ public class NHLTrackerGUI extends JFrame {
         File dbFile = fileChooser.getSelectedFile();
         String dbPath = dbFile.getAbsolutePath();
 
-        DatabaseHandler dbHandler = new DatabaseHandler(dbPath);
-        manager = new StatManager(dbHandler);
-
         //Configuring the main window
         setTitle("NHL Stat Tracker");
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        //Closing the window first commits queued edits, so a failed commit can be reported
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeAndExit();
+            }
+        });
         setSize(1050, 750);
         setLocationRelativeTo(null);
 
-        //Defining the columns for the player information table
-        String[] columns = {"Name", "Team", "Goals", "Assists", "Points", "+/-"};
-        tableModel = new DefaultTableModel(columns, 0);
+        //The table model reads cells straight from the player list shown
+        tableModel = new PlayerTableModel();
         table = new JTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(table);
+        //Fetches the next page when the user scrolls near the bottom of a lazily loaded view
+        JScrollBar tableScrollBar = scrollPane.getVerticalScrollBar();
+        tableScrollBar.addAdjustmentListener(e -> {
+            int remaining = tableScrollBar.getMaximum() - tableScrollBar.getValue() - tableScrollBar.getVisibleAmount();
+            if (remaining <= table.getRowHeight() * (PAGE_SIZE / 4)) {
+                loadNextPage();
+            }
+        });
 
         //Text fields to allow user to add or update player information
         JPanel inputPanel = new JPanel(new GridLayout(2, 6, 10, 5));
@@ -105,9 +170,10 @@ public class NHLTrackerGUI extends JFrame {
         //A control ribbon which allows the user to filter, sort, remove, update, and reload player data
         JPanel controlRibbon = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 5));
 
-        //Filtering section will allow users to filter by goals, assists, points, team, and player name
+        //Filtering section will allow users to filter by goals, assists, points, plus/minus, team, and player name
+        //Each applied filter narrows the ones before it until Clear is pressed
         controlRibbon.add(new JLabel("Filter:"));
-        filterTypeBox = new JComboBox<>(new String[]{"Goals", "Assists", "Points", "Team", "Player Name"});
+        filterTypeBox = new JComboBox<>(new String[]{"Goals", "Assists", "Points", "+/-", "Team", "Name Starts With", "Player Name"});
         filterValueField = new JTextField(10);
         JButton filterButton = new JButton("Apply");
         JButton clearFilterButton = new JButton("Clear");
@@ -123,8 +189,11 @@ public class NHLTrackerGUI extends JFrame {
         sortBox = new JComboBox<>(new String[]{
                 "None", "Goals ↑", "Goals ↓", "Assists ↑", "Assists ↓", "Points ↑", "Points ↓"
         });
+        //Limits a sort to the top rows so only a leaderboard is fetched
+        topBox = new JComboBox<>(new String[]{"All", "Top 10", "Top 25", "Top 50", "Top 100"});
         JButton sortButton = new JButton("Apply");
         controlRibbon.add(sortBox);
+        controlRibbon.add(topBox);
         controlRibbon.add(sortButton);
 
         controlRibbon.add(new JLabel(" | "));
@@ -142,6 +211,10 @@ public class NHLTrackerGUI extends JFrame {
         JPanel summaryPanel = new JPanel(new BorderLayout());
         summaryLabel = new JLabel("Total Players: 0", SwingConstants.CENTER);
         summaryPanel.add(summaryLabel, BorderLayout.CENTER);
+        busyBar = new JProgressBar();
+        busyBar.setIndeterminate(true);
+        busyBar.setVisible(false);
+        summaryPanel.add(busyBar, BorderLayout.EAST);
         summaryPanel.setBorder(BorderFactory.createEtchedBorder());
 
         //Wrap the bottom section in a scrollable area for better viewing
@@ -166,30 +239,247 @@ public class NHLTrackerGUI extends JFrame {
         updateButton.addActionListener(e -> updateSelectedPlayer());
         refreshButton.addActionListener(e -> loadPlayersIntoTable());
         filterButton.addActionListener(e -> applyFilter());
-        clearFilterButton.addActionListener(e -> loadPlayersIntoTable());
+        clearFilterButton.addActionListener(e -> clearFilter());
         sortButton.addActionListener(e -> applySort());
 
+        //As-you-type name suggestions, once the name index has been built
+        new NameAutocomplete(nameField, this::suggestNames, () -> manager != null);
+        new NameAutocomplete(filterValueField, this::suggestNames, () -> manager != null
+                && filterTypeBox.getSelectedItem().toString().matches("Player Name|Name Starts With"));
 
-        loadPlayersIntoTable();
+        //Every button stays disabled until the database has been opened
+        actionButtons.addAll(List.of(addButton, removeButton, updateButton, refreshButton,
+                filterButton, clearFilterButton, sortButton));
+        setActionsEnabled(false);
         setVisible(true);
+
+        //Opens the database off the EDT, then loads the first page of the table
+        runInBackground(() -> {
+            StatManager opened = new StatManager(new DatabaseHandler(dbPath));
+            //The roster comes from the binary snapshot when there is one, so the table fills without a full query
+            opened.enableSnapshot(RosterSnapshot.pathFor(dbPath));
+            //Repeated filters and leaderboards are answered from a bounded result cache
+            opened.enableQueryCache();
+            //Name suggestions and searches are answered from memory
+            opened.enableNameSearch();
+            //Only when asked for, edits return at memory speed and are committed in groups
+            if (writeBehind) {
+                opened.enableWriteBehind();
+            }
+            return opened;
+        }, opened -> {
+            manager = opened;
+            setActionsEnabled(true);
+            loadPlayersIntoTable();
+            //Catches up with changes made to the database since the snapshot was written
+            runInBackground(opened::verifySnapshot, current -> {
+                if (!current) {
+                    loadPlayersIntoTable();
+                }
+            });
+        });
+    }
+
+    /**
+     * Runs database work on a background thread and hands its result to a callback on the EDT.
+     * <p>The busy indicator is shown until the work finishes. If the work throws, an error dialog is shown
+     * instead of calling the callback. Nothing is applied if the worker was cancelled.</p>
+     *
+     * @param work      the database work to run in the background
+     * @param onSuccess the callback run on the EDT with the result
+     * @param <T>       the result type
+     * @return the started worker
+     */
+    //Runs a database task off the EDT and applies its result on the EDT
+    private <T> SwingWorker<T, Void> runInBackground(Callable<T> work, Consumer<T> onSuccess) {
+        setBusy(true);
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(NHLTrackerGUI.this, "Database error: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+        return worker;
+    }
+
+    /**
+     * Closes the database and exits the application.
+     * <p>Queued edits are committed first, in the background. If that commit fails, the user is told
+     * that some edits were lost before the application exits.</p>
+     */
+    //Flushes queued edits, warns if they were lost, then exits
+    private void closeAndExit() {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        if (manager == null) {
+            dispose();
+            System.exit(0);
+        }
+        setActionsEnabled(false);
+        StatManager closed = manager;
+        setBusy(true);
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return closed.close();
+            }
+
+            @Override
+            protected void done() {
+                setBusy(false);
+                boolean flushed;
+                try {
+                    flushed = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    flushed = false;
+                } catch (ExecutionException e) {
+                    flushed = false;
+                }
+                if (!flushed) {
+                    JOptionPane.showMessageDialog(NHLTrackerGUI.this,
+                            "Some edits could not be saved to the database and were lost.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+                dispose();
+                System.exit(0);
+            }
+        }.execute();
+    }
+
+    /**
+     * Runs a player write in the background, then rewrites the roster snapshot if it changed.
+     *
+     * @param write     the write, returning whether it succeeded
+     * @param onSuccess the callback run on the EDT with the write's result
+     */
+    //Runs a write off the EDT and keeps the snapshot next to the database current
+    private void runWrite(Callable<Boolean> write, Consumer<Boolean> onSuccess) {
+        runInBackground(() -> {
+            boolean changed = write.call();
+            manager.saveSnapshot();
+            return changed;
+        }, onSuccess);
+    }
+
+    /**
+     * Runs a player query in the background and shows its result in the table.
+     * <p>A query still running from an earlier action is cancelled, so its result is never shown
+     * over the newer one.</p>
+     *
+     * @param query the query returning the players to display
+     */
+    //Starts a table query that supersedes any earlier one
+    private void runQuery(Callable<List<Player>> query) {
+        if (currentQuery != null) {
+            currentQuery.cancel(false);
+        }
+        pageSource = null;
+        currentQuery = runInBackground(query, this::populateTable);
+    }
+
+    /**
+     * Shows every player in a lazily loaded view: the first page is fetched now and the rest as the user scrolls.
+     * <p>Pages use keyset pagination, so startup time and memory do not depend on the size of the roster.</p>
+     *
+     * @param sortKey    the stat to order by, or {@code null} to order by name
+     * @param descending {@code true} for highest first
+     */
+    //Starts a paged view of all players
+    private void showPaged(Stat sortKey, boolean descending) {
+        if (currentQuery != null) {
+            currentQuery.cancel(false);
+            currentQuery = null;
+        }
+        Function<Player, List<Player>> source = after -> manager.getPlayersPage(after, PAGE_SIZE, sortKey, descending);
+        pageSource = source;
+        pageLoading = false;
+        morePages = true;
+        tableModel.setPlayers(new ArrayList<>());
+        runInBackground(manager::getPlayerCount, count -> {
+            if (pageSource == source) {
+                summaryLabel.setText("Total Players: " + count);
+            }
+        });
+        loadNextPage();
+    }
+
+    /**
+     * Fetches the next page of the lazily loaded view in the background and appends it to the table.
+     * Does nothing when a full list is shown, a page is already loading, or the last page was reached.
+     */
+    //Appends the next page to the table
+    private void loadNextPage() {
+        Function<Player, List<Player>> source = pageSource;
+        if (source == null || pageLoading || !morePages) {
+            return;
+        }
+        pageLoading = true;
+        int rows = tableModel.getRowCount();
+        Player after = rows == 0 ? null : tableModel.getPlayerAt(rows - 1);
+        runInBackground(() -> source.apply(after), page -> {
+            //A newer view has replaced this one
+            if (pageSource != source) {
+                return;
+            }
+            pageLoading = false;
+            morePages = page.size() == PAGE_SIZE;
+            tableModel.addPlayers(page);
+        });
+    }
+
+    /**
+     * Shows or hides the busy indicator as background tasks start and finish.
+     *
+     * @param started {@code true} when a task starts, {@code false} when one finishes
+     */
+    //Tracks running tasks for the busy bar and wait cursor
+    private void setBusy(boolean started) {
+        pendingTasks += started ? 1 : -1;
+        boolean busy = pendingTasks > 0;
+        busyBar.setVisible(busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Enables or disables every button that works with the database.
+     *
+     * @param enabled {@code true} to enable the buttons
+     */
+    //Turns the action buttons on or off
+    private void setActionsEnabled(boolean enabled) {
+        for (JButton button : actionButtons) {
+            button.setEnabled(enabled);
+        }
     }
 
     /**
      * Loads player data from the database and displays it in the JTable.
-     * This method clears any existing table rows before refreshing them.
+     * This method replaces any rows currently shown and removes any applied filters.
      */
     //Loads players from the statmanager class
     private void loadPlayersIntoTable() {
-        tableModel.setRowCount(0);
-        List<Player> players = manager.getAllPlayers();
-        for (Player p : players) {
-            tableModel.addRow(new Object[]{
-                    p.getName(), p.getTeam(), p.getGoals(),
-                    p.getAssists(), p.getPoints(), p.getPlusMinus()
-            });
-        }
-        //Updates the total player count on the summary bar
-        updateSummary(players);
+        activeFilter = null;
+        showPaged(null, false);
     }
 
     /**
@@ -212,16 +502,16 @@ public class NHLTrackerGUI extends JFrame {
             int plusMinus = Integer.parseInt(plusMinusField.getText().trim());
 
             Player newPlayer = new Player(name, team, goals, assists, plusMinus);
-            boolean success = manager.addPlayer(newPlayer);
-
-            //Refreshes the table and clears the input fields
-            if (success) {
-                JOptionPane.showMessageDialog(this, "Player added successfully!");
-                loadPlayersIntoTable();
-                clearFields();
-            } else {
-                JOptionPane.showMessageDialog(this, "Duplicate player detected.", "Warning", JOptionPane.WARNING_MESSAGE);
-            }
+            runWrite(() -> manager.addPlayer(newPlayer), success -> {
+                //Refreshes the table and clears the input fields
+                if (success) {
+                    JOptionPane.showMessageDialog(this, "Player added successfully!");
+                    loadPlayersIntoTable();
+                    clearFields();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Duplicate player detected.", "Warning", JOptionPane.WARNING_MESSAGE);
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Goals, assists, and plus/minus must be integers.");
         }
@@ -237,11 +527,13 @@ public class NHLTrackerGUI extends JFrame {
             JOptionPane.showMessageDialog(this, "Select a player first.");
             return;
         }
-        String name = tableModel.getValueAt(row, 0).toString();
-        if (manager.removePlayer(name)) {
-            JOptionPane.showMessageDialog(this, "Player removed.");
-            loadPlayersIntoTable();
-        }
+        String name = tableModel.getPlayerAt(row).getName();
+        runWrite(() -> manager.removePlayer(name), removed -> {
+            if (removed) {
+                JOptionPane.showMessageDialog(this, "Player removed.");
+                loadPlayersIntoTable();
+            }
+        });
     }
 
     /**
@@ -255,25 +547,29 @@ public class NHLTrackerGUI extends JFrame {
             return;
         }
         try {
-            String name = tableModel.getValueAt(row, 0).toString();
+            String name = tableModel.getPlayerAt(row).getName();
             String team = teamField.getText().trim();
             int goals = Integer.parseInt(goalsField.getText().trim());
             int assists = Integer.parseInt(assistsField.getText().trim());
             int plusMinus = Integer.parseInt(plusMinusField.getText().trim());
 
-            if (manager.updatePlayerGUI(name, team, goals, assists, plusMinus)) {
-                JOptionPane.showMessageDialog(this, "Player updated successfully!");
-                loadPlayersIntoTable();
-                clearFields();
-            }
+            runWrite(() -> manager.updatePlayerGUI(name, team, goals, assists, plusMinus), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this, "Player updated successfully!");
+                    loadPlayersIntoTable();
+                    clearFields();
+                }
+            });
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Goals, assists, and plus/minus must be integers.");
         }
     }
 
     /**
-     * Applies a user-selected filter (Goals, Assists, Points, Team, Player Name)
-     * and refreshes the JTable with matching records.
+     * Adds a user-selected filter (Goals, Assists, Points, +/-, Team, Name Starts With) to the
+     * filters already applied and refreshes the JTable with the players matching all of them,
+     * in the selected sort order. "Player Name" instead lists the players whose names best match
+     * the text, including partial and misspelled names.
      */
     private void applyFilter() {
         String type = filterTypeBox.getSelectedItem().toString();
@@ -284,45 +580,79 @@ public class NHLTrackerGUI extends JFrame {
             return;
         }
 
+        if (type.equals("Player Name")) {
+            activeFilter = null;
+            runQuery(() -> manager.searchPlayers(value, NAME_SEARCH_RESULTS));
+            return;
+        }
+        PlayerQuery filter = activeFilter != null ? activeFilter : new PlayerQuery();
         try {
-            List<Player> filtered = switch (type) {
-                case "Goals" -> manager.filterByGoals(Integer.parseInt(value));
-                case "Assists" -> manager.filterByAssists(Integer.parseInt(value));
-                case "Points" -> manager.filterByPoints(Integer.parseInt(value));
-                case "Team" -> manager.filterByTeam(value);
-                case "Player Name" -> manager.searchByName(value)
-                        .map(List::of).orElse(List.of());
-                default -> List.of();
+            //Numbers are parsed here so bad input is reported before any query starts
+            activeFilter = switch (type) {
+                case "Goals" -> filter.atLeast(Stat.GOALS, Integer.parseInt(value));
+                case "Assists" -> filter.atLeast(Stat.ASSISTS, Integer.parseInt(value));
+                case "Points" -> filter.atLeast(Stat.POINTS, Integer.parseInt(value));
+                case "+/-" -> filter.atLeast(Stat.PLUS_MINUS, Integer.parseInt(value));
+                case "Team" -> filter.team(value);
+                default -> filter.namePrefix(value);
             };
-            populateTable(filtered);
         } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "Use numbers for Goals, Assists, or Points.");
+            JOptionPane.showMessageDialog(this, "Use numbers for Goals, Assists, Points, or +/-.");
+            return;
         }
+        applySort();
+    }
+
+    /**
+     * Returns up to {@link NameAutocomplete#MAX_SUGGESTIONS} player names for the text typed so far.
+     *
+     * @param text the text in the name field
+     * @return the suggested names, best matches first
+     */
+    //Supplies names to the autocomplete lists
+    private List<String> suggestNames(String text) {
+        return manager.suggestNames(text, NameAutocomplete.MAX_SUGGESTIONS);
+    }
+
+    /**
+     * Removes every applied filter and shows the full roster in the selected sort order.
+     */
+    //Clears the combined filter
+    private void clearFilter() {
+        activeFilter = null;
+        filterValueField.setText("");
+        applySort();
     }
 
     /**
      * Sorts the displayed player list based on the user's selected criteria.
-     * <p>Supports ascending and descending sorting for Goals, Assists, and Points.</p>
+     * <p>Supports ascending and descending sorting for Goals, Assists, and Points. When a "Top" limit
+     * is chosen, only that many leading players are fetched as a leaderboard. While filters are
+     * applied, the sort and limit are added to the filter query instead.</p>
      */
     private void applySort() {
         String sortType = sortBox.getSelectedItem().toString();
-        List<Player> players = new ArrayList<>(manager.getAllPlayers());
-
-        Comparator<Player> comparator = switch (sortType) {
-            case "Goals ↑" -> Comparator.comparingInt(Player::getGoals);
-            case "Goals ↓" -> Comparator.comparingInt(Player::getGoals).reversed();
-            case "Assists ↑" -> Comparator.comparingInt(Player::getAssists);
-            case "Assists ↓" -> Comparator.comparingInt(Player::getAssists).reversed();
-            case "Points ↑" -> Comparator.comparingInt(Player::getPoints);
-            case "Points ↓" -> Comparator.comparingInt(Player::getPoints).reversed();
+        String topType = topBox.getSelectedItem().toString();
+
+        Stat stat = switch (sortType) {
+            case "Goals ↑", "Goals ↓" -> Stat.GOALS;
+            case "Assists ↑", "Assists ↓" -> Stat.ASSISTS;
+            case "Points ↑", "Points ↓" -> Stat.POINTS;
             default -> null;
         };
-
-        if (comparator != null) {
-            players = players.stream().sorted(comparator).collect(Collectors.toList());
+        boolean descending = sortType.endsWith("↓");
+        int n = topType.equals("All") ? 0 : Integer.parseInt(topType.substring("Top ".length()));
+
+        if (activeFilter != null) {
+            PlayerQuery query = activeFilter.sortBy(stat, descending).limit(n);
+            runQuery(() -> manager.query(query));
+        } else if (stat == null) {
+            showPaged(null, false);
+        } else if (n == 0) {
+            showPaged(stat, descending);
+        } else {
+            runQuery(() -> manager.topN(stat, n, descending));
         }
-
-        populateTable(players);
     }
     /**
      * Populates the JTable with a list of players and updates the summary.
@@ -331,13 +661,8 @@ public class NHLTrackerGUI extends JFrame {
      */
     //Refreshes the table to display and changes to player data
     private void populateTable(List<Player> list) {
-        tableModel.setRowCount(0);
-        for (Player p : list) {
-            tableModel.addRow(new Object[]{
-                    p.getName(), p.getTeam(), p.getGoals(),
-                    p.getAssists(), p.getPoints(), p.getPlusMinus()
-            });
-        }
+        tableModel.setPlayers(list);
+        //Updates the total player count on the summary bar
         updateSummary(list);
     }
     /**
@@ -347,7 +672,8 @@ public class NHLTrackerGUI extends JFrame {
      */
     //Updates the total player count in the summary bar
     private void updateSummary(List<Player> list) {
-        summaryLabel.setText("Total Players: " + list.size());
+        String filter = activeFilter == null ? "" : " (" + activeFilter.describeFilters() + ")";
+        summaryLabel.setText("Total Players: " + list.size() + filter);
     }
     /**
      * Clears all input fields in the player form section.
@@ -364,10 +690,11 @@ public class NHLTrackerGUI extends JFrame {
     /**
      * Launches the NHL Stat Tracker GUI application.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments; {@value Main#WRITE_BEHIND_OPTION} commits edits in the background
      */
     //Main method to launch the GUI
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(NHLTrackerGUI::new);
+        boolean writeBehind = Arrays.asList(args).contains(Main.WRITE_BEHIND_OPTION);
+        SwingUtilities.invokeLater(() -> new NHLTrackerGUI(writeBehind));
     }
 }
@@ -0,0 +1,139 @@
+package nhltracker.gui;
+
+import nhltracker.CaseFolding;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.*;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * The {@code NameAutocomplete} class shows player name suggestions under a text field as the user types.
+ * <p>
+ * Suggestions are fetched on every edit from an in-memory name index, which answers in well under a
+ * millisecond, so the lookup runs directly on the Event Dispatch Thread. The arrow keys move through
+ * the list, Enter or a click fills the field with the chosen name, and Escape closes the list.
+ * </p>
+ */
+class NameAutocomplete {
+    //Number of names shown in the suggestion list
+    static final int MAX_SUGGESTIONS = 8;
+
+    private final JTextField field;
+    private final Function<String, List<String>> suggestions;
+    private final BooleanSupplier active;
+    private final JPopupMenu popup = new JPopupMenu();
+    private final DefaultListModel<String> listModel = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(listModel);
+    //Set while a chosen name is written to the field, so that edit does not reopen the list
+    private boolean applying;
+
+    /**
+     * Attaches name suggestions to a text field.
+     *
+     * @param field       the field to complete
+     * @param suggestions returns the names to suggest for the text typed so far
+     * @param active      tells whether suggestions should be shown right now
+     */
+    NameAutocomplete(JTextField field, Function<String, List<String>> suggestions, BooleanSupplier active) {
+        this.field = field;
+        this.suggestions = suggestions;
+        this.active = active;
+
+        //Keeps the focus in the text field while the list is open
+        popup.setFocusable(false);
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        popup.add(new JScrollPane(list));
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { refresh(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { refresh(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN -> move(1);
+                    case KeyEvent.VK_UP -> move(-1);
+                    case KeyEvent.VK_ENTER -> {
+                        if (list.getSelectedIndex() >= 0) {
+                            accept();
+                            e.consume();
+                        }
+                    }
+                    case KeyEvent.VK_ESCAPE -> popup.setVisible(false);
+                    default -> { }
+                }
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                accept();
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    /**
+     * Looks up suggestions for the current text and shows or hides the list.
+     */
+    //Updates the suggestion list after an edit
+    private void refresh() {
+        String text = field.getText().trim();
+        if (applying || text.isEmpty() || !active.getAsBoolean() || !field.isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        List<String> names = suggestions.apply(text);
+        //Nothing to suggest beyond what has already been typed
+        if (names.isEmpty() || (names.size() == 1 && CaseFolding.equals(names.get(0), text))) {
+            popup.setVisible(false);
+            return;
+        }
+        listModel.clear();
+        listModel.addAll(names);
+        list.setVisibleRowCount(Math.min(names.size(), MAX_SUGGESTIONS));
+        popup.setPopupSize(field.getWidth(), popup.getPreferredSize().height);
+        popup.show(field, 0, field.getHeight());
+    }
+
+    /**
+     * Moves the selection up or down the list, staying within its bounds.
+     *
+     * @param step {@code 1} to move down, {@code -1} to move up
+     */
+    private void move(int step) {
+        int index = Math.max(0, Math.min(listModel.size() - 1, list.getSelectedIndex() + step));
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+    }
+
+    /**
+     * Writes the selected name into the field and closes the list.
+     */
+    private void accept() {
+        String name = list.getSelectedValue();
+        if (name != null) {
+            applying = true;
+            field.setText(name);
+            applying = false;
+        }
+        popup.setVisible(false);
+    }
+}
@@ -0,0 +1,128 @@
+package nhltracker.gui;
+
+import nhltracker.Player;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code PlayerTableModel} class backs the player {@link javax.swing.JTable} directly with a list of players.
+ * <p>
+ * Unlike a {@link javax.swing.table.DefaultTableModel}, no per-row {@code Vector} is built: cells are read
+ * from the {@link Player} objects only when the table paints or queries them, points are computed on
+ * demand, and a whole refresh fires a single table-changed event. The cost of a refresh is therefore
+ * one list reference swap, and painting cost stays proportional to the visible rows.
+ * </p>
+ * <p>
+ * For lazily loaded views the table starts from an empty list and pages are appended with
+ * {@link #addPlayers(List)} as the user scrolls.
+ * </p>
+ */
+class PlayerTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMNS = {"Name", "Team", "Goals", "Assists", "Points", "+/-"};
+
+    private List<Player> players = new ArrayList<>();
+
+    /**
+     * Replaces the displayed players and fires one change event for the whole table.
+     *
+     * @param players the players to display; the list is used as is and must not be modified afterwards
+     */
+    //Swaps in a new player list in one event
+    void setPlayers(List<Player> players) {
+        this.players = players;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Appends a page of players to the end of the table and fires one rows-inserted event.
+     * The list passed to the last {@link #setPlayers(List)} call must be modifiable.
+     *
+     * @param page the players to append
+     */
+    //Adds the next lazily loaded page
+    void addPlayers(List<Player> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        int first = players.size();
+        players.addAll(page);
+        fireTableRowsInserted(first, players.size() - 1);
+    }
+
+    /**
+     * Returns the player shown in the given row.
+     *
+     * @param row the model row index
+     * @return the player in that row
+     */
+    //Gets the player behind a table row
+    Player getPlayerAt(int row) {
+        return players.get(row);
+    }
+
+    /**
+     * Returns the number of players currently displayed.
+     *
+     * @return the row count
+     */
+    @Override
+    public int getRowCount() {
+        return players.size();
+    }
+
+    /**
+     * Returns the number of columns: name, team, goals, assists, points and plus/minus.
+     *
+     * @return the column count
+     */
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    /**
+     * Returns the header text of a column.
+     *
+     * @param column the column index
+     * @return the column name
+     */
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    /**
+     * Returns the value type of a column, so numeric columns render right-aligned.
+     *
+     * @param column the column index
+     * @return {@code String.class} for name and team, otherwise {@code Integer.class}
+     */
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column < 2 ? String.class : Integer.class;
+    }
+
+    /**
+     * Reads one cell straight from the player in that row.
+     *
+     * @param row    the model row index
+     * @param column the column index
+     * @return the cell value
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        Player p = players.get(row);
+        return switch (column) {
+            case 0 -> p.getName();
+            case 1 -> p.getTeam();
+            case 2 -> p.getGoals();
+            case 3 -> p.getAssists();
+            case 4 -> p.getPoints();
+            case 5 -> p.getPlusMinus();
+            default -> throw new IndexOutOfBoundsException("Column " + column);
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package test.nhltracker;
+import nhltracker.CaseFolding;
+import nhltracker.Player;
+import nhltracker.PlayerQuery;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for CaseFolding. These tests verify that names are compared the way SQLite's NOCASE collation compares
+them (ASCII letters only), and that the in-memory column store and the SQL queries agree on names and teams that
+contain accented letters.
+ */
+public class CaseFoldingTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates an empty database in a temp file for each test
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("casefolding_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Only A-Z are folded; accented letters keep their case
+    @Test
+    public void testFoldOnlyLowersAsciiLetters() {
+        assertEquals("connor mcdavid", CaseFolding.fold("Connor McDavid"));
+        assertEquals("Élan test", CaseFolding.fold("ÉLAN Test"), "Non-ASCII letters should not be folded");
+        String lower = "already lower";
+        assertSame(lower, CaseFolding.fold(lower), "A name without ASCII capitals should be returned as is");
+    }
+
+    //equals() and startsWith() follow the same rule as fold()
+    @Test
+    public void testEqualsAndStartsWithIgnoreAsciiCaseOnly() {
+        assertTrue(CaseFolding.equals("EDM", "edm"));
+        assertFalse(CaseFolding.equals("Élan", "élan"), "É and é are different under NOCASE");
+        assertFalse(CaseFolding.equals("EDM", null));
+        assertTrue(CaseFolding.equals(null, null));
+        assertTrue(CaseFolding.startsWith("Connor McDavid", "CONNOR m"));
+        assertFalse(CaseFolding.startsWith("Élan Test", "élan"));
+        assertFalse(CaseFolding.startsWith("Con", "Connor"));
+    }
+
+    //Two names that differ only in an accented capital are two players in the database and in the column store
+    @Test
+    public void testColumnStoreKeepsNonAsciiCaseVariantsApart() {
+        StatManager manager = new StatManager(dbHandler);
+        manager.enableColumnStore();
+        assertTrue(manager.addPlayer(new Player("Élan Test", "Équipe", 1, 2, 3)));
+        assertTrue(manager.addPlayer(new Player("élan Test", "équipe", 4, 5, 6)),
+                "The database accepts the second name, so the store should too");
+        assertFalse(manager.addPlayer(new Player("ÉLAN TEST", "Équipe", 0, 0, 0)),
+                "É plus ASCII capitals is the same name as the first player");
+
+        assertEquals(2, dbHandler.getPlayerCount());
+        assertEquals(2, manager.getAllPlayers().size(), "The column store should hold both players");
+        assertEquals(4, manager.searchByName("élan test").orElseThrow().getGoals());
+        assertEquals(1, manager.searchByName("Élan TEST").orElseThrow().getGoals());
+    }
+
+    //Team filters give the same players in memory as in SQL when the team has an accented capital
+    @Test
+    public void testTeamFiltersMatchSqlForNonAsciiTeams() {
+        StatManager sql = new StatManager(dbHandler);
+        sql.addPlayer(new Player("Alpha", "Équipe", 1, 1, 1));
+        sql.addPlayer(new Player("Bravo", "équipe", 2, 2, 2));
+        sql.addPlayer(new Player("Charlie", "ÉQUIPE", 3, 3, 3));
+        StatManager memory = new StatManager(dbHandler);
+        memory.enableColumnStore();
+
+        for (String team : List.of("Équipe", "ÉQUIPE", "équipe", "éQUIPE")) {
+            assertEquals(names(sql.filterByTeam(team)), names(memory.filterByTeam(team)), "filterByTeam(" + team + ")");
+            PlayerQuery query = new PlayerQuery().team(team);
+            assertEquals(names(sql.query(query)), names(memory.query(query)), "query(" + team + ")");
+        }
+        assertEquals(List.of("Alpha", "Charlie"), names(memory.filterByTeam("éQUIPE".replace('é', 'É'))));
+        assertEquals(List.of("Bravo"), names(memory.filterByTeam("éQUIPE")), "é only matches é");
+    }
+
+    //Player names in result order
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}
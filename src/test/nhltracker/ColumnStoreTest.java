@@ -0,0 +1,113 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the in-memory column store. Every read answered from the store is compared with the same read
+answered by SQL on the same database, after players are added, updated and removed through the StatManager.
+ */
+public class ColumnStoreTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    //Answers every read with SQL
+    private StatManager sql;
+    //Answers reads from the column store and makes every write
+    private StatManager memory;
+
+    //Creates a small roster in a temp database, then loads it into the column store
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("columnstore_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        sql = new StatManager(dbHandler);
+        sql.addPlayer(new Player("Connor McDavid", "Edmonton Oilers", 32, 100, 35));
+        sql.addPlayer(new Player("Leon Draisaitl", "Edmonton Oilers", 41, 65, 20));
+        sql.addPlayer(new Player("Auston Matthews", "Toronto Maple Leafs", 69, 38, 31));
+        sql.addPlayer(new Player("Mitch Marner", "Toronto Maple Leafs", 26, 59, 10));
+        memory = new StatManager(dbHandler);
+        memory.enableColumnStore();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //The store loaded at startup gives the same answers as SQL
+    @Test
+    public void testLoadedStoreMatchesSql() {
+        assertSameReads();
+    }
+
+    //Added players show up in every read, in the same order as SQL
+    @Test
+    public void testAddMatchesSql() {
+        assertTrue(memory.addPlayer(new Player("Nathan MacKinnon", "Colorado Avalanche", 51, 89, 35)));
+        assertTrue(memory.addPlayer(new Player("Cale Makar", "Colorado Avalanche", 21, 69, 15)));
+        assertFalse(memory.addPlayer(new Player("connor mcdavid", "Edmonton Oilers", 0, 0, 0)),
+                "A name that differs only in case is a duplicate");
+        assertSameReads();
+    }
+
+    //An update that changes the team and every stat moves the player in every read
+    @Test
+    public void testUpdateMatchesSql() {
+        assertTrue(memory.updatePlayerGUI("mitch marner", "Vegas Golden Knights", 70, 5, -12));
+        assertFalse(memory.updatePlayerGUI("Nobody", "Edmonton Oilers", 1, 1, 1));
+        assertEquals("Vegas Golden Knights", memory.searchByName("Mitch Marner").orElseThrow().getTeam());
+        assertSameReads();
+    }
+
+    //Removed players disappear from every read
+    @Test
+    public void testRemoveMatchesSql() {
+        assertTrue(memory.removePlayer("LEON DRAISAITL"));
+        assertFalse(memory.removePlayer("Leon Draisaitl"), "A removed player cannot be removed again");
+        assertTrue(memory.searchByName("Leon Draisaitl").isEmpty());
+        assertSameReads();
+    }
+
+    //forEachPlayer streams the same players, in name order, as the database
+    @Test
+    public void testForEachPlayerMatchesSql() {
+        memory.addPlayer(new Player("Aaron Ekblad", "Florida Panthers", 5, 20, 1));
+        memory.removePlayer("Mitch Marner");
+        List<String> streamed = new ArrayList<>();
+        long count = memory.forEachPlayer(p -> streamed.add(p.toString()));
+        assertEquals(4, count);
+        assertEquals(rows(dbHandler.getAllPlayers()), streamed);
+    }
+
+    //Compares every read the store answers with the SQL answer
+    private void assertSameReads() {
+        assertEquals(rows(sql.getAllPlayers()), rows(memory.getAllPlayers()), "getAllPlayers");
+        assertEquals(sql.getPlayerCount(), memory.getPlayerCount(), "getPlayerCount");
+        assertEquals(rows(sql.filterByGoals(30)), rows(memory.filterByGoals(30)), "filterByGoals");
+        assertEquals(rows(sql.filterByAssists(60)), rows(memory.filterByAssists(60)), "filterByAssists");
+        assertEquals(rows(sql.filterByPoints(90)), rows(memory.filterByPoints(90)), "filterByPoints");
+        assertEquals(rows(sql.filterByTeam("edmonton oilers")), rows(memory.filterByTeam("edmonton oilers")),
+                "filterByTeam");
+        for (Stat stat : Stat.values()) {
+            assertEquals(rows(sql.getPlayersSortedBy(stat, true)), rows(memory.getPlayersSortedBy(stat, true)),
+                    "getPlayersSortedBy(" + stat + ")");
+            assertEquals(rows(sql.topN(stat, 2, false)), rows(memory.topN(stat, 2, false)), "topN(" + stat + ")");
+            assertEquals(sql.getTotal(stat), memory.getTotal(stat), "getTotal(" + stat + ")");
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
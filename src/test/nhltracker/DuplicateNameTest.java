@@ -0,0 +1,72 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the single-statement insert-if-absent and upsert paths. These tests verify that a name differing only
+in case counts as a duplicate, that the duplicate leaves the stored row untouched, and that an upsert overwrites the
+stored team and stats instead of adding a second row.
+ */
+public class DuplicateNameTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates a temp database holding one player
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("duplicate_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertTrue(dbHandler.insertPlayerIfAbsent(new Player("Auston Matthews", "Toronto Maple Leafs", 69, 38, 31)));
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //A name that differs only in case is not inserted, and the stored row keeps its values
+    @Test
+    public void testInsertIfAbsentRejectsCaseVariant() {
+        assertFalse(dbHandler.insertPlayerIfAbsent(new Player("AUSTON MATTHEWS", "Boston Bruins", 1, 1, 1)));
+        assertFalse(dbHandler.insertPlayerIfAbsent(new Player("auston matthews", "Boston Bruins", 1, 1, 1)));
+        assertEquals(List.of(new Player("Auston Matthews", "Toronto Maple Leafs", 69, 38, 31).toString()),
+                rows(dbHandler.getAllPlayers()), "Only the first row should be stored");
+    }
+
+    //An upsert with a case variant updates the stored row in place
+    @Test
+    public void testUpsertOverwritesCaseVariant() {
+        assertTrue(dbHandler.upsertPlayer(new Player("auston matthews", "Toronto Maple Leafs", 70, 40, 32)));
+        List<Player> players = dbHandler.getAllPlayers();
+        assertEquals(1, players.size(), "The upsert should not add a second row");
+        assertEquals("Auston Matthews", players.get(0).getName(), "The stored spelling should be kept");
+        assertEquals(70, players.get(0).getGoals());
+        assertEquals(32, players.get(0).getPlusMinus());
+
+        assertTrue(dbHandler.upsertPlayer(new Player("Mitch Marner", "Toronto Maple Leafs", 27, 75, 22)));
+        assertEquals(2, dbHandler.getAllPlayers().size(), "A new name should be inserted");
+    }
+
+    //StatManager.addPlayer() reports the duplicate instead of adding it
+    @Test
+    public void testAddPlayerRejectsCaseVariant() {
+        StatManager manager = new StatManager(dbHandler);
+        assertFalse(manager.addPlayer(new Player("AUSTON MATTHEWS", "Boston Bruins", 1, 1, 1)));
+        assertTrue(manager.addPlayer(new Player("William Nylander", "Toronto Maple Leafs", 40, 47, 10)));
+        assertEquals(2, dbHandler.getAllPlayers().size());
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
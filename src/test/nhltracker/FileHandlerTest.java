@@ -5,6 +5,7 @@ import org.junit.jupiter.api.*;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.stream.*;
 import static org.junit.jupiter.api.Assertions.*;
 /* Unit test for the FileHandler class. This class verifies that saving and loading player data to or from a file
    works correctly, it will also check for missing text files.  */
@@ -92,4 +93,45 @@ public class FileHandlerTest {
         assertEquals("Sidney Crosby", loadedPlayers.get(0).getName());
         assertEquals("Pittsburgh Penguins", loadedPlayers.get(0).getTeam());
     }
+
+    //Test that the streaming parser returns the same players as loadPlayers() for a saved file
+    @Test
+    public void testStreamPlayersMatchesLoadPlayers() {
+        List<Player> players = new ArrayList<>();
+        players.add(new Player("Connor McDavid", "Edmonton Oilers", 35, 60, 25));
+        players.add(new Player("Quinn Hughes", "Vancouver Canucks", 17, 75, -8));
+        assertTrue(fileHandler.savePlayers(players), "Saving should succeed");
+
+        List<Player> loaded = fileHandler.loadPlayers();
+        List<Player> streamed;
+        try (Stream<Player> stream = fileHandler.streamPlayers()) {
+            streamed = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(loaded.size(), streamed.size(), "Both loaders should read the same number of players");
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i).toString(), streamed.get(i).toString());
+        }
+    }
+
+    //Test that forEachPlayer() trims fields, handles CRLF and a missing final newline, and skips malformed lines
+    @Test
+    public void testForEachPlayerSkipsMalformedLines() throws IOException {
+        String testData = " Sidney Crosby , Pittsburgh Penguins , 33 , 47 , -10 \r\n" +
+                "Not,Enough,Fields\n" +
+                "Bad Number,Team,ten,1,1\n" +
+                "\n" +
+                "Auston Matthews,Toronto Maple Leafs,45,35,+15";
+        Files.writeString(tempFile.toPath(), testData);
+
+        List<Player> players = new ArrayList<>();
+        long count = fileHandler.forEachPlayer(players::add);
+
+        assertEquals(2, count, "Only the two valid lines should be passed to the consumer");
+        assertEquals("Sidney Crosby", players.get(0).getName());
+        assertEquals("Pittsburgh Penguins", players.get(0).getTeam());
+        assertEquals(-10, players.get(0).getPlusMinus());
+        assertEquals("Auston Matthews", players.get(1).getName());
+        assertEquals(15, players.get(1).getPlusMinus());
+    }
 }
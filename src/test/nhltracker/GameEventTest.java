@@ -0,0 +1,134 @@
+package test.nhltracker;
+import nhltracker.GameEvent;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.TeamStats;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the per-game event log. These tests verify that recorded games add to the season totals and the team
+rollups, that a game cannot be recorded twice, that a player's log always sums to their totals, and that
+rebuildTotals() repairs totals edited behind the log's back.
+ */
+public class GameEventTest {
+
+    private static final LocalDate OPENING_NIGHT = LocalDate.of(2024, 10, 8);
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private StatManager manager;
+
+    //Creates two players in a temp database, with the column store enabled so views are checked too
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("gameevent_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        manager = new StatManager(dbHandler);
+        manager.enableColumnStore();
+        manager.addPlayer(new Player("Cale Makar", "Colorado Avalanche", 10, 20, 5));
+        manager.addPlayer(new Player("Quinn Hughes", "Vancouver Canucks", 8, 30, 12));
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Game lines are added to the totals in the database, the in-memory views and the team rollup
+    @Test
+    public void testRecordGamesAddsToTotals() {
+        int applied = manager.recordGames(List.of(
+                new GameEvent("2024-10-08-COL", OPENING_NIGHT, "cale makar", 1, 2, 3),
+                new GameEvent("2024-10-08-VAN", OPENING_NIGHT, "Quinn Hughes", 0, 1, -1),
+                new GameEvent("2024-10-08-VAN", OPENING_NIGHT, "Nobody", 5, 5, 5)));
+        assertEquals(2, applied, "The line for an unknown player should be skipped");
+        assertStats(11, 22, 8, dbHandler.findPlayerByName("Cale Makar"));
+        assertStats(11, 22, 8, manager.searchByName("Cale Makar").orElseThrow());
+        assertStats(8, 31, 11, manager.searchByName("Quinn Hughes").orElseThrow());
+        TeamStats avalanche = manager.getTeamStats("Colorado Avalanche").orElseThrow();
+        assertEquals(11, avalanche.getGoals());
+        assertEquals(22, avalanche.getAssists());
+    }
+
+    //Recording the same game for a player again changes nothing
+    @Test
+    public void testSameGameIsRecordedOnce() {
+        GameEvent game = new GameEvent("2024-10-10-COL", OPENING_NIGHT.plusDays(2), "Cale Makar", 2, 0, 1);
+        assertEquals(1, manager.recordGames(List.of(game)));
+        assertEquals(0, manager.recordGames(List.of(game)), "A repeated game should be skipped");
+        assertEquals(0, manager.recordGames(List.of(
+                new GameEvent("2024-10-10-COL", OPENING_NIGHT.plusDays(2), "CALE MAKAR", 3, 3, 3))),
+                "The game is matched by id and player, in any case");
+        assertStats(12, 20, 6, manager.searchByName("Cale Makar").orElseThrow());
+    }
+
+    //A line without a game id is rejected before anything is written
+    @Test
+    public void testAdjustmentIsRejected() {
+        List<GameEvent> events = List.of(
+                new GameEvent("2024-10-12-COL", null, "Cale Makar", 1, 1, 1),
+                new GameEvent(null, null, "Quinn Hughes", 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> manager.recordGames(events));
+        assertStats(10, 20, 5, dbHandler.findPlayerByName("Cale Makar"));
+    }
+
+    //The game log holds the games and the direct edits, and always sums to the totals
+    @Test
+    public void testGameLogSumsToTotals() {
+        manager.recordGames(List.of(new GameEvent("2024-10-08-VAN", OPENING_NIGHT, "Quinn Hughes", 1, 1, 1)));
+        manager.updatePlayerGUI("Quinn Hughes", "Vancouver Canucks", 20, 40, 15);
+        manager.recordGames(List.of(new GameEvent("2024-10-10-VAN", OPENING_NIGHT.plusDays(2), "Quinn Hughes", 0, 2, 0)));
+
+        List<GameEvent> log = manager.getGameLog("quinn hughes");
+        assertEquals(4, log.size(), "The starting stats, two games and one edit");
+        assertTrue(log.get(0).isAdjustment());
+        assertEquals("2024-10-08-VAN", log.get(1).getGameId());
+        assertEquals(OPENING_NIGHT, log.get(1).getGameDate());
+        assertTrue(log.get(2).isAdjustment());
+        assertStats(20, 42, 15, manager.searchByName("Quinn Hughes").orElseThrow());
+        assertEquals(20, log.stream().mapToInt(GameEvent::getGoals).sum(), "Logged goals");
+        assertEquals(42, log.stream().mapToInt(GameEvent::getAssists).sum(), "Logged assists");
+        assertEquals(15, log.stream().mapToInt(GameEvent::getPlusMinus).sum(), "Logged plus/minus");
+    }
+
+    //Totals edited with the logging switched off are put back to the sum of the log, and the views follow
+    @Test
+    public void testRebuildTotalsRepairsBypassedEdits() throws SQLException {
+        manager.recordGames(List.of(new GameEvent("2024-10-08-COL", OPENING_NIGHT, "Cale Makar", 1, 1, 1)));
+        assertEquals(0, manager.rebuildTotals(), "Totals kept by the triggers need no repair");
+
+        //The guard row switches off the logging trigger, as a tool bypassing the triggers would
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement()) {
+            stmt.execute("INSERT INTO game_event_guard VALUES (1)");
+            stmt.execute("UPDATE players SET goals = 99, assists = 0 WHERE name = 'Cale Makar'");
+            stmt.execute("DELETE FROM game_event_guard");
+        }
+        assertEquals(99, dbHandler.findPlayerByName("Cale Makar").getGoals());
+
+        assertEquals(1, manager.rebuildTotals());
+        assertStats(11, 21, 6, dbHandler.findPlayerByName("Cale Makar"));
+        assertStats(11, 21, 6, manager.searchByName("Cale Makar").orElseThrow());
+        assertStats(8, 30, 12, dbHandler.findPlayerByName("Quinn Hughes"));
+    }
+
+    //Checks a player's goals, assists and plus/minus
+    private static void assertStats(int goals, int assists, int plusMinus, Player player) {
+        assertNotNull(player);
+        assertEquals(goals, player.getGoals(), player.getName() + " goals");
+        assertEquals(assists, player.getAssists(), player.getName() + " assists");
+        assertEquals(plusMinus, player.getPlusMinus(), player.getName() + " plus/minus");
+    }
+}
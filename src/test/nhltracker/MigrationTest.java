@@ -0,0 +1,163 @@
+package test.nhltracker;
+import nhltracker.GameEvent;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.TeamStats;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the schema migrations. These tests build database files the way older versions of the tracker left
+them, open them with the DatabaseHandler and verify that they are brought up to the current schema, with team names
+moved into the teams dictionary, without losing players, team totals or game history.
+ */
+public class MigrationTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates an empty temp file for the old database
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("migration_test", ".db");
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        if (dbHandler != null) {
+            dbHandler.close();
+        }
+        dbFile.delete();
+    }
+
+    //A version 0 file, with no name index and teams typed in different cases, is upgraded
+    @Test
+    public void testMigrateFromVersion0() throws SQLException {
+        execute("CREATE TABLE players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, team TEXT NOT NULL, "
+                        + "goals INTEGER, assists INTEGER, plus_minus INTEGER)",
+                "INSERT INTO players(name, team, goals, assists, plus_minus) VALUES "
+                        + "('Sam Reinhart', 'Florida Panthers', 57, 37, 35), "
+                        + "('Aleksander Barkov', 'FLORIDA PANTHERS', 23, 57, 33), "
+                        + "('Matthew Tkachuk', 'florida panthers', 26, 62, 21), "
+                        + "('sam reinhart', 'Florida Panthers', 1, 1, 1), "
+                        + "('Brayden Point', 'Tampa Bay Lightning', 46, 44, -1)");
+
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertEquals(4, userVersion());
+        assertEquals(List.of("Aleksander Barkov", "Brayden Point", "Matthew Tkachuk", "Sam Reinhart"),
+                names(dbHandler.getAllPlayers()));
+        assertEquals(List.of("sam reinhart"), column("SELECT name FROM players_duplicates"),
+                "The later duplicate name should be kept in the backup table");
+        assertEquals(List.of("FLORIDA PANTHERS", "Tampa Bay Lightning"), column("SELECT team FROM teams ORDER BY id"),
+                "Case variants should become one team, spelled as the alphabetically first variant");
+        assertFalse(column("SELECT name FROM pragma_table_info('players')").contains("team"),
+                "Team names should no longer be stored in players");
+
+        assertEquals(List.of("Aleksander Barkov", "Matthew Tkachuk", "Sam Reinhart"),
+                names(dbHandler.getPlayersByTeam("Florida Panthers")));
+        assertEquals("FLORIDA PANTHERS", dbHandler.findPlayerByName("Sam Reinhart").getTeam());
+        TeamStats panthers = dbHandler.getTeamStats("florida panthers");
+        assertEquals(3, panthers.getPlayers());
+        assertEquals(106, panthers.getGoals());
+        assertEquals(1, dbHandler.getGameLog("Brayden Point").size(), "The log should be seeded with the totals");
+    }
+
+    //A version 3 file, with team names in players and team_stats and a game log, keeps its history
+    @Test
+    public void testMigrateFromVersion3() throws SQLException {
+        execute("CREATE TABLE players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, team TEXT NOT NULL, "
+                        + "goals INTEGER, assists INTEGER, plus_minus INTEGER)",
+                "CREATE UNIQUE INDEX idx_players_name_key ON players(name COLLATE NOCASE)",
+                "CREATE INDEX idx_players_team ON players(team, name)",
+                "CREATE TABLE team_stats (team TEXT PRIMARY KEY COLLATE NOCASE, players INTEGER NOT NULL, "
+                        + "goals INTEGER NOT NULL, assists INTEGER NOT NULL, plus_minus INTEGER NOT NULL)",
+                "CREATE TABLE game_events (id INTEGER PRIMARY KEY AUTOINCREMENT, game_id TEXT, game_date TEXT, "
+                        + "player TEXT NOT NULL COLLATE NOCASE, goals INTEGER NOT NULL, assists INTEGER NOT NULL, "
+                        + "plus_minus INTEGER NOT NULL)",
+                "CREATE TABLE game_event_guard (active INTEGER)",
+                "INSERT INTO players(id, name, team, goals, assists, plus_minus) VALUES "
+                        + "(7, 'Kirill Kaprizov', 'Minnesota Wild', 47, 49, 8), "
+                        + "(9, 'Joel Eriksson Ek', 'minnesota wild', 30, 34, 2)",
+                "INSERT INTO team_stats VALUES ('Minnesota Wild', 2, 77, 83, 10)",
+                "INSERT INTO game_events(game_id, game_date, player, goals, assists, plus_minus) VALUES "
+                        + "(NULL, NULL, 'Kirill Kaprizov', 46, 48, 7), "
+                        + "('2024-10-10-MIN', '2024-10-10', 'Kirill Kaprizov', 1, 1, 1), "
+                        + "(NULL, NULL, 'Joel Eriksson Ek', 30, 34, 2)",
+                "PRAGMA user_version = 3");
+
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertEquals(4, userVersion());
+        assertEquals(List.of("7", "9"), column("SELECT id FROM players ORDER BY id"), "Row ids should be kept");
+        assertEquals(List.of("Minnesota Wild"), column("SELECT team FROM teams"));
+
+        List<GameEvent> log = dbHandler.getGameLog("kirill kaprizov");
+        assertEquals(2, log.size(), "Existing game lines should be kept");
+        assertEquals("2024-10-10-MIN", log.get(1).getGameId());
+        assertEquals(77, dbHandler.getTeamStats("MINNESOTA WILD").getGoals());
+
+        //The recreated triggers keep the totals and the log in step after the migration
+        StatManager manager = new StatManager(dbHandler);
+        manager.addPlayer(new Player("Matt Boldy", "Minnesota wild", 27, 42, -1));
+        manager.recordGames(List.of(new GameEvent("2024-10-12-MIN", null, "Matt Boldy", 2, 0, 1)));
+        assertEquals(106, manager.getTeamStats("Minnesota Wild").orElseThrow().getGoals());
+        assertEquals(29, dbHandler.findPlayerByName("Matt Boldy").getGoals());
+        assertEquals(List.of("Minnesota Wild"), column("SELECT team FROM teams"), "No new team for a case variant");
+        assertEquals(0, manager.rebuildTotals(), "The totals should match the log");
+    }
+
+    //A file already at the current version is left as it is
+    @Test
+    public void testCurrentVersionIsNotMigratedAgain() throws SQLException {
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        dbHandler.addPlayer(new Player("Kyle Connor", "Winnipeg Jets", 34, 27, 6));
+        dbHandler.close();
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertEquals(4, userVersion());
+        assertEquals(1, dbHandler.getPlayerCount());
+        assertEquals(1, dbHandler.getGameLog("Kyle Connor").size(), "The log should not be seeded twice");
+    }
+
+    //Runs statements on the database file with a plain connection
+    private void execute(String... sql) throws SQLException {
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement()) {
+            for (String statement : sql) {
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    //Reads the first column of a query's rows as text
+    private List<String> column(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    //Reads the schema version stored in the file
+    private int userVersion() throws SQLException {
+        return Integer.parseInt(column("PRAGMA user_version").get(0));
+    }
+
+    //Player names in result order
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}
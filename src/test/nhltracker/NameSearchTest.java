@@ -0,0 +1,92 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the name search index. These tests verify the ranking of suggestions (whole-name prefix, then word
+prefix, then substring, then typos), that the index follows adds and removes, and that without the index only
+whole-name prefixes are found.
+ */
+public class NameSearchTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private StatManager manager;
+
+    //Creates a roster in a temp database and a manager with the name index enabled
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("namesearch_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        manager = new StatManager(dbHandler);
+        manager.addPlayer(new Player("Connor McDavid", "Edmonton Oilers", 32, 100, 35));
+        manager.addPlayer(new Player("Connor Bedard", "Chicago Blackhawks", 22, 39, -44));
+        manager.addPlayer(new Player("Kyle Connor", "Winnipeg Jets", 34, 27, 6));
+        manager.addPlayer(new Player("Brock Boeser", "Vancouver Canucks", 40, 33, 6));
+        manager.addPlayer(new Player("Macklin Celebrini", "San Jose Sharks", 25, 38, -10));
+        manager.addPlayer(new Player("Ryan McDonagh", "Tampa Bay Lightning", 4, 20, 12));
+        manager.enableNameSearch();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Names starting with the query come before names with a word starting with it
+    @Test
+    public void testPrefixBeforeWordPrefix() {
+        assertEquals(List.of("Connor Bedard", "Connor McDavid", "Kyle Connor"), manager.suggestNames("conn", 10));
+        assertEquals(List.of("Connor McDavid", "Ryan McDonagh"), manager.suggestNames("MC", 10));
+        assertEquals(List.of("Connor Bedard"), manager.suggestNames("conn", 1), "The limit keeps the best match");
+    }
+
+    //A fragment inside a word is found after the prefix tiers
+    @Test
+    public void testSubstringMatches() {
+        assertEquals(List.of("Macklin Celebrini"), manager.suggestNames("lebri", 10));
+        assertEquals("Connor McDavid", manager.suggestNames("davi", 10).get(0));
+    }
+
+    //A misspelled name is still found when nothing matches it exactly
+    @Test
+    public void testTypoMatches() {
+        assertEquals("Brock Boeser", manager.suggestNames("Brock Beoser", 10).get(0), "A transposition is one mistake");
+        assertEquals("Connor Bedard", manager.suggestNames("Conor Bedard", 10).get(0), "A missing letter is one mistake");
+        assertTrue(manager.suggestNames("Zzzzzzz", 10).isEmpty());
+    }
+
+    //searchPlayers() returns the players in the order of suggestNames()
+    @Test
+    public void testSearchPlayersFollowsRanking() {
+        List<Player> players = manager.searchPlayers("connor", 10);
+        assertEquals(manager.suggestNames("connor", 10), players.stream().map(Player::getName).toList());
+        assertEquals(100, players.get(1).getAssists(), "Players should carry their stats");
+    }
+
+    //Added and removed players are reflected in the index at once
+    @Test
+    public void testIndexFollowsWrites() {
+        manager.addPlayer(new Player("Connor Zary", "Calgary Flames", 14, 20, 0));
+        assertTrue(manager.suggestNames("connor z", 10).contains("Connor Zary"));
+        manager.removePlayer("Connor Bedard");
+        assertFalse(manager.suggestNames("connor", 10).contains("Connor Bedard"));
+        assertTrue(manager.searchByName("Connor Bedard").isEmpty());
+    }
+
+    //Without the index, only names starting with the query are found
+    @Test
+    public void testWithoutIndexOnlyPrefixes() {
+        StatManager plain = new StatManager(dbHandler);
+        assertEquals(List.of("Connor Bedard", "Connor McDavid"), plain.suggestNames("conn", 10));
+        assertTrue(plain.suggestNames("lebri", 10).isEmpty());
+    }
+}
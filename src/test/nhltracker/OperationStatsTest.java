@@ -0,0 +1,97 @@
+package test.nhltracker;
+import nhltracker.db.DatabaseHandler;
+import nhltracker.db.DatabaseOperation;
+import nhltracker.db.OperationStats;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the OperationStats latency histogram. These tests record known latencies and verify that the
+percentiles read back are never below the true value and at most 12.5% above it, that the maximum is exact, and that
+every bucket holds only values within that error of its upper bound.
+ */
+public class OperationStatsTest {
+
+    //Largest relative error of a histogram bucket: 8 sub-buckets per power of two
+    private static final double BUCKET_ERROR = 0.125;
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private OperationStats stats;
+
+    //Takes the statistics of one operation from a temp database and clears them
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("operationstats_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        stats = dbHandler.getMetrics().get(DatabaseOperation.GET_ALL_PLAYERS);
+        stats.reset();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Latencies of 1 to 1000 microseconds give p50, p99 and max within the bucket error
+    @Test
+    public void testPercentilesWithinBucketError() throws ReflectiveOperationException {
+        for (int i = 1000; i >= 1; i--) {
+            record(i * 1000L);
+        }
+        assertEquals(1000, stats.getCalls());
+        assertWithinBucketError(500, stats.getP50Micros(), "p50");
+        assertWithinBucketError(990, stats.getP99Micros(), "p99");
+        assertEquals(1000, stats.getMaxMicros(), "The maximum is kept exactly");
+        assertEquals(500.5, stats.getMeanMicros(), 1e-9, "The mean is kept exactly");
+    }
+
+    //A few slow calls show in p99 but not in p50
+    @Test
+    public void testSlowTail() throws ReflectiveOperationException {
+        for (int i = 0; i < 985; i++) {
+            record(20_000);
+        }
+        for (int i = 0; i < 15; i++) {
+            record(7_000_000);
+        }
+        assertWithinBucketError(20, stats.getP50Micros(), "p50");
+        assertWithinBucketError(7000, stats.getP99Micros(), "p99");
+        stats.reset();
+        assertEquals(0, stats.getP99Micros(), "Nothing is recorded after a reset");
+    }
+
+    //Each bucket's upper bound is at least every value mapped to it and within the error of the smallest
+    @Test
+    public void testBucketBounds() throws ReflectiveOperationException {
+        Method bucketOf = OperationStats.class.getDeclaredMethod("bucketOf", long.class);
+        Method upperBound = OperationStats.class.getDeclaredMethod("upperBound", int.class);
+        bucketOf.setAccessible(true);
+        upperBound.setAccessible(true);
+        for (long nanos = 0; nanos < 1L << 40; nanos = nanos < 5000 ? nanos + 1 : nanos * 3 / 2 + 1) {
+            int bucket = (int) bucketOf.invoke(null, nanos);
+            long bound = (long) upperBound.invoke(null, bucket);
+            assertTrue(bound >= nanos, nanos + " is above the bound of its bucket");
+            assertTrue(bound <= nanos * (1 + BUCKET_ERROR), nanos + " is more than 12.5% below its bound");
+            assertEquals(bucket, (int) bucketOf.invoke(null, bound), "The bound of a bucket falls into it");
+        }
+    }
+
+    //Records one successful call; recording is package-private, as only the handler times its own calls
+    private void record(long nanos) throws ReflectiveOperationException {
+        Method record = OperationStats.class.getDeclaredMethod("record", long.class, long.class);
+        record.setAccessible(true);
+        record.invoke(stats, nanos, 1L);
+    }
+
+    //Checks a reported percentile against the true value
+    private static void assertWithinBucketError(double expectedMicros, double actualMicros, String label) {
+        assertTrue(actualMicros >= expectedMicros && actualMicros <= expectedMicros * (1 + BUCKET_ERROR),
+                label + " was " + actualMicros + " microseconds, expected " + expectedMicros);
+    }
+}
@@ -0,0 +1,139 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for keyset pagination. These tests page through a roster where most stat values are shared by several
+players, in every sort order the table offers, and verify that the pages put together are the full ordered query
+with no row skipped or repeated, also when rows are added or removed between two page calls.
+ */
+public class PagingTest {
+
+    private static final int PLAYERS = 45;
+    //Every sort the table offers: by name, or by a stat with ties by name
+    private static final Stat[] SORT_KEYS = {null, Stat.GOALS, Stat.ASSISTS, Stat.POINTS, Stat.PLUS_MINUS};
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private StatManager manager;
+
+    //Creates a roster with many ties in a temp database
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("paging_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        manager = new StatManager(dbHandler);
+        for (int i = 0; i < PLAYERS; i++) {
+            manager.addPlayer(new Player(String.format("Skater %02d", (i * 7) % PLAYERS), "Team " + i % 3, i % 3, (i * 2) % 4, i % 5 - 2));
+        }
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Pages of any size, in both directions and every sort, add up to the full ordered query
+    @Test
+    public void testPagesMatchFullQuery() {
+        for (Stat sortKey : SORT_KEYS) {
+            for (boolean descending : new boolean[]{false, true}) {
+                List<String> expected = rows(ordered(sortKey, descending));
+                for (int pageSize : new int[]{1, 4, 10, PLAYERS, PLAYERS + 1}) {
+                    List<Player> paged = new ArrayList<>();
+                    List<Player> page = manager.getPlayersPage(null, pageSize, sortKey, descending);
+                    while (!page.isEmpty()) {
+                        assertTrue(page.size() <= pageSize);
+                        paged.addAll(page);
+                        page = page.size() < pageSize ? List.of()
+                                : manager.getPlayersPage(page.get(page.size() - 1), pageSize, sortKey, descending);
+                    }
+                    assertEquals(expected, rows(paged), label(sortKey, descending) + " in pages of " + pageSize);
+                }
+            }
+        }
+    }
+
+    //Rows added or removed between two page calls shift nothing: each remaining row is read exactly once
+    @Test
+    public void testWritesBetweenPages() {
+        int run = 0;
+        for (Stat sortKey : SORT_KEYS) {
+            for (boolean descending : new boolean[]{false, true}) {
+                List<Player> paged = new ArrayList<>(manager.getPlayersPage(null, 6, sortKey, descending));
+                Player cursor = paged.get(paged.size() - 1);
+                List<Player> read = new ArrayList<>(paged);
+
+                //Ties with the cursor on both sides of its name, a row already read removed and one not yet read
+                String prefix = "Added " + run++ + " ";
+                manager.addPlayer(new Player(cursor.getName() + " " + prefix + "after", "Team 0",
+                        cursor.getGoals(), cursor.getAssists(), cursor.getPlusMinus()));
+                manager.addPlayer(new Player("A " + prefix + "before", "Team 0",
+                        cursor.getGoals(), cursor.getAssists(), cursor.getPlusMinus()));
+                manager.removePlayer(read.get(0).getName());
+                List<Player> current = ordered(sortKey, descending);
+                int at = indexOf(current, cursor);
+                Player unread = current.get(Math.min(at + 2, current.size() - 1));
+                manager.removePlayer(unread.getName());
+
+                List<Player> page = manager.getPlayersPage(cursor, 6, sortKey, descending);
+                while (!page.isEmpty()) {
+                    paged.addAll(page);
+                    page = manager.getPlayersPage(page.get(page.size() - 1), 6, sortKey, descending);
+                }
+
+                current = ordered(sortKey, descending);
+                List<Player> expected = new ArrayList<>(read);
+                expected.addAll(current.subList(indexOf(current, cursor) + 1, current.size()));
+                String label = label(sortKey, descending);
+                assertEquals(rows(expected), rows(paged), label);
+                assertEquals(paged.size(), rows(paged).stream().distinct().count(), label + " repeated a row");
+                assertFalse(rows(paged).contains(unread.toString()), label + " returned a removed row");
+            }
+        }
+    }
+
+    //The whole roster in the order the pages use
+    private List<Player> ordered(Stat sortKey, boolean descending) {
+        if (sortKey != null) {
+            return dbHandler.getPlayersSortedBy(sortKey, descending);
+        }
+        List<Player> all = new ArrayList<>(dbHandler.getAllPlayers());
+        if (descending) {
+            Collections.reverse(all);
+        }
+        return all;
+    }
+
+    //Position of a player in a list, matched by name
+    private static int indexOf(List<Player> players, Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getName().equals(player.getName())) {
+                return i;
+            }
+        }
+        fail(player.getName() + " is not in the list");
+        return -1;
+    }
+
+    //Describes a sort order for assertion messages
+    private static String label(Stat sortKey, boolean descending) {
+        return (sortKey == null ? "name" : sortKey.toString()) + (descending ? " descending" : " ascending");
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
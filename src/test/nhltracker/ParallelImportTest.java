@@ -0,0 +1,106 @@
+package test.nhltracker;
+import nhltracker.FileHandler;
+import nhltracker.ParallelPlayerImporter;
+import nhltracker.Player;
+import nhltracker.PlayerImporter;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for ParallelPlayerImporter. These tests import a file of several chunks, with lines of uneven length so
+the chunk boundaries fall inside records, and verify that the parallel import writes the same rows as the serial
+import and reports each malformed line with its byte offset.
+ */
+public class ParallelImportTest {
+
+    //The smallest chunk the importer hands to a worker
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private File playerFile;
+    private File serialDb;
+    private File parallelDb;
+    //Byte offsets of the malformed lines written to the file, in file order
+    private final List<Long> malformedOffsets = new ArrayList<>();
+
+    //Writes a player file of a little over three chunks
+    @BeforeEach
+    public void setUp() throws IOException {
+        playerFile = File.createTempFile("parallel_test", ".txt");
+        serialDb = File.createTempFile("parallel_test_serial", ".db");
+        parallelDb = File.createTempFile("parallel_test_parallel", ".db");
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < 3 * CHUNK_SIZE + 1000; i++) {
+            //A malformed line across the first chunk boundary and a few more further on
+            if (text.length() > CHUNK_SIZE - 20 && malformedOffsets.isEmpty() || i % 25_000 == 24_999) {
+                malformedOffsets.add((long) text.length());
+                text.append("Malformed Player ").append(i).append(",Nowhere,x,y,z\n");
+                continue;
+            }
+            text.append("Player ").append(i).append(" ").append("x".repeat(i % 13))
+                    .append(",Team ").append(i % 32).append(',').append(i % 60).append(',').append(i % 90)
+                    .append(',').append(i % 41 - 20).append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i % 1000 == 0) {
+                //A repeated name in another case, skipped as a duplicate
+                text.append("PLAYER ").append(i).append(" ").append("X".repeat(i % 13)).append(",Team 0,1,1,1\n");
+            }
+        }
+        Files.write(playerFile.toPath(), text.toString().getBytes(StandardCharsets.US_ASCII));
+        for (int boundary = CHUNK_SIZE; boundary < text.length(); boundary += CHUNK_SIZE) {
+            assertNotEquals('\n', text.charAt(boundary - 1), "Every chunk boundary should fall inside a line");
+        }
+    }
+
+    //Deletes the player file and both databases
+    @AfterEach
+    public void tearDown() {
+        playerFile.delete();
+        serialDb.delete();
+        parallelDb.delete();
+    }
+
+    //The parallel import writes exactly the rows of the serial import and reports the same counts
+    @Test
+    public void testSameRowsAsSerialImport() throws IOException {
+        DatabaseHandler serial = new DatabaseHandler(serialDb.getAbsolutePath());
+        DatabaseHandler parallel = new DatabaseHandler(parallelDb.getAbsolutePath());
+        try {
+            PlayerImporter.Summary expected = new PlayerImporter(serial, 500).importFile(new FileHandler(playerFile.getAbsolutePath()));
+            ParallelPlayerImporter.Result result = new ParallelPlayerImporter(parallel, 500, 4).importFile(playerFile.getAbsolutePath());
+
+            assertEquals(expected.getRead(), result.getSummary().getRead());
+            assertEquals(expected.getInserted(), result.getSummary().getInserted());
+            assertEquals(expected.getSkipped(), result.getSummary().getSkipped());
+            assertTrue(result.getSummary().getSkipped() > 0, "The repeated names should be skipped");
+            assertEquals(rows(serial.getAllPlayers()), rows(parallel.getAllPlayers()));
+        } finally {
+            serial.close();
+            parallel.close();
+        }
+    }
+
+    //Each malformed line is reported once, in file order, with the offset where it starts
+    @Test
+    public void testParseErrorsCarryByteOffsets() throws IOException {
+        DatabaseHandler parallel = new DatabaseHandler(parallelDb.getAbsolutePath());
+        try {
+            ParallelPlayerImporter.Result result = new ParallelPlayerImporter(parallel, 500, 4).importFile(playerFile.getAbsolutePath());
+            assertEquals(malformedOffsets, result.getErrors().stream().map(ParallelPlayerImporter.ParseError::getOffset).toList());
+            assertTrue(malformedOffsets.get(0) < CHUNK_SIZE, "The first malformed line should start in the first chunk");
+        } finally {
+            parallel.close();
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
@@ -0,0 +1,96 @@
+package test.nhltracker;
+import nhltracker.FileHandler;
+import nhltracker.Player;
+import nhltracker.PlayerImporter;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for PlayerImporter. These tests verify that a batched import inserts every new player, counts names that
+already exist as skipped, leaves malformed lines out of the counts, and writes the same rows whatever the batch size.
+ */
+public class PlayerImporterTest {
+
+    //Three new players, one already stored, one repeated in another case, two malformed lines and a blank line
+    private static final String PLAYERS = """
+            Jack Hughes,New Jersey Devils,27,47,-8
+            Nico Hischier,New Jersey Devils,27,33,5
+            this line has no fields
+            Jesper Bratt,New Jersey Devils,27,56,-9
+
+            Dougie Hamilton,New Jersey Devils,two,one,0
+            JACK HUGHES,New Jersey Devils,1,1,1
+            Timo Meier,New Jersey Devils,28,24,2
+            """;
+
+    private File dbFile;
+    private File playerFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates a temp database holding one of the players and a temp player file
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("importer_test", ".db");
+        playerFile = File.createTempFile("importer_test", ".txt");
+        Files.writeString(playerFile.toPath(), PLAYERS);
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        dbHandler.addPlayer(new Player("Timo Meier", "New Jersey Devils", 0, 0, 0));
+    }
+
+    //Closes the database and deletes both temp files
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+        playerFile.delete();
+    }
+
+    //New players are inserted, existing names are skipped and malformed lines are not counted
+    @Test
+    public void testImportCountsInsertedAndSkipped() {
+        PlayerImporter.Summary summary = new PlayerImporter(dbHandler, 2).importFile(new FileHandler(playerFile.getAbsolutePath()));
+        assertEquals(5, summary.getRead(), "The malformed and blank lines should not be read as players");
+        assertEquals(3, summary.getInserted());
+        assertEquals(2, summary.getSkipped(), "The stored player and the repeated name should be skipped");
+        assertEquals(0, summary.getFailed());
+
+        assertEquals(List.of("Jack Hughes", "Jesper Bratt", "Nico Hischier", "Timo Meier"), names(dbHandler.getAllPlayers()));
+        assertEquals(27, dbHandler.findPlayerByName("Jack Hughes").getGoals(), "The first spelling should win");
+        assertEquals(0, dbHandler.findPlayerByName("Timo Meier").getGoals(), "The stored player should be kept");
+    }
+
+    //The batch size changes how many transactions are used, not which rows are written
+    @Test
+    public void testBatchSizeDoesNotChangeRows() throws IOException {
+        new PlayerImporter(dbHandler, 1).importFile(new FileHandler(playerFile.getAbsolutePath()));
+        List<String> oneByOne = rows(dbHandler.getAllPlayers());
+
+        File otherDb = File.createTempFile("importer_test", ".db");
+        DatabaseHandler other = new DatabaseHandler(otherDb.getAbsolutePath());
+        try {
+            other.addPlayer(new Player("Timo Meier", "New Jersey Devils", 0, 0, 0));
+            PlayerImporter.Summary summary = new PlayerImporter(other, PlayerImporter.DEFAULT_BATCH_SIZE)
+                    .importFile(new FileHandler(playerFile.getAbsolutePath()));
+            assertEquals(3, summary.getInserted());
+            assertEquals(oneByOne, rows(other.getAllPlayers()));
+        } finally {
+            other.close();
+            otherDb.delete();
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+
+    //Player names in result order
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.PlayerQuery;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for PlayerQuery. These tests verify how the builder combines criteria, how a query describes itself,
+and that the compiled SQL query and the single pass over the column store return the same players in the same order.
+ */
+public class PlayerQueryTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    //Answers queries with SQL
+    private StatManager sql;
+    //Answers queries from the column store
+    private StatManager memory;
+
+    //Creates a roster in a temp database, with a store-backed manager over the same data
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("playerquery_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        sql = new StatManager(dbHandler);
+        sql.addPlayer(new Player("Mikko Rantanen", "Colorado Avalanche", 42, 62, 13));
+        sql.addPlayer(new Player("Mika Zibanejad", "New York Rangers", 26, 46, 7));
+        sql.addPlayer(new Player("Mikael Granlund", "San Jose Sharks", 22, 38, -19));
+        sql.addPlayer(new Player("Artemi Panarin", "New York Rangers", 49, 71, 18));
+        sql.addPlayer(new Player("Chris Kreider", "New York Rangers", 39, 36, 16));
+        sql.addPlayer(new Player("Mi_ke Test", "San Jose Sharks", 1, 1, 1));
+        memory = new StatManager(dbHandler);
+        memory.enableColumnStore();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Repeated bounds on a stat narrow the range; the builder never changes the query it is called on
+    @Test
+    public void testBuilderNarrowsAndIsImmutable() {
+        PlayerQuery base = new PlayerQuery();
+        PlayerQuery query = base.atLeast(Stat.GOALS, 10).atLeast(Stat.GOALS, 5).atMost(Stat.GOALS, 40).atMost(Stat.GOALS, 50);
+        assertEquals(10, query.getMinimum(Stat.GOALS), "The highest minimum should be kept");
+        assertEquals(40, query.getMaximum(Stat.GOALS), "The lowest maximum should be kept");
+        assertNull(base.getMinimum(Stat.GOALS), "The original query should be unchanged");
+        assertNull(new PlayerQuery().namePrefix("").getNamePrefix(), "An empty prefix matches every name");
+        assertEquals(0, new PlayerQuery().limit(-3).getLimit());
+        assertEquals(query, new PlayerQuery().atLeast(Stat.GOALS, 10).atMost(Stat.GOALS, 40));
+        assertEquals(query.hashCode(), new PlayerQuery().atLeast(Stat.GOALS, 10).atMost(Stat.GOALS, 40).hashCode());
+        assertNotEquals(query, query.limit(5));
+    }
+
+    //matches() applies every filter with AND and ignores sorting and the limit
+    @Test
+    public void testMatches() {
+        Player panarin = new Player("Artemi Panarin", "New York Rangers", 49, 71, 18);
+        PlayerQuery query = new PlayerQuery().team("NEW YORK RANGERS").namePrefix("art").atLeast(Stat.POINTS, 120).limit(1);
+        assertTrue(query.matches(panarin));
+        assertFalse(query.atLeast(Stat.POINTS, 121).matches(panarin), "Points are checked");
+        assertFalse(query.atMost(Stat.PLUS_MINUS, 17).matches(panarin), "The maximum is inclusive");
+        assertTrue(query.atMost(Stat.PLUS_MINUS, 18).matches(panarin));
+        assertFalse(query.team("Colorado Avalanche").matches(panarin), "The team is checked");
+        assertFalse(query.namePrefix("Arte_").matches(panarin), "The prefix is plain text, not a pattern");
+        assertFalse(query.matches(null));
+    }
+
+    //describeFilters() lists each filter once and collapses equal bounds into one
+    @Test
+    public void testDescribeFilters() {
+        assertEquals("all players", new PlayerQuery().sortBy(Stat.GOALS, true).describeFilters());
+        assertEquals("team = EDM and Goals >= 10 and Points = 50",
+                new PlayerQuery().team("EDM").atLeast(Stat.GOALS, 10).atLeast(Stat.POINTS, 50).atMost(Stat.POINTS, 50)
+                        .describeFilters());
+        assertEquals("name starts with \"Mik\" and +/- <= 0, sorted by name ascending, limit 3",
+                new PlayerQuery().namePrefix("Mik").atMost(Stat.PLUS_MINUS, 0).limit(3).toString());
+    }
+
+    //The SQL and in-memory answers agree for combined filters, every sort order and limits
+    @Test
+    public void testColumnStoreMatchesSql() {
+        List<PlayerQuery> queries = List.of(
+                new PlayerQuery(),
+                new PlayerQuery().team("new york rangers"),
+                new PlayerQuery().namePrefix("MIK"),
+                new PlayerQuery().namePrefix("Mi_"),
+                new PlayerQuery().namePrefix("Mik%"),
+                new PlayerQuery().atLeast(Stat.GOALS, 25).atMost(Stat.ASSISTS, 62),
+                new PlayerQuery().team("New York Rangers").atLeast(Stat.PLUS_MINUS, 10).sortBy(Stat.POINTS, true),
+                new PlayerQuery().sortBy(Stat.PLUS_MINUS, false).limit(2),
+                new PlayerQuery().sortBy(null, true).limit(4),
+                new PlayerQuery().atLeast(Stat.GOALS, 100));
+        for (PlayerQuery query : queries) {
+            assertEquals(rows(sql.query(query)), rows(memory.query(query)), query.toString());
+            for (Player player : sql.query(query)) {
+                assertTrue(query.matches(player), query + " should match " + player.getName());
+            }
+        }
+        assertEquals(List.of("Mi_ke Test"), names(sql.query(new PlayerQuery().namePrefix("Mi_"))),
+                "An underscore in the prefix is not a wildcard");
+        assertEquals(List.of("Artemi Panarin", "Chris Kreider"),
+                names(memory.query(new PlayerQuery().team("New York Rangers").atLeast(Stat.PLUS_MINUS, 10)
+                        .sortBy(Stat.POINTS, true))));
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+
+    //Player names in result order
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.PlayerQuery;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the query result cache. These tests verify that repeated reads are answered from the cache, that
+every write invalidates the results it can change so cached answers always match SQL, and that results it cannot
+change stay cached.
+ */
+public class QueryCacheTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    //Answers every read with SQL
+    private StatManager sql;
+    //Caches results and makes every write
+    private StatManager cached;
+
+    //Creates a roster on two teams in a temp database and a manager with the cache enabled
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("querycache_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        sql = new StatManager(dbHandler);
+        sql.addPlayer(new Player("Kirill Kaprizov", "Minnesota Wild", 46, 50, 8));
+        sql.addPlayer(new Player("Mats Zuccarello", "Minnesota Wild", 21, 57, 4));
+        sql.addPlayer(new Player("Jack Hughes", "New Jersey Devils", 43, 56, 10));
+        sql.addPlayer(new Player("Jesper Bratt", "New Jersey Devils", 32, 41, 17));
+        cached = new StatManager(dbHandler);
+        cached.enableQueryCache();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //The second identical read is a hit, and changing a returned list does not change the cached result
+    @Test
+    public void testRepeatedReadIsHit() {
+        List<Player> first = cached.filterByGoals(30);
+        assertEquals(0, cached.getQueryCacheHits());
+        assertEquals(1, cached.getQueryCacheMisses());
+        first.clear();
+        List<Player> second = cached.filterByGoals(30);
+        assertEquals(1, cached.getQueryCacheHits());
+        assertEquals(rows(sql.filterByGoals(30)), rows(second), "The cached copy should not share the caller's list");
+        second.get(0).setGoals(0);
+        assertEquals(rows(sql.filterByGoals(30)), rows(cached.filterByGoals(30)),
+                "The cached players should not share the caller's objects");
+    }
+
+    //After each kind of write, every cached read still matches SQL
+    @Test
+    public void testWritesInvalidateAffectedResults() {
+        readAll();
+        cached.addPlayer(new Player("Timo Meier", "New Jersey Devils", 31, 24, -5));
+        assertSameReads();
+        cached.updatePlayerGUI("Mats Zuccarello", "New Jersey Devils", 60, 57, 4);
+        assertSameReads();
+        cached.removePlayer("Jack Hughes");
+        assertSameReads();
+    }
+
+    //A write is only allowed to drop the results it can change
+    @Test
+    public void testUnaffectedResultsStayCached() {
+        cached.filterByTeam("Minnesota Wild");
+        cached.filterByGoals(45);
+        cached.updatePlayerGUI("Jesper Bratt", "New Jersey Devils", 33, 41, 17);
+        long hits = cached.getQueryCacheHits();
+        cached.filterByTeam("Minnesota Wild");
+        cached.filterByGoals(45);
+        assertEquals(hits + 2, cached.getQueryCacheHits(),
+                "A Devils player below 45 goals changes neither the Wild filter nor the 45-goal filter");
+        cached.updatePlayerGUI("Jesper Bratt", "New Jersey Devils", 45, 41, 17);
+        cached.filterByGoals(45);
+        assertEquals(hits + 2, cached.getQueryCacheHits(), "Reaching 45 goals should drop the 45-goal filter");
+        assertEquals(rows(sql.filterByGoals(45)), rows(cached.filterByGoals(45)));
+    }
+
+    //Writes made directly to the database are picked up after reload()
+    @Test
+    public void testReloadClearsCache() {
+        cached.filterByTeam("Minnesota Wild");
+        dbHandler.addPlayer(new Player("Joel Eriksson Ek", "Minnesota Wild", 30, 34, 2));
+        assertEquals(2, cached.filterByTeam("Minnesota Wild").size(), "The cache has not seen the direct write yet");
+        cached.reload();
+        assertEquals(rows(sql.filterByTeam("Minnesota Wild")), rows(cached.filterByTeam("Minnesota Wild")));
+    }
+
+    //The least recently used result is evicted once the entry limit is reached
+    @Test
+    public void testEntryLimitEvictsLeastRecentlyUsed() {
+        StatManager small = new StatManager(dbHandler);
+        small.enableQueryCache(2, 1000);
+        small.filterByGoals(10);
+        small.filterByGoals(20);
+        small.filterByGoals(10);
+        small.filterByGoals(30);
+        assertEquals(1, small.getQueryCacheHits());
+        small.filterByGoals(10);
+        assertEquals(2, small.getQueryCacheHits(), "The recently used result should still be cached");
+        small.filterByGoals(20);
+        assertEquals(2, small.getQueryCacheHits(), "The least recently used result should have been evicted");
+    }
+
+    //Runs every cached read once so each has an entry
+    private void readAll() {
+        cached.getAllPlayers();
+        cached.filterByGoals(40);
+        cached.filterByAssists(50);
+        cached.filterByPoints(90);
+        cached.filterByTeam("new jersey devils");
+        cached.getPlayersSortedBy(Stat.POINTS, true);
+        cached.topN(Stat.GOALS, 2, true);
+        cached.query(new PlayerQuery().team("Minnesota Wild").atLeast(Stat.ASSISTS, 50));
+    }
+
+    //Compares every cached read with the SQL answer
+    private void assertSameReads() {
+        assertEquals(rows(sql.getAllPlayers()), rows(cached.getAllPlayers()), "getAllPlayers");
+        assertEquals(rows(sql.filterByGoals(40)), rows(cached.filterByGoals(40)), "filterByGoals");
+        assertEquals(rows(sql.filterByAssists(50)), rows(cached.filterByAssists(50)), "filterByAssists");
+        assertEquals(rows(sql.filterByPoints(90)), rows(cached.filterByPoints(90)), "filterByPoints");
+        assertEquals(rows(sql.filterByTeam("new jersey devils")), rows(cached.filterByTeam("new jersey devils")),
+                "filterByTeam");
+        assertEquals(rows(sql.getPlayersSortedBy(Stat.POINTS, true)), rows(cached.getPlayersSortedBy(Stat.POINTS, true)),
+                "getPlayersSortedBy");
+        assertEquals(rows(sql.topN(Stat.GOALS, 2, true)), rows(cached.topN(Stat.GOALS, 2, true)), "topN");
+        PlayerQuery query = new PlayerQuery().team("Minnesota Wild").atLeast(Stat.ASSISTS, 50);
+        assertEquals(rows(sql.query(query)), rows(cached.query(query)), "query");
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
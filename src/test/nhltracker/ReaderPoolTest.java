@@ -0,0 +1,95 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Smoke test for the DatabaseHandler reader pool. These tests run reads on several threads while another thread
+writes, and verify that every read sees a consistent roster and that close() releases every pooled connection.
+ */
+public class ReaderPoolTest {
+
+    private static final int PLAYERS = 50;
+    private static final int READERS = 4;
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates a temp database with a reader pool and a roster to read
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("readerpool_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath(), READERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            dbHandler.addPlayer(new Player(String.format("Skater %02d", i), "Team " + i % 4, i, i, 0));
+        }
+    }
+
+    //Closes the database and deletes the temp file and its journal files
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+    }
+
+    //Readers on more threads than pooled connections never fail or see a half-written roster while a writer runs
+    @Test
+    public void testConcurrentReadsAndWrites() throws InterruptedException {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> problems = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < READERS * 2; r++) {
+            threads.add(new Thread(() -> {
+                while (writing.get()) {
+                    List<Player> all = dbHandler.getAllPlayers();
+                    if (all.size() < PLAYERS) {
+                        problems.add("getAllPlayers() returned " + all.size() + " players");
+                    }
+                    for (Player p : all) {
+                        if (p.getGoals() != p.getAssists()) {
+                            problems.add("Torn row for " + p.getName());
+                        }
+                    }
+                    if (dbHandler.findPlayerByName("skater 07") == null) {
+                        problems.add("findPlayerByName() missed a stored player");
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (int round = 0; round < 200; round++) {
+            String name = String.format("Skater %02d", round % PLAYERS);
+            //Goals and assists are written together, so a reader must never see them differ
+            assertTrue(dbHandler.updatePlayer(new Player(name, "Team 0", round, round, 0)));
+            assertTrue(dbHandler.addPlayer(new Player("Rookie " + round, "Team 1", round, round, 0)));
+            assertTrue(dbHandler.removePlayer("Rookie " + round));
+        }
+        writing.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(problems.isEmpty(), () -> String.join("\n", problems));
+        assertEquals(PLAYERS, dbHandler.getAllPlayers().size());
+    }
+
+    //close() closes the pooled readers, so the write-ahead log is checkpointed and removed
+    @Test
+    public void testCloseReleasesReaders() {
+        File wal = new File(dbFile.getAbsolutePath() + "-wal");
+        assertEquals(PLAYERS, dbHandler.getAllPlayers().size());
+        assertTrue(wal.exists(), "The database should be in WAL mode");
+
+        dbHandler.close();
+        assertFalse(wal.exists(), "The log is only removed once every connection is closed");
+        assertTrue(dbHandler.getAllPlayers().isEmpty(), "Reads after close should fail, not block");
+    }
+}
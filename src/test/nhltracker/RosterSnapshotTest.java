@@ -0,0 +1,169 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.RosterSnapshot;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for RosterSnapshot. These tests verify that the roster saved to the snapshot is loaded back unchanged on
+the next start, that a stale snapshot is caught up by verifySnapshot(), and that a corrupt, truncated or
+other-version file is ignored in favour of the database and then rewritten.
+ */
+public class RosterSnapshotTest {
+
+    private File dbFile;
+    private Path snapshot;
+    //Every manager opened by a test, closed afterwards
+    private final List<StatManager> opened = new ArrayList<>();
+
+    //Creates a roster in a temp database and writes its snapshot
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("snapshot_test", ".db");
+        snapshot = RosterSnapshot.pathFor(dbFile.getAbsolutePath());
+        StatManager first = open();
+        assertFalse(first.enableSnapshot(snapshot), "There is no snapshot yet");
+        first.addPlayer(new Player("Nikita Kucherov", "Tampa Bay Lightning", 44, 100, 8));
+        first.addPlayer(new Player("Jesperi Kotkaniemi", "Carolina Hurricanes", 12, 12, 4));
+        first.addPlayer(new Player("Tim Stützle", "Ottawa Senators", 18, 52, -12));
+        first.addPlayer(new Player("Zemgus Girgensons", "Équipe Test", 0, 0, 0));
+        assertTrue(first.saveSnapshot());
+        close(first);
+    }
+
+    //Closes every manager and deletes the database and its snapshot
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (StatManager manager : opened) {
+            manager.close();
+        }
+        dbFile.delete();
+        Files.deleteIfExists(snapshot);
+    }
+
+    //The next start loads the same roster from the snapshot, accented names included
+    @Test
+    public void testRoundTrip() {
+        StatManager manager = open();
+        assertTrue(manager.enableSnapshot(snapshot), "The snapshot should be loaded");
+        assertEquals(rows(manager.getAllPlayers()), rowsInDatabase());
+        assertEquals("Ottawa Senators", manager.searchByName("tim stützle").orElseThrow().getTeam());
+        assertEquals(1, manager.filterByTeam("ÉQUIPE TEST").size());
+        assertTrue(manager.verifySnapshot(), "The snapshot matches the database");
+    }
+
+    //Changes made after loading are saved, so the following start sees them
+    @Test
+    public void testChangesAreSaved() {
+        StatManager manager = open();
+        manager.enableSnapshot(snapshot);
+        manager.removePlayer("Zemgus Girgensons");
+        manager.updatePlayerGUI("Nikita Kucherov", "Tampa Bay Lightning", 45, 101, 9);
+        assertTrue(manager.saveSnapshot());
+        close(manager);
+
+        StatManager next = open();
+        assertTrue(next.enableSnapshot(snapshot));
+        assertEquals(rowsInDatabase(), rows(next.getAllPlayers()));
+        assertEquals(3, next.getPlayerCount());
+    }
+
+    //A change made to the database by another program is caught by verifySnapshot()
+    @Test
+    public void testStaleSnapshotIsCaughtUp() throws SQLException {
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement()) {
+            stmt.execute("UPDATE players SET goals = 50 WHERE name = 'Nikita Kucherov'");
+        }
+        StatManager manager = open();
+        assertTrue(manager.enableSnapshot(snapshot));
+        assertEquals(44, manager.searchByName("Nikita Kucherov").orElseThrow().getGoals(), "Read from the old snapshot");
+        assertFalse(manager.verifySnapshot(), "The snapshot no longer matches the database");
+        assertEquals(50, manager.searchByName("Nikita Kucherov").orElseThrow().getGoals());
+        assertEquals(rowsInDatabase(), rows(manager.getAllPlayers()));
+        assertTrue(manager.verifySnapshot(), "The snapshot should have been rewritten");
+    }
+
+    //A flipped byte in the body fails the checksum
+    @Test
+    public void testCorruptFileIsIgnored() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(snapshot, bytes);
+        assertIgnoredAndRewritten();
+    }
+
+    //A file from another format version is not read
+    @Test
+    public void testOtherVersionIsIgnored() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 2);
+        Files.write(snapshot, bytes);
+        assertIgnoredAndRewritten();
+    }
+
+    //A truncated file and a file that is not a snapshot are not read
+    @Test
+    public void testTruncatedAndForeignFilesAreIgnored() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+        assertIgnoredAndRewritten();
+        Files.writeString(snapshot, "name,team,goals,assists,plusMinus\n");
+        assertIgnoredAndRewritten();
+    }
+
+    //Checks that a bad snapshot falls back to the database and is replaced by a good one
+    private void assertIgnoredAndRewritten() {
+        StatManager manager = open();
+        assertFalse(manager.enableSnapshot(snapshot), "A bad snapshot should not be loaded");
+        assertEquals(rowsInDatabase(), rows(manager.getAllPlayers()), "The roster should come from the database");
+        close(manager);
+        StatManager next = open();
+        assertTrue(next.enableSnapshot(snapshot), "A new snapshot should have been written");
+        assertEquals(rowsInDatabase(), rows(next.getAllPlayers()));
+        close(next);
+    }
+
+    //Opens a manager on the test database
+    private StatManager open() {
+        StatManager manager = new StatManager(new DatabaseHandler(dbFile.getAbsolutePath()));
+        opened.add(manager);
+        return manager;
+    }
+
+    //Closes a manager before the end of the test
+    private void close(StatManager manager) {
+        opened.remove(manager);
+        manager.close();
+    }
+
+    //The roster as stored in the database
+    private List<String> rowsInDatabase() {
+        DatabaseHandler handler = new DatabaseHandler(dbFile.getAbsolutePath());
+        try {
+            return rows(handler.getAllPlayers());
+        } finally {
+            handler.close();
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the sorted stat indexes. These tests verify that sorted views, leaderboards and minimum-stat filters
+answered from the indexes match SQL, ties included, as players are added, updated and removed.
+ */
+public class StatIndexTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    //Answers every read with SQL
+    private StatManager sql;
+    //Answers sorted reads from the indexes and makes every write
+    private StatManager indexed;
+
+    //Creates a roster with tied stats in a temp database, then builds the indexes
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("statindex_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        sql = new StatManager(dbHandler);
+        sql.addPlayer(new Player("Brad Marchand", "Boston Bruins", 29, 38, 6));
+        sql.addPlayer(new Player("David Pastrnak", "Boston Bruins", 47, 63, 21));
+        sql.addPlayer(new Player("Alex Ovechkin", "Washington Capitals", 31, 34, -18));
+        sql.addPlayer(new Player("Sidney Crosby", "Pittsburgh Penguins", 42, 52, -9));
+        sql.addPlayer(new Player("Kyle Connor", "Winnipeg Jets", 34, 27, 6));
+        indexed = new StatManager(dbHandler);
+        indexed.enableStatIndexes();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //The indexes built at startup give the same order as SQL in both directions
+    @Test
+    public void testBuiltIndexesMatchSql() {
+        assertSameReads();
+    }
+
+    //An added player is placed in every index, including between tied players
+    @Test
+    public void testAddKeepsIndexesInOrder() {
+        indexed.addPlayer(new Player("Zach Hyman", "Edmonton Oilers", 54, 23, 6));
+        indexed.addPlayer(new Player("Adam Fox", "New York Rangers", 17, 56, 32));
+        assertEquals("Zach Hyman", indexed.topN(Stat.GOALS, 1, true).get(0).getName());
+        assertSameReads();
+    }
+
+    //An update moves the player in every index and removes the old position
+    @Test
+    public void testUpdateMovesPlayerInIndexes() {
+        indexed.updatePlayerGUI("kyle connor", "Winnipeg Jets", 60, 60, 60);
+        assertEquals("Kyle Connor", indexed.topN(Stat.PLUS_MINUS, 1, true).get(0).getName());
+        assertEquals(5, indexed.getPlayersSortedBy(Stat.POINTS, true).size(), "The old entry should be gone");
+        assertSameReads();
+    }
+
+    //A removed player is dropped from every index
+    @Test
+    public void testRemoveDropsPlayerFromIndexes() {
+        indexed.removePlayer("David Pastrnak");
+        assertTrue(indexed.filterByGoals(0).stream().noneMatch(p -> p.getName().equals("David Pastrnak")));
+        assertSameReads();
+    }
+
+    //Compares every read the indexes answer with the SQL answer
+    private void assertSameReads() {
+        for (Stat stat : Stat.values()) {
+            for (boolean descending : new boolean[]{true, false}) {
+                String label = stat + (descending ? " descending" : " ascending");
+                assertEquals(rows(sql.getPlayersSortedBy(stat, descending)),
+                        rows(indexed.getPlayersSortedBy(stat, descending)), "getPlayersSortedBy " + label);
+                for (int n : new int[]{0, 1, 3, 10}) {
+                    assertEquals(rows(sql.topN(stat, n, descending)), rows(indexed.topN(stat, n, descending)),
+                            "topN(" + n + ") " + label);
+                }
+            }
+        }
+        for (int min : new int[]{-100, 31, 47, 1000}) {
+            assertEquals(rows(sql.filterByGoals(min)), rows(indexed.filterByGoals(min)), "filterByGoals(" + min + ")");
+            assertEquals(rows(sql.filterByAssists(min)), rows(indexed.filterByAssists(min)),
+                    "filterByAssists(" + min + ")");
+            assertEquals(rows(sql.filterByPoints(min)), rows(indexed.filterByPoints(min)),
+                    "filterByPoints(" + min + ")");
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
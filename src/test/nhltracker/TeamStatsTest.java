@@ -0,0 +1,160 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.TeamStats;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the trigger-maintained team_stats rollup. These tests add, update, move and remove players and after
+every step compare the rollup with a GROUP BY over the players table, on a new database and on files migrated from
+older versions, whose triggers are installed or recreated by the migration.
+ */
+public class TeamStatsTest {
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+
+    //Creates an empty temp file for the database
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("teamstats_test", ".db");
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        if (dbHandler != null) {
+            dbHandler.close();
+        }
+        dbFile.delete();
+    }
+
+    //The rollup of a new database follows every write
+    @Test
+    public void testNewDatabase() throws SQLException {
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertRollupFollowsWrites();
+    }
+
+    //The rollup of a version 1 file is filled by the migration and then follows every write
+    @Test
+    public void testMigratedFromVersion1() throws SQLException {
+        execute("CREATE TABLE players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, team TEXT NOT NULL, "
+                        + "goals INTEGER, assists INTEGER, plus_minus INTEGER)",
+                "CREATE UNIQUE INDEX idx_players_name_key ON players(name COLLATE NOCASE)",
+                "INSERT INTO players(name, team, goals, assists, plus_minus) VALUES "
+                        + "('Brady Tkachuk', 'Ottawa Senators', 37, 37, -21), "
+                        + "('Thomas Chabot', 'OTTAWA SENATORS', 9, 30, -12)",
+                "PRAGMA user_version = 1");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertRollupMatchesPlayers();
+        assertEquals(2, dbHandler.getTeamStats("ottawa senators").getPlayers(), "Case variants are one team");
+        assertRollupFollowsWrites();
+    }
+
+    //The rollup of a version 3 file is rebuilt around team ids and its triggers still follow every write
+    @Test
+    public void testMigratedFromVersion3() throws SQLException {
+        execute("CREATE TABLE players (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, team TEXT NOT NULL, "
+                        + "goals INTEGER, assists INTEGER, plus_minus INTEGER)",
+                "CREATE UNIQUE INDEX idx_players_name_key ON players(name COLLATE NOCASE)",
+                "CREATE TABLE team_stats (team TEXT PRIMARY KEY COLLATE NOCASE, players INTEGER NOT NULL, "
+                        + "goals INTEGER NOT NULL, assists INTEGER NOT NULL, plus_minus INTEGER NOT NULL)",
+                "CREATE TABLE game_events (id INTEGER PRIMARY KEY AUTOINCREMENT, game_id TEXT, game_date TEXT, "
+                        + "player TEXT NOT NULL COLLATE NOCASE, goals INTEGER NOT NULL, assists INTEGER NOT NULL, "
+                        + "plus_minus INTEGER NOT NULL)",
+                "CREATE TABLE game_event_guard (active INTEGER)",
+                "INSERT INTO players(name, team, goals, assists, plus_minus) VALUES "
+                        + "('Brady Tkachuk', 'Ottawa Senators', 37, 37, -21), "
+                        + "('Thomas Chabot', 'OTTAWA SENATORS', 9, 30, -12)",
+                "INSERT INTO team_stats VALUES ('Ottawa Senators', 2, 46, 67, -33)",
+                "INSERT INTO game_events(game_id, game_date, player, goals, assists, plus_minus) VALUES "
+                        + "(NULL, NULL, 'Brady Tkachuk', 37, 37, -21), (NULL, NULL, 'Thomas Chabot', 9, 30, -12)",
+                "PRAGMA user_version = 3");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        assertRollupMatchesPlayers();
+        assertRollupFollowsWrites();
+    }
+
+    //Adds, updates, moves and removes players, checking the rollup after each step
+    private void assertRollupFollowsWrites() throws SQLException {
+        StatManager manager = new StatManager(dbHandler);
+        manager.addPlayer(new Player("Tim Stützle", "Ottawa Senators", 18, 52, -12));
+        manager.addPlayer(new Player("Drake Batherson", "ottawa senators", 26, 38, 5));
+        manager.addPlayer(new Player("Cole Caufield", "Montreal Canadiens", 28, 37, -20));
+        manager.addPlayer(new Player("Nick Suzuki", "Montreal Canadiens", 33, 44, -3));
+        manager.addPlayer(new Player("Mathew Barzal", "New York Islanders", 23, 57, 0));
+        assertRollupMatchesPlayers();
+
+        manager.updatePlayerGUI("Nick Suzuki", "Montreal Canadiens", 34, 45, -2);
+        assertRollupMatchesPlayers();
+
+        //Moving a player takes their totals from one team to the other
+        manager.updatePlayerGUI("Drake Batherson", "MONTREAL CANADIENS", 27, 38, 6);
+        assertRollupMatchesPlayers();
+        assertEquals(3, manager.getTeamStats("Montreal Canadiens").orElseThrow().getPlayers());
+
+        //Moving the last player off a team removes the team
+        manager.updatePlayerGUI("Mathew Barzal", "Ottawa Senators", 23, 57, 0);
+        assertRollupMatchesPlayers();
+        assertTrue(manager.getTeamStats("New York Islanders").isEmpty());
+
+        manager.removePlayer("Cole Caufield");
+        manager.removePlayer("tim stützle");
+        assertRollupMatchesPlayers();
+
+        manager.removePlayer("Nick Suzuki");
+        manager.removePlayer("Drake Batherson");
+        assertRollupMatchesPlayers();
+        assertTrue(manager.getTeamStats("Montreal Canadiens").isEmpty(), "A team without players is removed");
+    }
+
+    //Compares every team's rollup with totals computed from the players
+    private void assertRollupMatchesPlayers() throws SQLException {
+        List<String> expected = column("SELECT lower(teams.team) || ' ' || COUNT(*) || ' ' || SUM(goals) || ' ' "
+                + "|| SUM(assists) || ' ' || SUM(plus_minus) FROM players JOIN teams ON teams.id = players.team_id "
+                + "GROUP BY players.team_id ORDER BY lower(teams.team)");
+        List<String> actual = new ArrayList<>();
+        for (TeamStats team : dbHandler.getTeamStats()) {
+            actual.add(team.getTeam().toLowerCase(Locale.ROOT) + " " + team.getPlayers() + " " + team.getGoals() + " "
+                    + team.getAssists() + " " + team.getPlusMinus());
+        }
+        actual.sort(null);
+        assertEquals(expected, actual);
+    }
+
+    //Runs statements on the database file with a plain connection
+    private void execute(String... sql) throws SQLException {
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement()) {
+            for (String statement : sql) {
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    //Reads the first column of a query's rows as text
+    private List<String> column(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+}
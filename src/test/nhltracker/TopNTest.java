@@ -0,0 +1,86 @@
+package test.nhltracker;
+import nhltracker.Player;
+import nhltracker.Stat;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the top-N leaderboards. These tests use a roster where most stat values are shared by several players
+and verify that the indexed SQL query and the bounded selection over the column store both return the first rows of
+the full SQL sort, ties ordered by name, for any n, including one larger than the roster.
+ */
+public class TopNTest {
+
+    private static final int PLAYERS = 40;
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private StatManager sql;
+    private StatManager memory;
+
+    //Creates a roster with many ties in a temp database, and one manager with the column store
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("topn_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        sql = new StatManager(dbHandler);
+        for (int i = 0; i < PLAYERS; i++) {
+            sql.addPlayer(new Player(String.format("Skater %02d", (i * 17) % PLAYERS), "Team " + i % 4, i % 4, (i * 3) % 5, i % 3 - 1));
+        }
+        memory = new StatManager(dbHandler);
+        memory.enableColumnStore();
+    }
+
+    //Closes the database and deletes the temp file so no data carries over
+    @AfterEach
+    public void tearDown() {
+        dbHandler.close();
+        dbFile.delete();
+    }
+
+    //Every stat, direction and size gives the leading rows of the full sort
+    @Test
+    public void testTopNMatchesFullSort() {
+        for (Stat stat : Stat.values()) {
+            for (boolean descending : new boolean[]{true, false}) {
+                List<String> sorted = rows(dbHandler.getPlayersSortedBy(stat, descending));
+                for (int n : new int[]{1, 3, 7, PLAYERS - 1, PLAYERS, PLAYERS + 10}) {
+                    List<String> expected = sorted.subList(0, Math.min(n, sorted.size()));
+                    String label = "top " + n + " by " + stat + (descending ? " descending" : " ascending");
+                    assertEquals(expected, rows(dbHandler.getTopPlayers(stat, n, descending)), "SQL " + label);
+                    assertEquals(expected, rows(sql.topN(stat, n, descending)), "StatManager " + label);
+                    assertEquals(expected, rows(memory.topN(stat, n, descending)), "Column store " + label);
+                }
+            }
+        }
+    }
+
+    //A size of zero or less returns nothing
+    @Test
+    public void testEmptyTopN() {
+        assertTrue(sql.topN(Stat.GOALS, 0, true).isEmpty());
+        assertTrue(memory.topN(Stat.POINTS, -1, false).isEmpty());
+    }
+
+    //Writes after the store is loaded are ranked like stored rows
+    @Test
+    public void testTopNFollowsWrites() {
+        memory.addPlayer(new Player("Aaron Ekblad", "Team 0", 3, 4, 1));
+        memory.updatePlayerGUI("Skater 05", "Team 1", 3, 4, 1);
+        memory.removePlayer("Skater 00");
+        for (Stat stat : Stat.values()) {
+            List<String> sorted = rows(dbHandler.getPlayersSortedBy(stat, true));
+            assertEquals(sorted.subList(0, 5), rows(memory.topN(stat, 5, true)), "top 5 by " + stat);
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+}
@@ -0,0 +1,190 @@
+package test.nhltracker;
+import nhltracker.GameEvent;
+import nhltracker.Player;
+import nhltracker.StatManager;
+import nhltracker.db.DatabaseHandler;
+import nhltracker.db.Durability;
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Unit test for the write-behind queue. These tests verify that writes are applied in memory at once and reach the
+database only when flushed, that repeated writes to one player are merged into the write with the same effect,
+and that a group that fails to commit is reported and leaves the in-memory views equal to the database.
+ */
+public class WriteBehindTest {
+
+    //Long enough that nothing is committed before the test flushes
+    private static final long NEVER_MILLIS = 60_000;
+
+    private File dbFile;
+    private DatabaseHandler dbHandler;
+    private StatManager manager;
+
+    //Creates two players in a temp database, then turns on write-behind
+    @BeforeEach
+    public void setUp() throws IOException {
+        dbFile = File.createTempFile("writebehind_test", ".db");
+        dbHandler = new DatabaseHandler(dbFile.getAbsolutePath());
+        manager = new StatManager(dbHandler);
+        manager.addPlayer(new Player("Jack Eichel", "Vegas Golden Knights", 28, 40, 2));
+        manager.addPlayer(new Player("Mark Stone", "Vegas Golden Knights", 16, 37, 9));
+        manager.enableWriteBehind(500, NEVER_MILLIS, Durability.FULL);
+    }
+
+    //Commits anything left, closes the database and deletes the temp file
+    @AfterEach
+    public void tearDown() {
+        manager.close();
+        dbFile.delete();
+    }
+
+    //Writes answer from memory at once and are in the database after a flush
+    @Test
+    public void testWritesReachDatabaseOnFlush() {
+        assertTrue(manager.addPlayer(new Player("Tomas Hertl", "Vegas Golden Knights", 17, 17, -10)));
+        assertFalse(manager.addPlayer(new Player("TOMAS HERTL", "Vegas Golden Knights", 0, 0, 0)),
+                "The queued player should count as a duplicate");
+        assertTrue(manager.removePlayer("Mark Stone"));
+        assertEquals(List.of("Jack Eichel", "Tomas Hertl"), names(manager.getAllPlayers()));
+        assertEquals(List.of("Jack Eichel", "Mark Stone"), names(dbHandler.getAllPlayers()), "Nothing is committed yet");
+
+        assertTrue(manager.flushWrites());
+        assertEquals(rows(manager.getAllPlayers()), rows(dbHandler.getAllPlayers()));
+    }
+
+    //An insert followed by updates is committed as one insert of the last values
+    @Test
+    public void testInsertThenUpdateMergesToInsert() {
+        manager.addPlayer(new Player("Ivan Barbashev", "Vegas Golden Knights", 1, 1, 1));
+        manager.updatePlayerGUI("Ivan Barbashev", "Vegas Golden Knights", 2, 2, 2);
+        manager.updatePlayerGUI("ivan barbashev", "Vegas Golden Knights", 3, 3, 3);
+        assertTrue(manager.flushWrites());
+        Player stored = dbHandler.findPlayerByName("Ivan Barbashev");
+        assertEquals(3, stored.getGoals());
+        assertEquals(3, stored.getPlusMinus());
+        assertTrue(manager.describeWriteBehind().contains("2 merged"), manager.describeWriteBehind());
+    }
+
+    //An insert followed by a remove cancels out, and a flush still returns
+    @Test
+    public void testInsertThenRemoveCancelsOut() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 100; i++) {
+                manager.addPlayer(new Player("Temporary Player", "Vegas Golden Knights", i, 0, 0));
+                manager.removePlayer("Temporary Player");
+                assertTrue(manager.flushWrites());
+            }
+        });
+        assertNull(dbHandler.findPlayerByName("Temporary Player"));
+        assertEquals(2, dbHandler.getPlayerCount());
+    }
+
+    //A remove followed by an add of the same name replaces the stored row
+    @Test
+    public void testRemoveThenInsertReplaces() {
+        manager.updatePlayerGUI("Mark Stone", "Vegas Golden Knights", 20, 40, 10);
+        manager.removePlayer("Mark Stone");
+        manager.addPlayer(new Player("mark stone", "Seattle Kraken", 1, 2, 3));
+        assertTrue(manager.flushWrites());
+        Player stored = dbHandler.findPlayerByName("Mark Stone");
+        assertEquals("mark stone", stored.getName(), "The new spelling should be stored");
+        assertEquals("Seattle Kraken", stored.getTeam());
+        assertEquals(1, stored.getGoals());
+        assertEquals(rows(manager.getAllPlayers()), rows(dbHandler.getAllPlayers()));
+    }
+
+    //Reads that go to the database see queued writes
+    @Test
+    public void testDatabaseReadsSeeQueuedWrites() {
+        manager.addPlayer(new Player("Shea Theodore", "Vegas Golden Knights", 5, 28, 7));
+        assertEquals(49, manager.getTeamStats("Vegas Golden Knights").orElseThrow().getGoals());
+        assertEquals(1, manager.getGameLog("Shea Theodore").size());
+    }
+
+    //A failed group is reported by the flush, and the views are rebuilt from the database
+    @Test
+    public void testFailedGroupIsReportedAndViewsReloaded() throws SQLException {
+        rejectInsertsOf("Bad Player");
+        manager.addPlayer(new Player("Good Player", "Vegas Golden Knights", 1, 1, 1));
+        manager.addPlayer(new Player("Bad Player", "Vegas Golden Knights", 1, 1, 1));
+        manager.updatePlayerGUI("Jack Eichel", "Vegas Golden Knights", 30, 40, 2);
+        assertFalse(manager.flushWrites(), "The group should fail");
+        assertEquals(List.of("Jack Eichel", "Mark Stone"), names(dbHandler.getAllPlayers()),
+                "The whole group should be rolled back");
+        assertEquals(rows(dbHandler.getAllPlayers()), rows(manager.getAllPlayers()),
+                "The views should match the database again");
+        assertTrue(manager.describeWriteBehind().contains("1 failed"), manager.describeWriteBehind());
+
+        assertTrue(manager.addPlayer(new Player("Good Player", "Vegas Golden Knights", 1, 1, 1)));
+        assertTrue(manager.flushWrites(), "The failure is reported once");
+        assertNotNull(dbHandler.findPlayerByName("Good Player"));
+    }
+
+    //Updates queued while games are recorded for the same player never leave the views and the database apart
+    @Test
+    public void testUpdatesInterleavedWithRecordGames() throws InterruptedException {
+        AtomicBoolean recording = new AtomicBoolean(true);
+        Thread updater = new Thread(() -> {
+            for (int i = 0; recording.get(); i++) {
+                manager.updatePlayerGUI("Jack Eichel", "Vegas Golden Knights", i, i, i);
+            }
+        });
+        updater.start();
+        for (int game = 0; game < 300; game++) {
+            manager.recordGames(List.of(new GameEvent("game-" + game, null, "Jack Eichel", 1, 1, 1)));
+        }
+        recording.set(false);
+        updater.join();
+
+        assertTrue(manager.flushWrites());
+        assertEquals(rows(dbHandler.getAllPlayers()), rows(manager.getAllPlayers()),
+                "Every game and update should be in the views as in the database");
+        assertEquals(0, manager.rebuildTotals(), "The totals should still be the sum of the log");
+        assertEquals(300, manager.getGameLog("Jack Eichel").stream().filter(e -> !e.isAdjustment()).count());
+    }
+
+    //close() commits what is queued and reports a failure of the final group
+    @Test
+    public void testCloseReportsFailedFinalFlush() throws SQLException {
+        manager.addPlayer(new Player("Good Player", "Vegas Golden Knights", 1, 1, 1));
+        assertTrue(manager.close(), "The queued player should be committed");
+        manager = new StatManager(new DatabaseHandler(dbFile.getAbsolutePath()));
+        manager.enableWriteBehind(500, NEVER_MILLIS, Durability.FULL);
+        assertEquals(3, manager.getPlayerCount());
+
+        rejectInsertsOf("Bad Player");
+        manager.addPlayer(new Player("Bad Player", "Vegas Golden Knights", 1, 1, 1));
+        assertFalse(manager.close(), "The lost write should be reported");
+        manager = new StatManager(new DatabaseHandler(dbFile.getAbsolutePath()));
+        assertEquals(3, manager.getPlayerCount());
+    }
+
+    //Makes inserts of one player name fail, as a constraint added by another program would
+    private void rejectInsertsOf(String name) throws SQLException {
+        try (Connection raw = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = raw.createStatement()) {
+            stmt.execute("CREATE TRIGGER reject_player BEFORE INSERT ON players WHEN NEW.name = '" + name + "' "
+                    + "BEGIN SELECT RAISE(ABORT, 'rejected by test'); END");
+        }
+    }
+
+    //Every field of each player, in result order
+    private static List<String> rows(List<Player> players) {
+        return players.stream().map(Player::toString).toList();
+    }
+
+    //Player names in result order
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}